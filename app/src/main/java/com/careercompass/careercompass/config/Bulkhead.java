@@ -0,0 +1,109 @@
+package com.careercompass.careercompass.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit for one class of requests.
+ *
+ * Up to {@code maxConcurrent} requests run at once. Up to {@code maxWaiting}
+ * more may wait at most {@code maxWaitMs} for a permit; anything beyond that is
+ * refused at once, so a slow dependency cannot pile up request threads.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Counter admitted;
+    private final Counter queued;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, int maxWaiting, long maxWaitMs, long retryAfterSeconds,
+                    MeterRegistry registry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.maxWaitMs = maxWaitMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("careercompass.bulkhead.active", this, Bulkhead::active)
+                .description("Requests currently holding a bulkhead permit")
+                .tag("bulkhead", name)
+                .register(registry);
+        Gauge.builder("careercompass.bulkhead.waiting", waiting, AtomicInteger::get)
+                .description("Requests waiting for a bulkhead permit")
+                .tag("bulkhead", name)
+                .register(registry);
+        this.admitted = counter(registry, "careercompass.bulkhead.admitted", "Requests let through");
+        this.queued = counter(registry, "careercompass.bulkhead.queued", "Requests that had to wait for a permit");
+        this.rejected = counter(registry, "careercompass.bulkhead.rejected", "Requests refused with 503");
+    }
+
+    private Counter counter(MeterRegistry registry, String meter, String description) {
+        return Counter.builder(meter).description(description).tag("bulkhead", name).register(registry);
+    }
+
+    /**
+     * @return true if a permit was taken; the caller must then {@link #release()}
+     */
+    public boolean tryEnter() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            admitted.increment();
+            return true;
+        }
+        if (maxWaitMs <= 0 || maxWaiting <= 0) {
+            rejected.increment();
+            return false;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        queued.increment();
+        try {
+            if (permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                admitted.increment();
+                return true;
+            }
+        } finally {
+            waiting.decrementAndGet();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+}
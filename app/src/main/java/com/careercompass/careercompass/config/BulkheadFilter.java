@@ -0,0 +1,115 @@
+package com.careercompass.careercompass.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Keeps LLM-bound work, PDF parsing and everything else in separate bulkheads,
+ * so a Groq slowdown cannot take every Tomcat thread and starve
+ * {@code /api/health}, actuator probes or static assets.
+ *
+ * <ul>
+ *   <li>llm   - POST /api/analyze, POST /api/ask</li>
+ *   <li>pdf   - POST /api/upload-resume</li>
+ *   <li>bulk  - POST /api/resumes/bulk (held for the whole streamed import)</li>
+ *   <li>cheap - everything else</li>
+ * </ul>
+ *
+ * Keep the llm + pdf limits well below {@code server.tomcat.threads.max} so
+ * cheap requests always find a thread. A refused request gets 503 with
+ * Retry-After.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Bulkhead llm;
+    private final Bulkhead pdf;
+    private final Bulkhead bulk;
+    private final Bulkhead cheap;
+
+    public BulkheadFilter(MeterRegistry registry,
+                          @Value("${bulkhead.llm.max-concurrent:16}") int llmConcurrent,
+                          @Value("${bulkhead.llm.max-waiting:16}") int llmWaiting,
+                          @Value("${bulkhead.llm.max-wait-ms:500}") long llmWaitMs,
+                          @Value("${bulkhead.llm.retry-after-seconds:5}") long llmRetryAfter,
+                          @Value("${bulkhead.pdf.max-concurrent:4}") int pdfConcurrent,
+                          @Value("${bulkhead.pdf.max-waiting:8}") int pdfWaiting,
+                          @Value("${bulkhead.pdf.max-wait-ms:2000}") long pdfWaitMs,
+                          @Value("${bulkhead.pdf.retry-after-seconds:2}") long pdfRetryAfter,
+                          @Value("${bulkhead.bulk.max-concurrent:2}") int bulkConcurrent,
+                          @Value("${bulkhead.bulk.max-waiting:0}") int bulkWaiting,
+                          @Value("${bulkhead.bulk.max-wait-ms:0}") long bulkWaitMs,
+                          @Value("${bulkhead.bulk.retry-after-seconds:30}") long bulkRetryAfter,
+                          @Value("${bulkhead.cheap.max-concurrent:150}") int cheapConcurrent,
+                          @Value("${bulkhead.cheap.max-waiting:100}") int cheapWaiting,
+                          @Value("${bulkhead.cheap.max-wait-ms:1000}") long cheapWaitMs,
+                          @Value("${bulkhead.cheap.retry-after-seconds:1}") long cheapRetryAfter) {
+        this.llm = new Bulkhead("llm", llmConcurrent, llmWaiting, llmWaitMs, llmRetryAfter, registry);
+        this.pdf = new Bulkhead("pdf", pdfConcurrent, pdfWaiting, pdfWaitMs, pdfRetryAfter, registry);
+        this.bulk = new Bulkhead("bulk", bulkConcurrent, bulkWaiting, bulkWaitMs, bulkRetryAfter, registry);
+        this.cheap = new Bulkhead("cheap", cheapConcurrent, cheapWaiting, cheapWaitMs, cheapRetryAfter, registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = classify(request);
+
+        boolean entered;
+        try {
+            entered = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            reject(response, bulkhead);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    Bulkhead classify(HttpServletRequest request) {
+        if (!"POST".equalsIgnoreCase(request.getMethod())) {
+            return cheap;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        switch (path) {
+            case "/api/analyze":
+            case "/api/ask":
+                return llm;
+            case "/api/upload-resume":
+                return pdf;
+            case "/api/resumes/bulk":
+                return bulk;
+            default:
+                return cheap;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(bulkhead.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Server busy (" + bulkhead.getName()
+                + "), please retry\",\"retryAfterSeconds\":" + bulkhead.getRetryAfterSeconds() + "}");
+    }
+}
@@ -0,0 +1,63 @@
+package com.careercompass.careercompass.config;
+
+import com.careercompass.careercompass.engine.MatchEngine;
+import com.careercompass.careercompass.engine.SkillGraph;
+import com.careercompass.careercompass.engine.SkillTaxonomy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Exposes the match-engine module's {@link MatchEngine} as a singleton. The
+ * engine is immutable and thread-safe, so every request, job and bulk import
+ * shares this one instance (and its precompiled skill patterns).
+ */
+@Configuration
+public class MatchEngineConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchEngineConfig.class);
+
+    /**
+     * @param scoring   {@code exact} (default) or {@code graph}: partial credit
+     *                  through the skill graph
+     * @param graphPath skill graph file for {@code graph}; empty = built-in graph
+     * @param weighted  weight JD skills by section, mentions and title
+     */
+    @Bean
+    public MatchEngine matchEngine(@Value("${match.scoring:exact}") String scoring,
+                                   @Value("${match.skill-graph:}") String graphPath,
+                                   @Value("${match.jd-weighting:false}") boolean weighted) {
+        return create(scoring, graphPath, weighted);
+    }
+
+    /** Shared with the batch CLI, which builds its engine without Spring. */
+    public static MatchEngine create(String scoring, String graphPath, boolean weighted) {
+        return switch (scoring) {
+            case "exact" -> new MatchEngine(SkillTaxonomy.defaults(), null, weighted);
+            case "graph" -> new MatchEngine(SkillTaxonomy.defaults(), loadGraph(graphPath), weighted);
+            default -> throw new IllegalArgumentException("Unknown match.scoring '" + scoring + "' (exact or graph)");
+        };
+    }
+
+    // A configured graph that cannot be read fails startup rather than
+    // silently scoring differently
+    private static SkillGraph loadGraph(String graphPath) {
+        if (graphPath == null || graphPath.isBlank()) {
+            return SkillGraph.defaults();
+        }
+        try (Reader reader = Files.newBufferedReader(Path.of(graphPath))) {
+            SkillGraph graph = SkillGraph.load(SkillTaxonomy.defaults(), reader);
+            log.info("Loaded skill graph from {}", graphPath);
+            return graph;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load skill graph " + graphPath + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.careercompass.careercompass.config;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build step for the static UI, run by Maven at {@code process-classes} on
+ * {@code target/classes/static}.
+ *
+ * <ol>
+ *   <li>Every local asset (favicon, css, js, images) is copied to
+ *       {@code assets/<name>-<hash>.<ext>} and pages referencing it by absolute
+ *       path are pointed at the copy, so it can be cached as immutable
+ *       ({@link StaticResourceConfig}). The original stays for direct requests.</li>
+ *   <li>Every compressible file of at least {@value #MIN_SIZE} bytes gets a
+ *       {@code .gz} (level 9) and a {@code .br} (quality 11) sibling, kept only
+ *       if it is smaller. Spring's encoded resource resolver picks the variant
+ *       matching {@code Accept-Encoding}.</li>
+ * </ol>
+ *
+ * Brotli needs the brotli4j native library; without it only gzip is written.
+ * Re-running on the same directory gives the same output.
+ */
+public final class StaticAssetCompressor {
+
+    static final String ASSETS_DIR = "assets";
+    static final int MIN_SIZE = 512;
+
+    private static final Set<String> FINGERPRINTED = Set.of("ico", "css", "js", "png", "svg", "jpg", "webp", "woff2");
+    private static final Set<String> COMPRESSIBLE = Set.of("html", "css", "js", "svg", "ico", "json", "txt");
+
+    private StaticAssetCompressor() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: StaticAssetCompressor <static-dir>");
+            System.exit(2);
+        }
+        Path root = Path.of(args[0]);
+        if (!Files.isDirectory(root)) {
+            System.out.println("No static directory at " + root + ", nothing to do");
+            return;
+        }
+        Report report = process(root);
+        System.out.println("Static assets: " + report.fingerprinted() + " fingerprinted, "
+                + report.gzipped() + " gzip, " + report.brotli() + " brotli variants"
+                + (report.brotliAvailable() ? "" : " (brotli4j native library not available)"));
+    }
+
+    record Report(int fingerprinted, int gzipped, int brotli, boolean brotliAvailable) {
+    }
+
+    static Report process(Path root) throws IOException {
+        Map<String, String> renames = fingerprint(root);
+        rewritePages(root, renames);
+        return compressAll(root, renames.size());
+    }
+
+    // -------------------------
+    // FINGERPRINTING
+    // -------------------------
+
+    /**
+     * Fingerprinted copies are written under their content hash and never
+     * deleted here, so a page left over from an earlier build (Maven does not
+     * re-copy a resource whose target is newer) keeps pointing at a live file.
+     *
+     * @return original URL path -> fingerprinted URL path
+     */
+    private static Map<String, String> fingerprint(Path root) throws IOException {
+        Path assets = root.resolve(ASSETS_DIR);
+        Map<String, String> renames = new LinkedHashMap<>();
+        for (Path file : files(root)) {
+            String name = file.getFileName().toString();
+            if (file.startsWith(assets) || !FINGERPRINTED.contains(extension(name))) {
+                continue;
+            }
+            byte[] content = Files.readAllBytes(file);
+            int dot = name.lastIndexOf('.');
+            String hashed = name.substring(0, dot) + "-" + shortHash(content) + name.substring(dot);
+            Files.createDirectories(assets);
+            Files.write(assets.resolve(hashed), content);
+            String urlPath = "/" + root.relativize(file).toString().replace('\\', '/');
+            renames.put(urlPath, "/" + ASSETS_DIR + "/" + hashed);
+        }
+        return renames;
+    }
+
+    private static void rewritePages(Path root, Map<String, String> renames) throws IOException {
+        if (renames.isEmpty()) {
+            return;
+        }
+        for (Path page : pages(root)) {
+            String html = Files.readString(page, StandardCharsets.UTF_8);
+            String rewritten = html;
+            for (Map.Entry<String, String> e : renames.entrySet()) {
+                // only quoted attribute values, so text mentioning the path is left alone
+                rewritten = rewritten.replace("\"" + e.getKey() + "\"", "\"" + e.getValue() + "\"")
+                        .replace("'" + e.getKey() + "'", "'" + e.getValue() + "'");
+            }
+            if (!rewritten.equals(html)) {
+                Files.writeString(page, rewritten, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    // -------------------------
+    // COMPRESSION
+    // -------------------------
+
+    private static Report compressAll(Path root, int fingerprinted) throws IOException {
+        boolean brotli = brotliAvailable();
+        int gzipped = 0;
+        int brotlied = 0;
+        for (Path file : files(root)) {
+            if (!COMPRESSIBLE.contains(extension(file.getFileName().toString()))) {
+                continue;
+            }
+            byte[] content = Files.readAllBytes(file);
+            Path gz = sibling(file, ".gz");
+            Path br = sibling(file, ".br");
+            Files.deleteIfExists(gz);
+            Files.deleteIfExists(br);
+            if (content.length < MIN_SIZE) {
+                continue;
+            }
+            if (writeIfSmaller(gz, gzip(content), content.length)) {
+                gzipped++;
+            }
+            if (brotli && writeIfSmaller(br, Encoder.compress(content, brotliParameters(file)), content.length)) {
+                brotlied++;
+            }
+        }
+        return new Report(fingerprinted, gzipped, brotlied, brotli);
+    }
+
+    static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 3);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gz.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static Encoder.Parameters brotliParameters(Path file) {
+        boolean text = !"ico".equals(extension(file.getFileName().toString()));
+        return new Encoder.Parameters()
+                .setQuality(11)
+                .setWindow(22)
+                .setMode(text ? Encoder.Mode.TEXT : Encoder.Mode.GENERIC);
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            return Brotli4jLoader.isAvailable();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean writeIfSmaller(Path target, byte[] compressed, int originalLength) throws IOException {
+        if (compressed.length >= originalLength) {
+            return false;
+        }
+        Files.write(target, compressed);
+        return true;
+    }
+
+    // -------------------------
+    // HELPERS
+    // -------------------------
+
+    private static List<Path> files(Path root) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    private static List<Path> pages(Path root) throws IOException {
+        List<Path> pages = new ArrayList<>();
+        for (Path file : files(root)) {
+            if ("html".equals(extension(file.getFileName().toString()))) {
+                pages.add(file);
+            }
+        }
+        return pages;
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static Path sibling(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    static String shortHash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 5);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
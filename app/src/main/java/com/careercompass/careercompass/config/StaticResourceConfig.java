@@ -0,0 +1,40 @@
+package com.careercompass.careercompass.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Serves the fingerprinted copies written by {@link StaticAssetCompressor}
+ * under {@code /assets/**} as immutable for a year: their names change with
+ * their content, so they never need revalidating.
+ *
+ * Pages keep Spring Boot's default {@code /**} handler, configured in
+ * application.properties to send {@code Cache-Control: no-cache} with
+ * Last-Modified (cheap 304s) and to serve the precompressed variants.
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    private final Duration assetMaxAge;
+
+    public StaticResourceConfig(@Value("${static.assets.max-age-days:365}") long maxAgeDays) {
+        this.assetMaxAge = Duration.ofDays(maxAgeDays);
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/" + StaticAssetCompressor.ASSETS_DIR + "/**")
+                .addResourceLocations("classpath:/static/" + StaticAssetCompressor.ASSETS_DIR + "/")
+                .setCacheControl(CacheControl.maxAge(assetMaxAge).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
+    }
+}
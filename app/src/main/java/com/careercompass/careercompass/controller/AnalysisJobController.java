@@ -0,0 +1,59 @@
+package com.careercompass.careercompass.controller;
+
+import com.careercompass.careercompass.dto.AnalysisJob;
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.service.AnalysisJobService;
+import com.careercompass.careercompass.service.JobPriority;
+import com.careercompass.careercompass.service.JobQueueFullException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Asynchronous analysis for bulk callers: submit, then poll or take a callback.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@CrossOrigin
+public class AnalysisJobController {
+
+    @Lazy
+    @Autowired
+    private AnalysisJobService jobService;
+
+    @PostMapping
+    public ResponseEntity<AnalysisJob> submit(@RequestBody AnalysisRequest request,
+                                              @RequestParam(required = false) String priority,
+                                              @RequestParam(required = false) String callbackUrl) {
+        AnalysisJob job;
+        try {
+            job = jobService.submit(request, JobPriority.parse(priority), callbackUrl);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AnalysisJob> get(@PathVariable String id) {
+        AnalysisJob job = jobService.get(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> queueFull(JobQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage(), "retryAfterSeconds", e.getRetryAfterSeconds()));
+    }
+}
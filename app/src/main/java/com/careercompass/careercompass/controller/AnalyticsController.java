@@ -0,0 +1,33 @@
+package com.careercompass.careercompass.controller;
+
+import com.careercompass.careercompass.service.SkillGapAnalytics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Aggregate skill-gap analytics over recent analyses.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin
+public class AnalyticsController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SkillGapAnalytics analytics;
+
+    // Most frequently missing / matched skills per role, decayed by window age
+    @GetMapping("/skills")
+    public SkillGapAnalytics.Report skills(@RequestParam(required = false) String role,
+                                           @RequestParam(defaultValue = "10") int roles,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        if (roles < 1 || roles > MAX_LIMIT || limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "roles and limit must be between 1 and " + MAX_LIMIT);
+        }
+        return analytics.report(role, roles, limit);
+    }
+}
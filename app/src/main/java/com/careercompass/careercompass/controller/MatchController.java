@@ -0,0 +1,186 @@
+package com.careercompass.careercompass.controller;
+
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import com.careercompass.careercompass.dto.EnrichmentResult;
+import com.careercompass.careercompass.dto.QuestionRequest;
+import com.careercompass.careercompass.dto.QuestionResponse;
+import com.careercompass.careercompass.dto.ResumeExtractResponse;
+import com.careercompass.careercompass.service.AiService;
+import com.careercompass.careercompass.service.AnalysisEnrichmentService;
+import com.careercompass.careercompass.service.AnalysisResultCache;
+import com.careercompass.careercompass.service.AnalysisStore;
+import com.careercompass.careercompass.service.EnrichmentLevel;
+import com.careercompass.careercompass.service.MatchService;
+import com.careercompass.careercompass.service.PipelineMetrics;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin
+public class MatchController {
+
+    // hit / miss / bypass, see AnalysisResultCache
+    static final String CACHE_STATUS_HEADER = "X-Analysis-Cache";
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private AiService aiService;
+
+    @Autowired
+    private PipelineMetrics metrics;
+
+    @Lazy
+    @Autowired
+    private AnalysisEnrichmentService enrichmentService;
+
+    @Autowired
+    private AnalysisResultCache resultCache;
+
+    @Autowired
+    private AnalysisStore analysisStore;
+
+    // Repeat analyses of the same inputs come from the result cache; the ETag lets
+    // clients revalidate with If-None-Match, and regenerate / Cache-Control: no-cache skip it
+    @PostMapping("/analyze")
+    public ResponseEntity<?> analyze(
+            @RequestBody AnalysisRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.CACHE_CONTROL, required = false) String cacheControl,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        EnrichmentLevel level;
+        try {
+            level = EnrichmentLevel.parse(request.getEnrichment());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        if (request.isProgressive()) {
+            return ResponseEntity.ok(enrichmentService.start(request, level));
+        }
+
+        // Explanation offsets point into the exact text sent, which the cache key
+        // normalizes away, so explained analyses are never cached
+        if (request.isExplain()) {
+            AnalysisResponse explained = matchService.analyze(request);
+            analysisStore.recordAnalysis(AnalysisStore.SOURCE_ANALYZE, request, level, explained);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(explained);
+        }
+
+        boolean regenerate = request.isRegenerate()
+                || (cacheControl != null && cacheControl.toLowerCase().contains("no-cache"));
+        AnalysisResultCache.Result result =
+                resultCache.analyze(request, level, regenerate, () -> matchService.analyze(request));
+        // write-behind: only queues the record
+        analysisStore.recordAnalysis(AnalysisStore.SOURCE_ANALYZE, result.key(), level, result.response());
+
+        // gzip is served from the bytes compressed when the result was cached
+        boolean gzip = result.gzipBody() != null && acceptEncoding != null
+                && acceptEncoding.toLowerCase().contains("gzip");
+        String etag = gzip ? result.gzipEtag() : result.etag();
+
+        if (AnalysisResultCache.matches(ifNoneMatch, result.etag())
+                || AnalysisResultCache.matches(ifNoneMatch, result.gzipEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .header(CACHE_STATUS_HEADER, result.cacheStatus())
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .header(CACHE_STATUS_HEADER, result.cacheStatus());
+        if (gzip) {
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(result.gzipBody());
+        }
+        return ok.body(result.response());
+    }
+
+    // Progressive analysis: poll for the AI enrichment
+    @GetMapping("/analyze/{enrichmentId}")
+    public ResponseEntity<EnrichmentResult> enrichment(@PathVariable String enrichmentId) {
+        EnrichmentResult result = enrichmentService.status(enrichmentId);
+        return result == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(result);
+    }
+
+    // Progressive analysis: one SSE "enrichment" event once the AI enrichment settles
+    @GetMapping(path = "/analyze/{enrichmentId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter enrichmentEvents(@PathVariable String enrichmentId) {
+        SseEmitter emitter = enrichmentService.subscribe(enrichmentId);
+        if (emitter == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired enrichment id");
+        }
+        return emitter;
+    }
+
+    @PostMapping("/ask")
+    public QuestionResponse ask(@RequestBody QuestionRequest request) {
+
+        String answer = aiService.answerCareerQuestion(
+                request.getQuestion(),
+                request.getResumeText(),
+                request.getJobDescription()
+        );
+
+        QuestionResponse response = new QuestionResponse();
+        response.setAnswer(answer);
+        analysisStore.recordAnswer(request, answer);
+
+        return response;
+    }
+
+
+    @PostMapping("/upload-resume")
+    public ResponseEntity<ResumeExtractResponse> uploadResumePdf(
+            @RequestParam("file") MultipartFile file) {
+
+        if (file == null || file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(new ResumeExtractResponse(""));
+        }
+
+        String extractedText;
+        long start = System.nanoTime();
+        try {
+            extractedText = extractTextFromPdf(file);
+            metrics.recordStage("upload", "pdf_extract", System.nanoTime() - start);
+        } catch (Exception e) {
+            metrics.recordStage("upload", "pdf_extract_failure", System.nanoTime() - start);
+            return ResponseEntity.internalServerError()
+                    .body(new ResumeExtractResponse("ERROR: Unable to read PDF file."));
+        }
+
+        return ResponseEntity.ok(new ResumeExtractResponse(extractedText));
+    }
+
+    // Helper method to extract text from PDF using PDFBox
+    private String extractTextFromPdf(MultipartFile file) throws Exception {
+        try (PDDocument document = PDDocument.load(file.getInputStream())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            return stripper.getText(document);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.careercompass.careercompass.controller;
+
+import com.careercompass.careercompass.service.BulkResumeImporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Bulk resume import. Each file's result is written as one NDJSON line as soon
+ * as it is ready, followed by a summary line; the stream is written on the
+ * request thread, so the "bulk" bulkhead holds its permit for the whole import.
+ *
+ * <ul>
+ *   <li>multipart/form-data: one or more {@code files} (PDFs or ZIPs of PDFs),
+ *       optional {@code jobDescription} field</li>
+ *   <li>application/zip body: one archive, read as it arrives and never spooled
+ *       to disk; optional {@code jobDescription} query parameter</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/resumes")
+@CrossOrigin
+public class ResumeImportController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    @Lazy
+    @Autowired
+    private BulkResumeImporter importer;
+
+    private final ObjectWriter lineWriter;
+
+    public ResumeImportController(ObjectMapper objectMapper) {
+        // one object per line, whatever spring.jackson.serialization.INDENT_OUTPUT says
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @PostMapping(path = "/bulk", consumes = "multipart/form-data")
+    public void importFiles(@RequestParam("files") List<MultipartFile> files,
+                            @RequestParam(required = false) String jobDescription,
+                            HttpServletResponse response) throws IOException {
+        if (files.stream().allMatch(MultipartFile::isEmpty)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No files uploaded");
+        }
+        OutputStream out = startStream(response);
+        try (BulkResumeImporter.Batch batch = importer.open(jobDescription, result -> writeLine(out, result))) {
+            for (MultipartFile file : files) {
+                if (file.isEmpty()) {
+                    continue;
+                }
+                try (InputStream in = file.getInputStream()) {
+                    batch.add(file.getOriginalFilename(), in);
+                }
+            }
+            writeLine(out, batch.finish());
+        }
+    }
+
+    @PostMapping(path = "/bulk", consumes = { "application/zip", "application/x-zip-compressed" })
+    public void importArchive(HttpServletRequest request,
+                              @RequestParam(required = false) String jobDescription,
+                              HttpServletResponse response) throws IOException {
+        OutputStream out = startStream(response);
+        try (BulkResumeImporter.Batch batch = importer.open(jobDescription, result -> writeLine(out, result))) {
+            batch.add("upload.zip", request.getInputStream());
+            writeLine(out, batch.finish());
+        }
+    }
+
+    private static OutputStream startStream(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        return response.getOutputStream();
+    }
+
+    private void writeLine(OutputStream out, Object line) throws IOException {
+        out.write(lineWriter.writeValueAsBytes(line));
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,84 @@
+package com.careercompass.careercompass.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * State of an asynchronous analysis job, as polled or posted to its callback.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalysisJob {
+
+    public static final String QUEUED = "queued";
+    public static final String RUNNING = "running";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    private String id;
+    private String status;
+    private String priority;
+
+    private Long submittedAt;    // epoch millis
+    private Long finishedAt;
+
+    private AnalysisResponse result;
+    private String error;
+
+    public AnalysisJob() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public Long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Long submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public AnalysisResponse getResult() {
+        return result;
+    }
+
+    public void setResult(AnalysisResponse result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
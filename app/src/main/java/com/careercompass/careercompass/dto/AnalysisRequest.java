@@ -0,0 +1,77 @@
+package com.careercompass.careercompass.dto;
+
+public class AnalysisRequest {
+
+    // 1) variables to store incoming data
+    private String jobDescription;
+    private String resumeText;
+
+    // AI work to run after the deterministic score: "none", "tip" or "full" (default)
+    private String enrichment;
+
+    // true = return the deterministic result at once; AI enrichment is fetched
+    // later from /api/analyze/{enrichmentId} or its /events stream
+    private boolean progressive;
+
+    // true = ignore a cached analysis of the same inputs and run the pipeline
+    // again ("regenerate advice"); the fresh result replaces the cached one
+    private boolean regenerate;
+
+    // true = also return how the score was reached: the rules applied and the
+    // offsets of every skill mention (see ScoreExplanation); skips the result cache
+    private boolean explain;
+
+    // 2) empty constructor (needed by Spring)
+    public AnalysisRequest() {
+    }
+
+    // 3) getters and setters
+
+    public String getJobDescription() {
+        return jobDescription;
+    }
+
+    public void setJobDescription(String jobDescription) {
+        this.jobDescription = jobDescription;
+    }
+
+    public String getResumeText() {
+        return resumeText;
+    }
+
+    public void setResumeText(String resumeText) {
+        this.resumeText = resumeText;
+    }
+
+    public String getEnrichment() {
+        return enrichment;
+    }
+
+    public void setEnrichment(String enrichment) {
+        this.enrichment = enrichment;
+    }
+
+    public boolean isProgressive() {
+        return progressive;
+    }
+
+    public void setProgressive(boolean progressive) {
+        this.progressive = progressive;
+    }
+
+    public boolean isRegenerate() {
+        return regenerate;
+    }
+
+    public void setRegenerate(boolean regenerate) {
+        this.regenerate = regenerate;
+    }
+
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+}
@@ -0,0 +1,199 @@
+package com.careercompass.careercompass.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AnalysisResponse {
+
+    private double score;
+    private String matchLevel;
+
+    private List<String> jdSkills;
+    private List<String> resumeSkills;
+    private List<String> matchedSkills;
+    private List<String> missingSkills;
+
+    private String tip;
+
+    // NEW: richer insights for results page
+    private String summary;
+    private List<String> strengths;
+    private List<String> areasForImprovement;
+    private List<String> recommendations;
+
+    // Progressive analysis only: handle for the pending AI enrichment
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String enrichmentId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String enrichmentStatus;
+
+    // Share of earlier scores for the same role (or all roles) this one beats, 0–100;
+    // absent until enough scores have been seen
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer percentile;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String percentileRole;
+
+    // Only when the request asked to explain the score
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ScoreExplanation explanation;
+
+    public AnalysisResponse() {
+    }
+
+    /** Copy, so an enrichment can fill one instance while the other is serialized. */
+    public AnalysisResponse(AnalysisResponse other) {
+        this.score = other.score;
+        this.matchLevel = other.matchLevel;
+        this.jdSkills = copy(other.jdSkills);
+        this.resumeSkills = copy(other.resumeSkills);
+        this.matchedSkills = copy(other.matchedSkills);
+        this.missingSkills = copy(other.missingSkills);
+        this.tip = other.tip;
+        this.summary = other.summary;
+        this.strengths = copy(other.strengths);
+        this.areasForImprovement = copy(other.areasForImprovement);
+        this.recommendations = copy(other.recommendations);
+        this.enrichmentId = other.enrichmentId;
+        this.enrichmentStatus = other.enrichmentStatus;
+        this.percentile = other.percentile;
+        this.percentileRole = other.percentileRole;
+        this.explanation = other.explanation == null ? null : new ScoreExplanation(other.explanation);
+    }
+
+    private static List<String> copy(List<String> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public String getMatchLevel() {
+        return matchLevel;
+    }
+
+    public void setMatchLevel(String matchLevel) {
+        this.matchLevel = matchLevel;
+    }
+
+    public List<String> getJdSkills() {
+        return jdSkills;
+    }
+
+    public void setJdSkills(List<String> jdSkills) {
+        this.jdSkills = jdSkills;
+    }
+
+    public List<String> getResumeSkills() {
+        return resumeSkills;
+    }
+
+    public void setResumeSkills(List<String> resumeSkills) {
+        this.resumeSkills = resumeSkills;
+    }
+
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public void setMatchedSkills(List<String> matchedSkills) {
+        this.matchedSkills = matchedSkills;
+    }
+
+    public List<String> getMissingSkills() {
+        return missingSkills;
+    }
+
+    public void setMissingSkills(List<String> missingSkills) {
+        this.missingSkills = missingSkills;
+    }
+
+    public String getTip() {
+        return tip;
+    }
+
+    public void setTip(String tip) {
+        this.tip = tip;
+    }
+
+    // ---------- NEW INSIGHT FIELDS ----------
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public List<String> getStrengths() {
+        return strengths;
+    }
+
+    public void setStrengths(List<String> strengths) {
+        this.strengths = strengths;
+    }
+
+    public List<String> getAreasForImprovement() {
+        return areasForImprovement;
+    }
+
+    public void setAreasForImprovement(List<String> areasForImprovement) {
+        this.areasForImprovement = areasForImprovement;
+    }
+
+    public List<String> getRecommendations() {
+        return recommendations;
+    }
+
+    public void setRecommendations(List<String> recommendations) {
+        this.recommendations = recommendations;
+    }
+
+    public String getEnrichmentId() {
+        return enrichmentId;
+    }
+
+    public void setEnrichmentId(String enrichmentId) {
+        this.enrichmentId = enrichmentId;
+    }
+
+    public String getEnrichmentStatus() {
+        return enrichmentStatus;
+    }
+
+    public void setEnrichmentStatus(String enrichmentStatus) {
+        this.enrichmentStatus = enrichmentStatus;
+    }
+
+    public Integer getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(Integer percentile) {
+        this.percentile = percentile;
+    }
+
+    public String getPercentileRole() {
+        return percentileRole;
+    }
+
+    public void setPercentileRole(String percentileRole) {
+        this.percentileRole = percentileRole;
+    }
+
+    public ScoreExplanation getExplanation() {
+        return explanation;
+    }
+
+    public void setExplanation(ScoreExplanation explanation) {
+        this.explanation = explanation;
+    }
+}
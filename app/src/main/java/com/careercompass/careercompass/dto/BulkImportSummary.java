@@ -0,0 +1,87 @@
+package com.careercompass.careercompass.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Last line of a bulk resume import stream.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkImportSummary {
+
+    public static final String TYPE = "summary";
+
+    private final String type = TYPE;
+
+    private int files;
+    private int succeeded;
+    private int failed;
+    private int skipped;
+    private boolean truncated;    // stopped at bulk.import.max-files
+    private List<String> jdSkills;
+    private long elapsedMs;
+
+    public BulkImportSummary() {
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getFiles() {
+        return files;
+    }
+
+    public void setFiles(int files) {
+        this.files = files;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<String> getJdSkills() {
+        return jdSkills;
+    }
+
+    public void setJdSkills(List<String> jdSkills) {
+        this.jdSkills = jdSkills;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+}
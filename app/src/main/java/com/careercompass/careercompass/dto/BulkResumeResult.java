@@ -0,0 +1,128 @@
+package com.careercompass.careercompass.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One line of a bulk resume import stream: the outcome for a single file.
+ * Score fields are only present when a job description was supplied.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkResumeResult {
+
+    public static final String TYPE = "file";
+
+    public static final String OK = "ok";
+    public static final String FAILED = "failed";
+    public static final String SKIPPED = "skipped";
+
+    private final String type = TYPE;
+
+    private int index;    // order the file was read in, from 0
+    private String name;
+    private String status;
+    private Integer textLength;
+    private List<String> skills;
+    private Double score;
+    private String matchLevel;
+    private List<String> matchedSkills;
+    private List<String> missingSkills;
+    private String error;
+    private Long elapsedMs;
+
+    public BulkResumeResult() {
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getTextLength() {
+        return textLength;
+    }
+
+    public void setTextLength(Integer textLength) {
+        this.textLength = textLength;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public String getMatchLevel() {
+        return matchLevel;
+    }
+
+    public void setMatchLevel(String matchLevel) {
+        this.matchLevel = matchLevel;
+    }
+
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public void setMatchedSkills(List<String> matchedSkills) {
+        this.matchedSkills = matchedSkills;
+    }
+
+    public List<String> getMissingSkills() {
+        return missingSkills;
+    }
+
+    public void setMissingSkills(List<String> missingSkills) {
+        this.missingSkills = missingSkills;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(Long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+}
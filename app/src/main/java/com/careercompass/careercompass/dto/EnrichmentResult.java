@@ -0,0 +1,64 @@
+package com.careercompass.careercompass.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * State of a progressive analysis' AI enrichment, as polled or streamed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EnrichmentResult {
+
+    public static final String PENDING = "pending";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    private String id;
+    private String status;
+
+    // full analysis with AI-calibrated score, tip and insights (status "done")
+    private AnalysisResponse result;
+
+    private String error;
+
+    public EnrichmentResult() {
+    }
+
+    public EnrichmentResult(String id, String status, AnalysisResponse result, String error) {
+        this.id = id;
+        this.status = status;
+        this.result = result;
+        this.error = error;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public AnalysisResponse getResult() {
+        return result;
+    }
+
+    public void setResult(AnalysisResponse result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
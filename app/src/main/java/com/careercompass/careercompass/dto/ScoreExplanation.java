@@ -0,0 +1,117 @@
+package com.careercompass.careercompass.dto;
+
+import com.careercompass.careercompass.engine.ScoreTrace;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * "Why this score": filled through the match engine's {@link ScoreTrace} when
+ * a request asks to {@code explain}. Steps are the scoring and calibration
+ * rules that applied, in order, on the 0–100 scale and before the final
+ * rounding. Mentions are the skill
+ * occurrences in each text, as character offsets into the text that was sent,
+ * for highlighting; weak ones were not counted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScoreExplanation {
+
+    public record Step(ScoreTrace.Rule rule, double before, double after) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Mention(String skill, int start, int end, boolean weak, String reason) {
+    }
+
+    public static final String WEAK_HINT = "weak-hint";
+    public static final String LEARNING_SECTION = "learning-section";
+
+    private List<Step> steps = new ArrayList<>();
+    private List<Mention> jdMentions = new ArrayList<>();
+    private List<Mention> resumeMentions = new ArrayList<>();
+
+    public ScoreExplanation() {
+    }
+
+    /** Copy, so an enrichment can add calibration steps while the other is serialized. */
+    public ScoreExplanation(ScoreExplanation other) {
+        this.steps = new ArrayList<>(other.steps);
+        this.jdMentions = new ArrayList<>(other.jdMentions);
+        this.resumeMentions = new ArrayList<>(other.resumeMentions);
+    }
+
+    /** Trace for extracting the job description's skills. */
+    public ScoreTrace jd() {
+        return new Recorder(jdMentions);
+    }
+
+    /** Trace for extracting the resume's skills. */
+    public ScoreTrace resume() {
+        return new Recorder(resumeMentions);
+    }
+
+    /** Trace for scoring and calibration. */
+    public ScoreTrace scoring() {
+        return new Recorder(null);
+    }
+
+    /** Drops mentions of skills that did not make the final lists (e.g. "spring" inside "spring boot"). */
+    public void retainMentionsOf(Collection<String> jdSkills, Collection<String> resumeSkills) {
+        jdMentions.removeIf(m -> !m.weak() && !jdSkills.contains(m.skill()));
+        resumeMentions.removeIf(m -> !m.weak() && !resumeSkills.contains(m.skill()));
+    }
+
+    private final class Recorder implements ScoreTrace {
+
+        private final List<Mention> mentions;
+
+        private Recorder(List<Mention> mentions) {
+            this.mentions = mentions;
+        }
+
+        @Override
+        public void skillMention(String skill, int start, int end) {
+            if (mentions != null) {
+                mentions.add(new Mention(skill, start, end, false, null));
+            }
+        }
+
+        @Override
+        public void weakMention(String skill, int start, int end, boolean learningSection) {
+            if (mentions != null) {
+                mentions.add(new Mention(skill, start, end, true, learningSection ? LEARNING_SECTION : WEAK_HINT));
+            }
+        }
+
+        @Override
+        public void rule(Rule rule, double before, double after) {
+            steps.add(new Step(rule, before, after));
+        }
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public void setSteps(List<Step> steps) {
+        this.steps = steps;
+    }
+
+    public List<Mention> getJdMentions() {
+        return jdMentions;
+    }
+
+    public void setJdMentions(List<Mention> jdMentions) {
+        this.jdMentions = jdMentions;
+    }
+
+    public List<Mention> getResumeMentions() {
+        return resumeMentions;
+    }
+
+    public void setResumeMentions(List<Mention> resumeMentions) {
+        this.resumeMentions = resumeMentions;
+    }
+}
@@ -3,7 +3,6 @@ package com.careercompass.careercompass.service;
 import com.careercompass.careercompass.dto.AiSkillProfile;
 import com.careercompass.careercompass.dto.AnalysisRequest;
 import com.careercompass.careercompass.dto.AnalysisResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct; // Spring Boot 3 uses jakarta
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,22 +21,35 @@ public class AiService {
 
     private static final Logger log = LoggerFactory.getLogger(AiService.class);
     private static final int MAX_TEXT_LENGTH = 50000; // ~50KB limit to prevent memory leaks/timeouts
+    private static final int MAX_RAG_SNIPPETS = 3;
 
     // Groq API key – configure in application.properties as:
     // groq.api.key=YOUR_GROQ_KEY
     @Value("${groq.api.key:}") // safe even if empty, validated in @PostConstruct
     private String groqApiKey;
 
-    private static final String GROQ_URL = "https://api.groq.com/openai/v1/chat/completions";
-    private static final String GROQ_MODEL = "llama-3.3-70b-versatile";
+    // Chat completions endpoint + model – overridable so load tests can point at a
+    // local OpenAI-compatible stand-in instead of burning real Groq quota
+    @Value("${groq.api.url:https://api.groq.com/openai/v1/chat/completions}")
+    private String groqApiUrl;
+
+    @Value("${groq.api.model:llama-3.3-70b-versatile}")
+    private String groqModel;
 
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final CareerKnowledgeBase careerKnowledgeBase;
+    private final PipelineMetrics metrics;
+    // RAG snippet ranking; an unknown rag.retrieval.strategy fails startup
+    private final RetrievalStrategy retrievalStrategy;
 
-    public AiService(CareerKnowledgeBase careerKnowledgeBase) {
+    public AiService(CareerKnowledgeBase careerKnowledgeBase,
+                     PipelineMetrics metrics,
+                     @Value("${rag.retrieval.strategy:bm25}") String retrievalStrategy) {
         this.careerKnowledgeBase = careerKnowledgeBase;
+        this.metrics = metrics;
+        this.retrievalStrategy = RetrievalStrategy.parse(retrievalStrategy);
         this.restTemplate = createConfiguredRestTemplate();
+        careerKnowledgeBase.prepare(this.retrievalStrategy);
     }
 
     // Validate API Key at startup
@@ -286,65 +298,65 @@ public class AiService {
     // Generic helper: call Groq Chat API
     // -------------------------
 
-    @SuppressWarnings("unchecked")
-    private String callGroqChat(String prompt) {
+    // Round trip is timed and tagged by prompt type + outcome (success / empty / exception);
+    // the response body is read as a stream and token usage is recorded per prompt type
+    private String callGroqChat(String prompt, String promptType) {
 
         if (groqApiKey == null || groqApiKey.isBlank()) {
             log.error("Groq API key is missing. Please set groq.api.key in application.properties.");
             return null;
         }
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", GROQ_MODEL);
-        body.put("stream", false);
-
-        List<Map<String, String>> messages = List.of(
-                Map.of("role", "user", "content", prompt));
-        body.put("messages", messages);
+        GroqChatRequest body = new GroqChatRequest(groqModel, false,
+                List.of(new GroqChatRequest.Message("user", prompt)));
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setBearerAuth(groqApiKey.trim());
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
+        HttpEntity<GroqChatRequest> entity = new HttpEntity<>(body, headers);
 
-        try {
-            ResponseEntity<Map> apiResponse = restTemplate.exchange(GROQ_URL, HttpMethod.POST, entity, Map.class);
+        long start = System.nanoTime();
+        String outcome = PipelineMetrics.OUTCOME_EMPTY;
 
-            if (!apiResponse.getStatusCode().is2xxSuccessful() || apiResponse.getBody() == null) {
-                log.error("Groq API call failed: {}", apiResponse.getStatusCode());
-                return null;
-            }
-
-            Object choicesObj = apiResponse.getBody().get("choices");
-            if (!(choicesObj instanceof List<?> choices) || choices.isEmpty()) {
-                log.warn("Groq API call: no choices in response");
+        try {
+            // non-2xx statuses are thrown by the default error handler before the body is read
+            GroqJson.ChatCompletion completion = restTemplate.execute(groqApiUrl, HttpMethod.POST,
+                    restTemplate.httpEntityCallback(entity),
+                    response -> GroqJson.readCompletion(response.getBody()));
+
+            if (completion == null) {
+                log.error("Groq API call failed: empty response body");
+                outcome = PipelineMetrics.OUTCOME_EXCEPTION;
                 return null;
             }
 
-            Object firstChoiceObj = choices.get(0);
-            if (!(firstChoiceObj instanceof Map<?, ?> firstChoice)) {
-                log.warn("Groq API call: unexpected choice structure");
-                return null;
-            }
+            metrics.recordGroqUsage(promptType, completion.usage());
 
-            Object messageObj = firstChoice.get("message");
-            if (!(messageObj instanceof Map<?, ?> message)) {
-                log.warn("Groq API call: no message field in choice");
+            String content = completion.content();
+            if (content == null) {
+                log.warn("Groq API call: no message content in response (finish_reason={})",
+                        completion.finishReason());
                 return null;
             }
 
-            Object contentObj = message.get("content");
-            if (contentObj == null) {
-                log.warn("Groq API call: no content in message");
-                return null;
+            if (!content.isBlank()) {
+                outcome = PipelineMetrics.OUTCOME_SUCCESS;
             }
-
-            return contentObj.toString();
+            return content;
 
         } catch (Exception e) {
             log.error("Error calling Groq Chat API: {}", e.getMessage());
+            outcome = PipelineMetrics.OUTCOME_EXCEPTION;
             return null;
+        } finally {
+            metrics.recordGroqCall(promptType, outcome, System.nanoTime() - start);
+        }
+    }
+
+    /** Request body for the chat completions endpoint. */
+    record GroqChatRequest(String model, boolean stream, List<Message> messages) {
+        record Message(String role, String content) {
         }
     }
 
@@ -366,35 +378,15 @@ public class AiService {
                         .collect(Collectors.toSet());
         String role = roleFocus == null ? "" : roleFocus.toLowerCase();
 
-        return careerKnowledgeBase.getAllSnippets().stream()
-                .map(snippet -> {
-                    int score = 0;
-                    for (String kw : snippet.getKeywords()) {
-                        String k = kw.toLowerCase();
-                        if (q.contains(k))
-                            score += 3;
-                        if (role.contains(k))
-                            score += 2;
-                        for (String s : skills) {
-                            if (s.contains(k) || k.contains(s)) {
-                                score += 4;
-                            }
-                        }
-                    }
-                    return new AbstractMap.SimpleEntry<>(snippet, score);
-                })
-                .filter(entry -> entry.getValue() > 0)
-                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
-                .limit(3)
-                .map(AbstractMap.SimpleEntry::getKey)
-                .collect(Collectors.toList());
+        return careerKnowledgeBase.find(retrievalStrategy, q, skills, role, MAX_RAG_SNIPPETS);
     }
 
     private String buildRagContext(String question,
             String resumeText,
             String jobDescription) {
 
-        AiSkillProfile profile = analyzeSkillsWithAi(jobDescription, resumeText);
+        AiSkillProfile profile = metrics.time("ask", "ai_profile",
+                () -> analyzeSkillsWithAi(jobDescription, resumeText));
 
         if (profile == null || profile.getJdRequiredSkills() == null) {
             return "No structured skill profile available. Fall back to generic career logic.";
@@ -424,7 +416,8 @@ public class AiService {
         boolean related = profile.isGenerallyRelated();
 
         // Retrieve knowledge snippets based on missing skills + role
-        List<KnowledgeSnippet> snippets = retrieveRelevantSnippets(question, missing, roleFocus);
+        List<KnowledgeSnippet> snippets = metrics.time("ask", "retrieval",
+                () -> retrieveRelevantSnippets(question, missing, roleFocus));
 
         StringBuilder sb = new StringBuilder();
 
@@ -459,7 +452,7 @@ public class AiService {
         log.info("generateImprovedTip: using Groq");
 
         String prompt = buildPrompt(request, response);
-        String tip = callGroqChat(prompt);
+        String tip = callGroqChat(prompt, PipelineMetrics.PROMPT_TIP);
 
         if (tip != null && !tip.isBlank()) {
             return tip.trim();
@@ -544,49 +537,50 @@ public class AiService {
         log.info(">> AiService.enrichWithInsights CALLED (Groq)");
 
         String prompt = buildInsightsPrompt(request, response);
-        String rawText = callGroqChat(prompt);
+        String rawText = callGroqChat(prompt, PipelineMetrics.PROMPT_INSIGHTS);
 
         if (rawText == null || rawText.isBlank()) {
             log.warn("Groq insights: empty response, using fallback if needed.");
         } else {
+            long parseStart = System.nanoTime();
+            String parseOutcome = PipelineMetrics.OUTCOME_PARSE_FAILURE;
             try {
                 log.debug("Groq insights raw response (truncated): {}",
                         rawText.length() > 200 ? rawText.substring(0, 200) + "..." : rawText);
 
-                String jsonText = cleanJsonResponse(rawText);
+                GroqJson.InsightsPayload parsed = GroqJson.readPayload(GroqJson.INSIGHTS_READER, rawText);
 
-                if (jsonText == null) {
+                if (parsed == null) {
                     log.error("Groq insights: no valid JSON object found in response.");
                 } else {
-                    Map<String, Object> parsed = objectMapper.readValue(jsonText, Map.class);
+                    parseOutcome = PipelineMetrics.OUTCOME_SUCCESS;
 
                     // summary
-                    Object summaryObj = parsed.get("summary");
-                    if (summaryObj != null && !summaryObj.toString().isBlank()) {
-                        response.setSummary(summaryObj.toString().trim());
+                    if (parsed.summary() != null && !parsed.summary().isBlank()) {
+                        response.setSummary(parsed.summary().trim());
                     }
 
                     // strengths
-                    List<String> strengths = toSentenceList(parsed.get("strengths"));
+                    List<String> strengths = toSentenceList(parsed.strengths());
                     if (!strengths.isEmpty()) {
                         response.setStrengths(strengths);
                     }
 
                     // gaps (maps to areasForImprovement)
-                    List<String> areas = toSentenceList(parsed.get("gaps"));
+                    List<String> areas = toSentenceList(parsed.gaps());
                     if (areas.isEmpty()) {
                         // fallback to old field name if AI used it anyway
-                        areas = toSentenceList(parsed.get("areasForImprovement"));
+                        areas = toSentenceList(parsed.areasForImprovement());
                     }
                     if (!areas.isEmpty()) {
                         response.setAreasForImprovement(areas);
                     }
 
                     // nextSteps (maps to recommendations)
-                    List<String> recs = toSentenceList(parsed.get("nextSteps"));
+                    List<String> recs = toSentenceList(parsed.nextSteps());
                     if (recs.isEmpty()) {
                         // fallback to old field name if AI used it anyway
-                        recs = toSentenceList(parsed.get("recommendations"));
+                        recs = toSentenceList(parsed.recommendations());
                     }
                     if (!recs.isEmpty()) {
                         response.setRecommendations(recs);
@@ -598,6 +592,8 @@ public class AiService {
 
             } catch (Exception e) {
                 log.error("Groq insights generation failed: {}. Raw response: {}", e.getMessage(), rawText);
+            } finally {
+                metrics.recordGroqParse(PipelineMetrics.PROMPT_INSIGHTS, parseOutcome, System.nanoTime() - parseStart);
             }
         }
 
@@ -682,7 +678,7 @@ public class AiService {
         log.debug(">>> RAG context for /api/ask: {}", ragContext);
 
         String prompt = buildCareerChatPrompt(question, resumeText, jobDescription, ragContext);
-        String answer = callGroqChat(prompt);
+        String answer = metrics.time("ask", "chat", () -> callGroqChat(prompt, PipelineMetrics.PROMPT_CHAT));
 
         if (answer != null && !answer.isBlank()) {
             return answer.trim();
@@ -708,39 +704,36 @@ public class AiService {
         }
 
         String prompt = buildSkillAnalysisPrompt(jobDescription, resumeText);
-        String rawText = callGroqChat(prompt);
+        String rawText = callGroqChat(prompt, PipelineMetrics.PROMPT_SKILL_PARSE);
 
         if (rawText == null || rawText.isBlank()) {
             log.warn("Groq skill analysis: empty response");
             return null;
         }
 
+        long parseStart = System.nanoTime();
+        String parseOutcome = PipelineMetrics.OUTCOME_PARSE_FAILURE;
         try {
-            String jsonText = cleanJsonResponse(rawText);
+            GroqJson.SkillProfilePayload parsed = GroqJson.readPayload(GroqJson.PROFILE_READER, rawText);
 
-            if (jsonText == null) {
+            if (parsed == null) {
                 log.error("Groq skill analysis: no valid JSON object found in response.");
                 return null;
             }
-
-            Map<String, Object> parsed = objectMapper.readValue(jsonText, Map.class);
+            parseOutcome = PipelineMetrics.OUTCOME_SUCCESS;
 
             AiSkillProfile profile = new AiSkillProfile();
 
-            profile.setJdRequiredSkills(toStringList(parsed.get("jdRequiredSkills")));
-            profile.setStrongSkills(toStringList(parsed.get("strongSkills")));
-            profile.setWeakSkills(toStringList(parsed.get("weakSkills")));
+            profile.setJdRequiredSkills(toStringList(parsed.jdRequiredSkills()));
+            profile.setStrongSkills(toStringList(parsed.strongSkills()));
+            profile.setWeakSkills(toStringList(parsed.weakSkills()));
 
-            Object roleObj = parsed.get("roleFocus");
-            if (roleObj != null) {
-                profile.setRoleFocus(roleObj.toString());
+            if (parsed.roleFocus() != null) {
+                profile.setRoleFocus(parsed.roleFocus());
             }
 
-            Object relatedObj = parsed.get("generallyRelated");
-            if (relatedObj instanceof Boolean b) {
-                profile.setGenerallyRelated(b);
-            } else if (relatedObj != null) {
-                profile.setGenerallyRelated(Boolean.parseBoolean(relatedObj.toString()));
+            if (parsed.generallyRelated() != null) {
+                profile.setGenerallyRelated(Boolean.parseBoolean(parsed.generallyRelated()));
             }
 
             log.info(">> AiService (Groq): parsed AI profile successfully.");
@@ -748,102 +741,54 @@ public class AiService {
 
         } catch (Exception e) {
             log.error("Groq skill analysis failed: {}. Raw response: {}", e.getMessage(), rawText);
+        } finally {
+            metrics.recordGroqParse(PipelineMetrics.PROMPT_SKILL_PARSE, parseOutcome, System.nanoTime() - parseStart);
         }
 
         // fallback tell caller to use keyword extractor
         return null;
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> toStringList(Object value) {
+    private List<String> toStringList(List<String> values) {
 
-        if (value instanceof List<?> list) {
-
-            List<String> result = new ArrayList<>();
+        if (values == null) {
+            return Collections.emptyList();
+        }
 
-            for (Object item : list) {
-                if (item != null) {
-                    result.add(
-                            item.toString()
-                                    .toLowerCase()
-                                    .trim()
-                    // No truncation here but output is small usually
-                    );
-                }
+        List<String> result = new ArrayList<>(values.size());
+        for (String item : values) {
+            if (item != null) {
+                // No truncation here but output is small usually
+                result.add(item.toLowerCase().trim());
             }
-            return result;
         }
-
-        return Collections.emptyList();
+        return result;
     }
 
     // for insights sentences (keep original casing, no lowercasing)
-    @SuppressWarnings("unchecked")
-    private List<String> toSentenceList(Object value) {
-        if (value instanceof List<?> list) {
-            List<String> result = new ArrayList<>();
-            for (Object item : list) {
-                if (item != null) {
-                    String s = item.toString().trim();
-                    if (!s.isEmpty()) {
-                        result.add(s);
-                    }
-                }
-            }
-            return result;
+    private List<String> toSentenceList(List<String> values) {
+        if (values == null) {
+            return Collections.emptyList();
         }
-        return Collections.emptyList();
-    }
-
-    // ----------------------------------------------------
-    // Robust JSON cleaning
-    // ----------------------------------------------------
-    private String cleanJsonResponse(String raw) {
-        if (raw == null || raw.isBlank())
-            return null;
-
-        String cleaned = raw.trim();
-
-        // 1. Remove Markdown code blocks if present
-        if (cleaned.contains("```json")) {
-            int start = cleaned.indexOf("```json") + 7;
-            int end = cleaned.lastIndexOf("```");
-            if (end > start) {
-                cleaned = cleaned.substring(start, end).trim();
-            }
-        } else if (cleaned.contains("```")) {
-            int start = cleaned.indexOf("```") + 3;
-            int end = cleaned.lastIndexOf("```");
-            if (end > start) {
-                cleaned = cleaned.substring(start, end).trim();
+        List<String> result = new ArrayList<>(values.size());
+        for (String item : values) {
+            if (item != null) {
+                String s = item.trim();
+                if (!s.isEmpty()) {
+                    result.add(s);
+                }
             }
         }
-
-        // 2. Extract the first { to the last } to remove surrounding commentary
-        int firstBrace = cleaned.indexOf('{');
-        int lastBrace = cleaned.lastIndexOf('}');
-
-        if (firstBrace != -1 && lastBrace != -1 && lastBrace > firstBrace) {
-            return cleaned.substring(firstBrace, lastBrace + 1);
-        }
-
-        return null; // or could return cleaned if we want to be risky
+        return result;
     }
 
     // ----------------------------------------------------
     // NEW: Guardrail to remove hallucinated skill claims
     // ----------------------------------------------------
-    private void sanitizeInsights(AnalysisResponse response) {
-
-        // Build forbidden skill set = missingSkills (lowercased)
-        Set<String> forbidden = new HashSet<>();
-        if (response.getMissingSkills() != null) {
-            for (String s : response.getMissingSkills()) {
-                if (s != null && !s.isBlank()) {
-                    forbidden.add(s.toLowerCase());
-                }
-            }
-        }
+    void sanitizeInsights(AnalysisResponse response) {
+
+        // One matcher for all missing skills, compiled once per response
+        ForbiddenSkillMatcher forbidden = ForbiddenSkillMatcher.of(response.getMissingSkills());
 
         // 1) Clean strengths: remove any sentence that mentions a forbidden skill
         if (response.getStrengths() != null && !response.getStrengths().isEmpty()) {
@@ -851,55 +796,24 @@ public class AiService {
             for (String sentence : response.getStrengths()) {
                 if (sentence == null || sentence.isBlank())
                     continue;
-                String lower = sentence.toLowerCase();
-
-                boolean mentionsForbidden = false;
-                for (String fs : forbidden) {
-                    // FIX: Use word boundaries for sanitization to avoid substrings (go vs good)
-                    // fs = "go"
-                    // pattern = \bgo\b
-                    try {
-                        if (Pattern.compile("\\b" + Pattern.quote(fs) + "\\b").matcher(lower).find()) {
-                            mentionsForbidden = true;
-                            break;
-                        }
-                    } catch (Exception e) {
-                        // Fallback
-                        if (lower.contains(fs)) {
-                            mentionsForbidden = true;
-                            break;
-                        }
-                    }
-                }
-
                 // Keep only sentences that do NOT talk about missing skills
-                if (!mentionsForbidden) {
+                if (!forbidden.mentionsAny(sentence.toLowerCase())) {
                     cleanedStrengths.add(sentence);
                 }
             }
             response.setStrengths(cleanedStrengths);
         }
 
-        // 2) Clean summary: if it mentions any forbidden skill, replace with a generic,
+        // 2) Areas and recommendations may name missing skills ("learn Docker"),
+        // but must not claim the candidate already has them
+        response.setAreasForImprovement(dropClaimedSkills(response.getAreasForImprovement(), forbidden));
+        response.setRecommendations(dropClaimedSkills(response.getRecommendations(), forbidden));
+
+        // 3) Clean summary: if it mentions any forbidden skill, replace with a generic,
         // safe summary
         String summary = response.getSummary();
         if (summary != null && !summary.isBlank() && !forbidden.isEmpty()) {
-            String lower = summary.toLowerCase();
-            boolean badSummary = false;
-            for (String fs : forbidden) {
-                // FIX: Use word boundaries
-                try {
-                    if (Pattern.compile("\\b" + Pattern.quote(fs) + "\\b").matcher(lower).find()) {
-                        badSummary = true;
-                        break;
-                    }
-                } catch (Exception e) {
-                    if (lower.contains(fs)) {
-                        badSummary = true;
-                        break;
-                    }
-                }
-            }
+            boolean badSummary = forbidden.mentionsAny(summary.toLowerCase());
 
             if (badSummary) {
                 String level = response.getMatchLevel() == null ? "" : response.getMatchLevel().toLowerCase();
@@ -918,6 +832,22 @@ public class AiService {
         }
     }
 
+    /** Drops sentences that mention a missing skill as something the candidate already has. */
+    private static List<String> dropClaimedSkills(List<String> sentences, ForbiddenSkillMatcher forbidden) {
+        if (sentences == null || sentences.isEmpty() || forbidden.isEmpty()) {
+            return sentences;
+        }
+        List<String> kept = new ArrayList<>(sentences.size());
+        for (String sentence : sentences) {
+            if (sentence == null || sentence.isBlank())
+                continue;
+            if (!forbidden.claimsAny(sentence.toLowerCase())) {
+                kept.add(sentence);
+            }
+        }
+        return kept;
+    }
+
     private String fallbackCareerAnswer(String question, String resume, String jd) {
         return "I'm sorry, I couldn't reach the AI service right now. Please try again later. In the meantime, focus on highlighting your matching skills in your resume.";
     }
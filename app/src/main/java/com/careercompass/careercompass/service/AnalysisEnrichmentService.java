@@ -0,0 +1,198 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import com.careercompass.careercompass.dto.EnrichmentResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progressive analysis: hands back the deterministic result immediately and
+ * runs the AI enrichment on a small bounded pool. The enriched analysis is
+ * kept for {@code analysis.enrichment.ttl-seconds} and can be polled or
+ * streamed over SSE.
+ */
+// Lazy: the enrichment pool is created by the first progressive request, not at boot
+@Lazy
+@Service
+public class AnalysisEnrichmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisEnrichmentService.class);
+
+    // SSE event carrying the final EnrichmentResult
+    public static final String SSE_EVENT = "enrichment";
+
+    static final String STATUS_NONE = "none";
+    static final String STATUS_UNAVAILABLE = "unavailable";
+
+    private final MatchService matchService;
+    private final AnalysisStore analysisStore;
+    private final ThreadPoolExecutor executor;
+    private final TtlCache<String, Enrichment> enrichments;
+    private final long sseTimeoutMs;
+
+    public AnalysisEnrichmentService(MatchService matchService,
+                                     AnalysisStore analysisStore,
+                                     @Value("${analysis.enrichment.threads:4}") int threads,
+                                     @Value("${analysis.enrichment.queue-capacity:200}") int queueCapacity,
+                                     @Value("${analysis.enrichment.ttl-seconds:600}") long ttlSeconds,
+                                     @Value("${analysis.enrichment.max-entries:5000}") int maxEntries,
+                                     @Value("${analysis.enrichment.sse-timeout-seconds:120}") long sseTimeoutSeconds) {
+        this.matchService = matchService;
+        this.analysisStore = analysisStore;
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "analysis-enrichment-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.enrichments = new TtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+        this.sseTimeoutMs = TimeUnit.SECONDS.toMillis(sseTimeoutSeconds);
+    }
+
+    /**
+     * @return the deterministic analysis; unless the level is NONE it carries an
+     *         enrichment id with status "pending", or "unavailable" when the
+     *         enrichment pool is saturated
+     */
+    public AnalysisResponse start(AnalysisRequest request, EnrichmentLevel level) {
+        AnalysisResponse base = matchService.scoreDeterministic(request);
+        if (level == EnrichmentLevel.NONE) {
+            // no AI work, but counted in analytics / percentiles like a sync NONE analysis
+            matchService.enrich(request, base, level);
+            base.setEnrichmentStatus(STATUS_NONE);
+            analysisStore.recordAnalysis(AnalysisStore.SOURCE_PROGRESSIVE, request, level, base);
+            return base;
+        }
+
+        String id = UUID.randomUUID().toString();
+        Enrichment enrichment = new Enrichment(id);
+        AnalysisResponse working = new AnalysisResponse(base);
+        enrichments.put(id, enrichment);
+        try {
+            executor.execute(() -> {
+                try {
+                    matchService.enrich(request, working, level);
+                    enrichment.complete(working);
+                    analysisStore.recordAnalysis(AnalysisStore.SOURCE_PROGRESSIVE, request, level, working);
+                } catch (Exception e) {
+                    log.warn("Enrichment {} failed: {}", id, e.getMessage());
+                    enrichment.fail("AI enrichment failed");
+                    analysisStore.recordAnalysis(AnalysisStore.SOURCE_PROGRESSIVE, request, level, base);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            enrichments.remove(id);
+            base.setEnrichmentStatus(STATUS_UNAVAILABLE);
+            analysisStore.recordAnalysis(AnalysisStore.SOURCE_PROGRESSIVE, request, level, base);
+            return base;
+        }
+
+        base.setEnrichmentId(id);
+        base.setEnrichmentStatus(EnrichmentResult.PENDING);
+        return base;
+    }
+
+    /** @return current state, or null if the id is unknown or expired */
+    public EnrichmentResult status(String id) {
+        Enrichment enrichment = enrichments.get(id);
+        return enrichment == null ? null : enrichment.snapshot();
+    }
+
+    /**
+     * @return an emitter that receives one {@value #SSE_EVENT} event once the
+     *         enrichment settles (immediately if it already has), or null if the
+     *         id is unknown or expired
+     */
+    public SseEmitter subscribe(String id) {
+        Enrichment enrichment = enrichments.get(id);
+        if (enrichment == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        enrichment.subscribe(emitter);
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Enrichment {
+        private final String id;
+        private final List<SseEmitter> subscribers = new ArrayList<>();
+        private EnrichmentResult settled;
+
+        Enrichment(String id) {
+            this.id = id;
+        }
+
+        synchronized EnrichmentResult snapshot() {
+            return settled != null ? settled : new EnrichmentResult(id, EnrichmentResult.PENDING, null, null);
+        }
+
+        void complete(AnalysisResponse result) {
+            settle(new EnrichmentResult(id, EnrichmentResult.DONE, result, null));
+        }
+
+        void fail(String error) {
+            settle(new EnrichmentResult(id, EnrichmentResult.FAILED, null, error));
+        }
+
+        void subscribe(SseEmitter emitter) {
+            EnrichmentResult result;
+            synchronized (this) {
+                result = settled;
+                if (result == null) {
+                    subscribers.add(emitter);
+                    emitter.onCompletion(() -> unsubscribe(emitter));
+                    emitter.onTimeout(() -> unsubscribe(emitter));
+                    return;
+                }
+            }
+            send(emitter, result);
+        }
+
+        private synchronized void unsubscribe(SseEmitter emitter) {
+            subscribers.remove(emitter);
+        }
+
+        private void settle(EnrichmentResult result) {
+            List<SseEmitter> waiting;
+            synchronized (this) {
+                settled = result;
+                waiting = new ArrayList<>(subscribers);
+                subscribers.clear();
+            }
+            for (SseEmitter emitter : waiting) {
+                send(emitter, result);
+            }
+        }
+
+        private static void send(SseEmitter emitter, EnrichmentResult result) {
+            try {
+                emitter.send(SseEmitter.event().name(SSE_EVENT).data(result, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // client went away
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.dto.AnalysisJob;
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous analysis jobs for bulk integrations.
+ *
+ * Jobs wait in bounded {@link PriorityLanes} and are run by
+ * {@code analysis.jobs.workers} threads through the same
+ * {@link MatchService#analyze} as the synchronous endpoint. Finished jobs stay
+ * in a TTL store for polling, without their resume and job description: a
+ * worker takes the request when it starts the job. A job may also name a
+ * loopback callback URL that receives the final {@link AnalysisJob} as a JSON
+ * POST. A full lane is reported as {@link JobQueueFullException} with a
+ * Retry-After estimate from the lane depth and recent job durations.
+ */
+// Lazy: the worker threads and queue gauges start with the first /api/jobs call, not at boot
+@Lazy
+@Service
+public class AnalysisJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisJobService.class);
+
+    private static final long MAX_RETRY_AFTER_SECONDS = 300;
+
+    private final MatchService matchService;
+    private final AnalysisStore analysisStore;
+    private final PriorityLanes<Job> lanes;
+    private final TtlCache<String, Job> jobs;
+    private final List<Thread> workers = new ArrayList<>();
+    private final RestTemplate callbackClient;
+    private final Map<JobPriority, Counter> rejected = new EnumMap<>(JobPriority.class);
+
+    // exponentially weighted average job duration, seeds the Retry-After estimate
+    private volatile double avgJobSeconds = 2.0;
+    private volatile boolean running = true;
+
+    public AnalysisJobService(MatchService matchService,
+                              AnalysisStore analysisStore,
+                              MeterRegistry registry,
+                              @Value("${analysis.jobs.workers:2}") int workerCount,
+                              @Value("${analysis.jobs.queue-capacity:200}") int queueCapacity,
+                              @Value("${analysis.jobs.ttl-seconds:3600}") long ttlSeconds,
+                              @Value("${analysis.jobs.max-entries:10000}") int maxEntries) {
+        this.matchService = matchService;
+        this.analysisStore = analysisStore;
+        this.lanes = new PriorityLanes<>(queueCapacity);
+        this.jobs = new TtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(2000);
+        factory.setReadTimeout(5000);
+        this.callbackClient = new RestTemplate(factory);
+
+        for (JobPriority priority : JobPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("careercompass.jobs.queued", lanes, l -> l.size(priority))
+                    .description("Analysis jobs waiting per priority lane")
+                    .tag("priority", tag)
+                    .register(registry);
+            rejected.put(priority, Counter.builder("careercompass.jobs.rejected")
+                    .description("Analysis jobs refused because their lane was full")
+                    .tag("priority", tag)
+                    .register(registry));
+        }
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::workLoop, "analysis-job-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * @param callbackUrl optional; must be an http(s) URL on a loopback host
+     * @throws IllegalArgumentException for a null request, an unknown enrichment
+     *                                  level or a non-loopback callback
+     * @throws JobQueueFullException    if the priority lane is full
+     */
+    public AnalysisJob submit(AnalysisRequest request, JobPriority priority, String callbackUrl) {
+        if (request == null) {
+            throw new IllegalArgumentException("AnalysisRequest cannot be null");
+        }
+        // rejected here like on /api/analyze, not as a failed job later
+        EnrichmentLevel.parse(request.getEnrichment());
+        URI callback = callbackUrl == null || callbackUrl.isBlank() ? null : loopbackCallback(callbackUrl);
+
+        Job job = new Job(UUID.randomUUID().toString(), priority, request, callback);
+        jobs.put(job.id, job);
+        if (!lanes.offer(priority, job)) {
+            jobs.remove(job.id);
+            rejected.get(priority).increment();
+            throw new JobQueueFullException(priority, retryAfterSeconds(priority));
+        }
+        return job.view();
+    }
+
+    /** @return the job, or null if unknown or expired */
+    public AnalysisJob get(String id) {
+        Job job = jobs.get(id);
+        return job == null ? null : job.view();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void workLoop() {
+        while (running) {
+            Job job;
+            try {
+                job = lanes.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (job != null) {
+                run(job);
+            }
+        }
+    }
+
+    private void run(Job job) {
+        AnalysisRequest request = job.start();
+        long start = System.nanoTime();
+        try {
+            AnalysisResponse response = matchService.analyze(request);
+            job.finish(response, null);
+            analysisStore.recordAnalysis(AnalysisStore.SOURCE_JOB, request,
+                    EnrichmentLevel.parse(request.getEnrichment()), response);
+        } catch (Exception e) {
+            log.warn("Analysis job {} failed: {}", job.id, e.getMessage());
+            job.finish(null, "Analysis failed");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        avgJobSeconds = 0.8 * avgJobSeconds + 0.2 * seconds;
+
+        if (job.callback != null) {
+            try {
+                callbackClient.postForEntity(job.callback, job.view(), Void.class);
+            } catch (Exception e) {
+                log.warn("Callback for job {} to {} failed: {}", job.id, job.callback, e.getMessage());
+            }
+        }
+    }
+
+    // time for everything ahead of a new job in its lane to drain across all workers
+    private long retryAfterSeconds(JobPriority priority) {
+        double seconds = lanes.size(priority) * avgJobSeconds / Math.max(1, workers.size());
+        return Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS, (long) Math.ceil(seconds)));
+    }
+
+    /** Callbacks may only target this machine, so a job cannot be used to reach other hosts. */
+    static URI loopbackCallback(String callbackUrl) {
+        URI uri;
+        try {
+            uri = URI.create(callbackUrl.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("callbackUrl is not a valid URL");
+        }
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase();
+        String host = uri.getHost();
+        if (!(scheme.equals("http") || scheme.equals("https")) || host == null || !isLoopback(host)) {
+            throw new IllegalArgumentException("callbackUrl must be an http(s) URL on localhost");
+        }
+        return uri;
+    }
+
+    private static boolean isLoopback(String host) {
+        if (host.equalsIgnoreCase("localhost")) {
+            return true;
+        }
+        // only IP literals are resolved, never names, so no DNS lookup happens here
+        boolean ipLiteral = host.startsWith("[") || host.chars().allMatch(c -> Character.isDigit(c) || c == '.');
+        if (!ipLiteral) {
+            return false;
+        }
+        try {
+            return InetAddress.getByName(host).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static final class Job {
+        final String id;
+        final JobPriority priority;
+        final URI callback;
+        final long submittedAt = System.currentTimeMillis();
+
+        private String status = AnalysisJob.QUEUED;
+        // until a worker starts the job; finished jobs must not keep the texts
+        private AnalysisRequest request;
+        private AnalysisResponse result;
+        private String error;
+        private Long finishedAt;
+
+        Job(String id, JobPriority priority, AnalysisRequest request, URI callback) {
+            this.id = id;
+            this.priority = priority;
+            this.request = request;
+            this.callback = callback;
+        }
+
+        /** @return the request, handed over to the worker and no longer held by the job */
+        synchronized AnalysisRequest start() {
+            status = AnalysisJob.RUNNING;
+            AnalysisRequest taken = request;
+            request = null;
+            return taken;
+        }
+
+        synchronized void finish(AnalysisResponse result, String error) {
+            this.status = error == null ? AnalysisJob.DONE : AnalysisJob.FAILED;
+            this.result = result;
+            this.error = error;
+            this.finishedAt = System.currentTimeMillis();
+        }
+
+        synchronized AnalysisJob view() {
+            AnalysisJob view = new AnalysisJob();
+            view.setId(id);
+            view.setStatus(status);
+            view.setPriority(priority.name().toLowerCase());
+            view.setSubmittedAt(submittedAt);
+            view.setFinishedAt(finishedAt);
+            view.setResult(result);
+            view.setError(error);
+            return view;
+        }
+    }
+}
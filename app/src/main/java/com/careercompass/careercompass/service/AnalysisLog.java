@@ -0,0 +1,287 @@
+package com.careercompass.careercompass.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only record log in a single file, written by {@link AnalysisStore}.
+ *
+ * Layout (big-endian ints):
+ * <pre>
+ * header   magic "CCA1", version
+ * frames   payloadLength, crc32c(payload), payload
+ * </pre>
+ *
+ * A record's offset (of its frame) is its address. Opening the log replays
+ * every intact frame. At a frame that is cut short or fails its CRC the scan
+ * resyncs to the next offset holding an intact frame, so damage in the middle
+ * of the file costs only the damaged bytes ({@link #corruptBytes}). When no
+ * intact frame follows, the damage is the tail a crash left mid-write: the
+ * file is truncated there ({@link #truncatedBytes}) and later appends continue
+ * from the last good frame. The file is locked for as long as the log is
+ * open, so a second process cannot interleave writes.
+ *
+ * Appends come from one thread; reads may come from any thread (positional
+ * reads on the shared channel).
+ */
+final class AnalysisLog implements Closeable {
+
+    static final int MAGIC = 0x43434131;    // "CCA1"
+    static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 8;
+    static final int FRAME_HEADER_BYTES = 8;
+    // far above any real analysis; a larger length is a torn or corrupt frame
+    static final int MAX_RECORD_BYTES = 4 * 1024 * 1024;
+    private static final int RESYNC_WINDOW_BYTES = 64 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final long truncatedBytes;
+    private final long corruptBytes;
+    private volatile long end;
+
+    private AnalysisLog(Path path, FileChannel channel, FileLock lock, ObjLongConsumer<byte[]> replay) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.lock = lock;
+
+        long size = channel.size();
+        if (size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(header, 0);
+            channel.force(true);
+            size = HEADER_BYTES;
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (size < HEADER_BYTES || !readFully(header, 0) || header.getInt(0) != MAGIC) {
+                throw new IOException("Not an analysis log: " + path);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported analysis log version " + header.getInt(4) + ": " + path);
+            }
+        }
+
+        long[] corrupt = new long[1];
+        long valid = scan(HEADER_BYTES, size, replay, corrupt);
+        if (valid < size) {
+            channel.truncate(valid);
+            channel.force(true);
+        }
+        this.truncatedBytes = size - valid;
+        this.corruptBytes = corrupt[0];
+        this.end = valid;
+    }
+
+    /**
+     * Opens (or creates) the log and hands every intact record to {@code replay}
+     * with its offset, in write order.
+     */
+    static AnalysisLog open(Path path, ObjLongConsumer<byte[]> replay) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new IOException("Analysis log is in use by another process: " + path);
+            }
+            return new AnalysisLog(path, channel, lock, replay);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the records as one write, followed by one fsync if asked for.
+     *
+     * @return the offset of each record
+     */
+    long[] append(List<byte[]> payloads, boolean fsync) throws IOException {
+        int bytes = 0;
+        for (byte[] payload : payloads) {
+            if (payload.length == 0 || payload.length > MAX_RECORD_BYTES) {
+                throw new IllegalArgumentException("Analysis record must be 1 to " + MAX_RECORD_BYTES
+                        + " bytes, got " + payload.length);
+            }
+            bytes += FRAME_HEADER_BYTES + payload.length;
+        }
+
+        long[] offsets = new long[payloads.size()];
+        ByteBuffer batch = ByteBuffer.allocate(bytes);
+        CRC32C crc = new CRC32C();
+        long at = end;
+        for (int i = 0; i < payloads.size(); i++) {
+            byte[] payload = payloads.get(i);
+            crc.reset();
+            crc.update(payload);
+            offsets[i] = at + batch.position();
+            batch.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        }
+        batch.flip();
+
+        // positional write at the last good end: a failed, partial write is
+        // simply overwritten by the next batch
+        writeFully(batch, at);
+        if (fsync) {
+            channel.force(false);
+        }
+        end = at + bytes;
+        return offsets;
+    }
+
+    /** @return the record at {@code offset}, as returned by {@link #append} or the replay */
+    byte[] read(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+        if (offset < HEADER_BYTES || offset + FRAME_HEADER_BYTES > end || !readFully(header, offset)) {
+            throw new IOException("No analysis record at offset " + offset);
+        }
+        byte[] payload = readPayload(header, offset, end);
+        if (payload == null) {
+            throw new IOException("Corrupt analysis record at offset " + offset);
+        }
+        return payload;
+    }
+
+    /** Hands every record written so far to {@code consumer}, in write order. */
+    void forEach(ObjLongConsumer<byte[]> consumer) throws IOException {
+        scan(HEADER_BYTES, end, consumer, new long[1]);
+    }
+
+    /** Bytes dropped from the tail when the log was opened (0 after a clean shutdown). */
+    long truncatedBytes() {
+        return truncatedBytes;
+    }
+
+    /** Damaged bytes between intact frames, found when the log was opened; skipped, not removed. */
+    long corruptBytes() {
+        return corruptBytes;
+    }
+
+    long size() {
+        return end;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            lock.release();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // -------------------------
+    // HELPERS
+    // -------------------------
+
+    // @return the offset after the last intact frame below limit; damaged
+    // stretches followed by an intact frame are skipped and added to corrupt[0]
+    private long scan(long from, long limit, ObjLongConsumer<byte[]> consumer, long[] corrupt) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+        long at = from;
+        while (at + FRAME_HEADER_BYTES <= limit) {
+            header.clear();
+            byte[] payload = readFully(header, at) ? readPayload(header, at, limit) : null;
+            if (payload == null) {
+                long next = resync(at, limit);
+                if (next < 0) {
+                    break;
+                }
+                corrupt[0] += next - at;
+                at = next;
+                continue;
+            }
+            if (consumer != null) {
+                consumer.accept(payload, at);
+            }
+            at += FRAME_HEADER_BYTES + payload.length;
+        }
+        return at;
+    }
+
+    // @return the first offset after a damaged frame at {@code from} holding an
+    // intact frame, or -1 if there is none. Reads in windows; only offsets with a
+    // plausible length have their payload read and checked.
+    private long resync(long from, long limit) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(RESYNC_WINDOW_BYTES);
+        long base = from + 1;
+        while (base + FRAME_HEADER_BYTES <= limit) {
+            window.clear();
+            window.limit((int) Math.min(RESYNC_WINDOW_BYTES, limit - base));
+            if (!readFully(window, base)) {
+                return -1;
+            }
+            for (int i = 0; i + FRAME_HEADER_BYTES <= window.limit(); i++) {
+                int length = window.getInt(i);
+                if (length < 1 || length > MAX_RECORD_BYTES || base + i + FRAME_HEADER_BYTES + length > limit) {
+                    continue;
+                }
+                if (readPayload(window.slice(i, FRAME_HEADER_BYTES), base + i, limit) != null) {
+                    return base + i;
+                }
+            }
+            // the next window starts where a header could still begin
+            base += window.limit() - FRAME_HEADER_BYTES + 1;
+        }
+        return -1;
+    }
+
+    // null if the frame is empty, cut short by limit or fails its CRC
+    private byte[] readPayload(ByteBuffer header, long at, long limit) throws IOException {
+        int length = header.getInt(0);
+        if (length < 1 || length > MAX_RECORD_BYTES || at + FRAME_HEADER_BYTES + length > limit) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        if (!readFully(payload, at + FRAME_HEADER_BYTES)) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload.array());
+        return (int) crc.getValue() == header.getInt(4) ? payload.array() : null;
+    }
+
+    private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, at);
+            if (read < 0) {
+                return false;
+            }
+            at += read;
+        }
+        return true;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+}
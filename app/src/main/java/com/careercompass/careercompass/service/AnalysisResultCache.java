@@ -0,0 +1,260 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Finished analyses keyed by a SHA-256 of the normalized request (job
+ * description, resume text and enrichment level).
+ *
+ * Scoring and skill extraction are deterministic, so a repeat of the same
+ * resume + JD pair is answered from here without re-running the pipeline or
+ * Groq. Identical requests that arrive while the first is still running wait
+ * for its result instead of starting their own. Each entry carries a strong
+ * ETag: a hash of the serialized response, so it changes whenever a
+ * regenerated analysis differs, also across restarts. The serialized response
+ * is also gzipped once on the way in; Tomcat will not compress a response
+ * carrying a strong ETag, so the controller serves those bytes itself.
+ *
+ * Normalization only removes differences the pipeline cannot see: line-ending
+ * style, trailing spaces on a line and surrounding blank space.
+ */
+@Service
+public class AnalysisResultCache {
+
+    // X-Analysis-Cache values
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String BYPASS = "bypass";
+
+    // bump when the pipeline changes what a request produces
+    private static final String KEY_VERSION = "v1";
+
+    // smaller bodies are not worth a gzip frame
+    static final int GZIP_MIN_BYTES = 512;
+
+    /**
+     * A served analysis, its ETag and where it came from (hit / miss / bypass).
+     * {@code gzipBody} is the serialized analysis, gzipped once when it was
+     * stored (null if too small to bother); it has its own strong ETag because
+     * it is a different representation. {@code key} is the request's cache key,
+     * so callers that also need it (the {@link AnalysisStore}) do not hash the
+     * texts again.
+     */
+    public record Result(String key, AnalysisResponse response, String etag, byte[] gzipBody, String gzipEtag,
+                         String cacheStatus) {
+
+        private Result(String key, Entry entry, String cacheStatus) {
+            this(key, entry.response(), entry.etag(), entry.gzipBody(),
+                    entry.gzipBody() == null ? null : AnalysisResultCache.gzipEtag(entry.etag()), cacheStatus);
+        }
+    }
+
+    private record Entry(AnalysisResponse response, String etag, byte[] gzipBody) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final TtlCache<String, Entry> entries;
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> lookups = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public AnalysisResultCache(ObjectMapper objectMapper,
+                               MeterRegistry registry,
+                               @Value("${analysis.cache.enabled:true}") boolean enabled,
+                               @Value("${analysis.cache.ttl-seconds:3600}") long ttlSeconds,
+                               @Value("${analysis.cache.max-entries:1000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.entries = new TtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    /**
+     * @param regenerate skip the lookup, run the pipeline and replace the stored entry
+     *                   (with the cache disabled every request behaves this way)
+     * @param pipeline   produces the analysis on a miss
+     */
+    public Result analyze(AnalysisRequest request, EnrichmentLevel level, boolean regenerate,
+                          Supplier<AnalysisResponse> pipeline) {
+        String key = key(request, level);
+        if (regenerate || !enabled) {
+            Entry fresh = compute(pipeline);
+            if (enabled) {
+                entries.put(key, fresh);
+            }
+            count(BYPASS);
+            return new Result(key, fresh, BYPASS);
+        }
+
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            count(HIT);
+            return new Result(key, cached, HIT);
+        }
+
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            count(HIT);
+            Entry shared = await(running);
+            return new Result(key, shared, HIT);
+        }
+
+        try {
+            Entry fresh = compute(pipeline);
+            entries.put(key, fresh);
+            mine.complete(fresh);
+            count(MISS);
+            return new Result(key, fresh, MISS);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return true if an {@code If-None-Match} header value names {@code etag}
+     *         (weak comparison, as RFC 9110 prescribes for this header)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // -------------------------
+    // KEYS AND TAGS
+    // -------------------------
+
+    static String key(AnalysisRequest request, EnrichmentLevel level) {
+        return key(request.getJobDescription(), request.getResumeText(), level);
+    }
+
+    static String key(String jobDescription, String resumeText, EnrichmentLevel level) {
+        MessageDigest digest = sha256();
+        digest.update((KEY_VERSION + '\n' + level.name() + '\n').getBytes(StandardCharsets.UTF_8));
+        digest.update(normalize(jobDescription).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);    // keeps "ab" + "c" apart from "a" + "bc"
+        digest.update(normalize(resumeText).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        int lineStart = 0;
+        int n = text.length();
+        for (int i = 0; i <= n; i++) {
+            char c = i < n ? text.charAt(i) : '\n';
+            if (c == '\r' || c == '\n') {
+                int end = i;
+                while (end > lineStart && Character.isWhitespace(text.charAt(end - 1))) {
+                    end--;
+                }
+                sb.append(text, lineStart, end).append('\n');
+                if (c == '\r' && i + 1 < n && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                lineStart = i + 1;
+            }
+        }
+        return sb.toString().strip();
+    }
+
+    private Entry compute(Supplier<AnalysisResponse> pipeline) {
+        AnalysisResponse response = pipeline.get();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize analysis for its ETag", e);
+        }
+        byte[] digest = sha256().digest(json);
+        String etag = '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        return new Entry(response, etag, json.length < GZIP_MIN_BYTES ? null : gzip(json));
+    }
+
+    static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void count(String result) {
+        lookups.computeIfAbsent(result, r -> Counter.builder("careercompass.analysis.cache")
+                .description("Synchronous analyze requests by cache outcome")
+                .tag("result", r)
+                .register(registry)).increment();
+    }
+}
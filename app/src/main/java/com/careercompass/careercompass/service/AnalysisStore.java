@@ -0,0 +1,369 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import com.careercompass.careercompass.dto.QuestionRequest;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Keeps every analysis and answer in an embedded, append-only
+ * {@link AnalysisLog}: request hashes (never the texts), scores, skills and
+ * AI outputs, for history, analytics and dedup.
+ *
+ * Recording hashes the inputs and snapshots the response into a small
+ * {@link StoredAnalysis} on the request thread, then offers that (never the
+ * texts) to a bounded queue, so the request path never waits on disk and a
+ * backlog holds no resumes. One writer thread drains the queue in batches of
+ * up to {@code analysis.store.batch-size}: serialization, one write and one
+ * fsync per batch. When the queue is full the record is dropped and counted
+ * rather than blocking the request. On startup the log is replayed to
+ * rebuild the key index; a record that no longer decodes is skipped and
+ * counted. The index holds the {@code analysis.store.max-keys} most recently
+ * written keys; older keys stay in the log (which is never compacted) but
+ * {@link #latest} no longer finds them.
+ *
+ * careercompass.analysis.store{outcome}  – records written / dropped (queue full) / failed (I/O)
+ *                                          / unreadable (skipped on replay)
+ * careercompass.analysis.store.queue     – records waiting for the writer
+ */
+@Service
+public class AnalysisStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisStore.class);
+
+    // StoredAnalysis.source values
+    public static final String SOURCE_ANALYZE = "analyze";
+    public static final String SOURCE_PROGRESSIVE = "progressive";
+    public static final String SOURCE_JOB = "job";
+    public static final String SOURCE_ASK = "ask";
+
+    private static final String ASK_KEY_VERSION = "ask-v1";
+
+    /**
+     * One stored analysis or answer. {@code key} is the {@link AnalysisResultCache}
+     * key of the request (or a hash of the question and its context for
+     * {@code ask}), so repeats of the same inputs share it.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record StoredAnalysis(String source, long at, String key, String enrichment,
+                                 Double score, String matchLevel,
+                                 List<String> jdSkills, List<String> resumeSkills,
+                                 List<String> matchedSkills, List<String> missingSkills,
+                                 String tip, String summary, List<String> strengths,
+                                 List<String> areasForImprovement, List<String> recommendations,
+                                 String answer) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean fsync;
+    private final int batchSize;
+    private final BlockingQueue<StoredAnalysis> queue;
+    private final AnalysisLog analysisLog;
+    private final Thread writer;
+    // key -> offset of its latest record, least recently written first; guarded by itself
+    private final Map<String, Long> latestByKey;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter unreadable;
+
+    // let flush() wait for the writer; settled is guarded by this
+    private final AtomicLong enqueued = new AtomicLong();
+    private long settled;
+    private volatile boolean running = true;
+
+    public AnalysisStore(ObjectMapper objectMapper,
+                         MeterRegistry registry,
+                         @Value("${analysis.store.enabled:true}") boolean enabled,
+                         @Value("${analysis.store.path:data/analyses.log}") String path,
+                         @Value("${analysis.store.queue-capacity:10000}") int queueCapacity,
+                         @Value("${analysis.store.batch-size:256}") int batchSize,
+                         @Value("${analysis.store.fsync:true}") boolean fsync,
+                         @Value("${analysis.store.max-keys:100000}") int maxKeys) {
+        // the store's own mapper: pretty-printing or other API settings must not change the log
+        this.objectMapper = objectMapper.copy();
+        this.enabled = enabled;
+        this.fsync = fsync;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("analysis.store.max-keys must be at least 1");
+        }
+        this.latestByKey = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxKeys;
+            }
+        };
+
+        this.written = outcome(registry, "written");
+        this.dropped = outcome(registry, "dropped");
+        this.failed = outcome(registry, "failed");
+        this.unreadable = outcome(registry, "unreadable");
+        Gauge.builder("careercompass.analysis.store.queue", queue, BlockingQueue::size)
+                .description("Analysis records waiting for the store writer")
+                .register(registry);
+
+        if (!enabled) {
+            this.analysisLog = null;
+            this.writer = null;
+            return;
+        }
+
+        try {
+            this.analysisLog = AnalysisLog.open(Path.of(path), (payload, offset) -> index(decode(payload), offset));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open analysis store " + path, e);
+        }
+        if (analysisLog.truncatedBytes() > 0) {
+            log.warn("Analysis store {}: dropped {} bytes of an interrupted write", path, analysisLog.truncatedBytes());
+        }
+        if (analysisLog.corruptBytes() > 0) {
+            log.warn("Analysis store {}: skipped {} corrupt bytes between intact records", path,
+                    analysisLog.corruptBytes());
+        }
+        if (unreadable.count() > 0) {
+            log.warn("Analysis store {}: skipped {} records that no longer decode", path, (long) unreadable.count());
+        }
+        log.info("Analysis store {}: {} keys, {} bytes", path, keys(), analysisLog.size());
+
+        this.writer = new Thread(this::drain, "analysis-store-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Queues an analysis; never blocks. */
+    public void recordAnalysis(String source, AnalysisRequest request, EnrichmentLevel level, AnalysisResponse response) {
+        if (!enabled || response == null) {
+            return;
+        }
+        recordAnalysis(source, AnalysisResultCache.key(request, level), level, response);
+    }
+
+    /**
+     * Queues an analysis whose {@link AnalysisResultCache} key the caller already
+     * has, so the texts are not normalized and hashed again; never blocks.
+     */
+    public void recordAnalysis(String source, String key, EnrichmentLevel level, AnalysisResponse response) {
+        if (!enabled || response == null) {
+            return;
+        }
+        StoredAnalysis record = new StoredAnalysis(source, System.currentTimeMillis(), key,
+                level.name().toLowerCase(), response.getScore(), response.getMatchLevel(),
+                copy(response.getJdSkills()), copy(response.getResumeSkills()),
+                copy(response.getMatchedSkills()), copy(response.getMissingSkills()),
+                response.getTip(), response.getSummary(), copy(response.getStrengths()),
+                copy(response.getAreasForImprovement()), copy(response.getRecommendations()), null);
+        offer(record);
+    }
+
+    /** Queues an {@code /api/ask} answer; never blocks. */
+    public void recordAnswer(QuestionRequest request, String answer) {
+        if (!enabled) {
+            return;
+        }
+        String key = askKey(request.getQuestion(), request.getResumeText(), request.getJobDescription());
+        StoredAnalysis record = new StoredAnalysis(SOURCE_ASK, System.currentTimeMillis(), key, null,
+                null, null, null, null, null, null, null, null, null, null, null, answer);
+        offer(record);
+    }
+
+    /** @return the most recent stored record for a key, or null (also if it no longer decodes) */
+    public StoredAnalysis latest(String key) {
+        Long offset;
+        synchronized (latestByKey) {
+            offset = latestByKey.get(key);
+        }
+        if (offset == null) {
+            return null;
+        }
+        try {
+            return decode(analysisLog.read(offset));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Replays every stored record, oldest first (records still queued are not included). */
+    public void forEach(Consumer<StoredAnalysis> consumer) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            analysisLog.forEach((payload, offset) -> {
+                StoredAnalysis record = decode(payload);
+                if (record != null) {
+                    consumer.accept(record);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Waits until everything queued before this call has been written (or has failed). */
+    boolean flush(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long target = enqueued.get();
+        synchronized (this) {
+            while (settled < target) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            }
+        }
+        return true;
+    }
+
+    int keys() {
+        synchronized (latestByKey) {
+            return latestByKey.size();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            analysisLog.close();
+        } catch (IOException e) {
+            log.warn("Closing analysis store failed: {}", e.getMessage());
+        }
+    }
+
+    // -------------------------
+    // WRITER
+    // -------------------------
+
+    private void offer(StoredAnalysis record) {
+        if (queue.offer(record)) {
+            enqueued.incrementAndGet();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        List<StoredAnalysis> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                StoredAnalysis first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // shutdown: keep draining what is left
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<StoredAnalysis> batch) {
+        List<byte[]> payloads = new ArrayList<>(batch.size());
+        try {
+            for (StoredAnalysis record : batch) {
+                payloads.add(objectMapper.writeValueAsBytes(record));
+            }
+            long[] offsets = analysisLog.append(payloads, fsync);
+            for (int i = 0; i < offsets.length; i++) {
+                index(batch.get(i), offsets[i]);
+            }
+            written.increment(batch.size());
+        } catch (IOException | RuntimeException e) {
+            log.error("Writing {} analysis records failed: {}", batch.size(), e.getMessage());
+            failed.increment(batch.size());
+        }
+        synchronized (this) {
+            settled += batch.size();
+            notifyAll();
+        }
+    }
+
+    private void index(StoredAnalysis record, long offset) {
+        if (record == null || record.key() == null) {
+            return;
+        }
+        synchronized (latestByKey) {
+            // re-inserted, so the map stays in write order and the eldest key goes first
+            latestByKey.remove(record.key());
+            latestByKey.put(record.key(), offset);
+        }
+    }
+
+    static String askKey(String question, String resumeText, String jobDescription) {
+        MessageDigest digest = AnalysisResultCache.sha256();
+        digest.update((ASK_KEY_VERSION + '\n').getBytes(StandardCharsets.UTF_8));
+        for (String part : new String[] { question, resumeText, jobDescription }) {
+            digest.update(AnalysisResultCache.normalize(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // null (and counted) for an intact frame that is not a StoredAnalysis, e.g. written by a newer version
+    private StoredAnalysis decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, StoredAnalysis.class);
+        } catch (IOException e) {
+            unreadable.increment();
+            log.debug("Skipping unreadable analysis record: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<String> copy(List<String> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("careercompass.analysis.store")
+                .description("Analysis records by store outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
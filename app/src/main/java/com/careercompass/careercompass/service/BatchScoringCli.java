@@ -0,0 +1,300 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.CareerCompassApplication;
+import com.careercompass.careercompass.config.MatchEngineConfig;
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import com.careercompass.careercompass.engine.JobRequirements;
+import com.careercompass.careercompass.engine.MatchEngine;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline rescoring of resume / JD pairs with the rule engine, without the web
+ * server and without HTTP:
+ *
+ * <pre>
+ * java -cp target/faststart/career-compass-0.0.1-SNAPSHOT.jar \
+ *      com.careercompass.careercompass.service.BatchScoringCli score --input=pairs.jsonl --output=scores.jsonl
+ * </pre>
+ *
+ * Input is one JSON object per line ({@code id}, {@code jobDescription},
+ * {@code resumeText}; other fields are ignored). Output has one line per input
+ * line, in input order: the id, the line number and the score fields of
+ * {@code /api/analyze}, or an {@code error}. {@code -} means stdin / stdout.
+ *
+ * Lines are scored on {@code --threads} workers (default: all cores) through a
+ * window of a few lines per worker, so memory does not depend on the file
+ * size. Job descriptions are usually shared by many pairs, so their skills are
+ * extracted once and kept in a small cache. Progress goes to stderr every
+ * {@code --progress-seconds}.
+ *
+ * {@code --scoring=graph} gives partial credit through the skill graph
+ * ({@code --skill-graph=FILE}, default the built-in one), as with
+ * {@code match.scoring=graph} in the app. {@code --jd-weighting=true} weights
+ * JD skills by section, mentions and title ({@code match.jd-weighting}).
+ *
+ * {@code --enrichment=tip|full} adds the AI stages; that starts a non-web
+ * Spring context for the Groq client (needs {@code GROQ_API_KEY}) and is slow,
+ * so it is off by default.
+ */
+public final class BatchScoringCli {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader INPUT_READER = MAPPER.readerFor(Pair.class);
+    private static final ObjectWriter OUTPUT_WRITER = MAPPER.writerFor(Scored.class);
+
+    // lines in flight per worker; enough to hide uneven line lengths
+    private static final int WINDOW_PER_THREAD = 8;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Pair(String id, String jobDescription, String resumeText) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Scored(String id, long line, Double score, String matchLevel, List<String> jdSkills,
+                  List<String> resumeSkills, List<String> matchedSkills, List<String> missingSkills,
+                  String tip, String error) {
+
+        static Scored of(String id, long line, AnalysisResponse r) {
+            return new Scored(id, line, r.getScore(), r.getMatchLevel(), r.getJdSkills(), r.getResumeSkills(),
+                    r.getMatchedSkills(), r.getMissingSkills(), r.getTip(), null);
+        }
+
+        static Scored failed(String id, long line, String error) {
+            return new Scored(id, line, null, null, null, null, null, null, null, error);
+        }
+    }
+
+    record Summary(long lines, long errors, long elapsedNanos) {
+
+        double perSecond() {
+            return elapsedNanos == 0 ? 0 : lines / (elapsedNanos / 1e9);
+        }
+    }
+
+    /** Scores one pair; the rule engine by default, the full pipeline with enrichment. */
+    interface Scorer {
+        AnalysisResponse score(String jobDescription, String resumeText);
+    }
+
+    private BatchScoringCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !"score".equals(args[0])) {
+            System.err.println("usage: BatchScoringCli score --input=FILE|- --output=FILE|- "
+                    + "[--threads=N] [--scoring=exact|graph] [--skill-graph=FILE] [--jd-weighting=true|false] "
+                    + "[--enrichment=none|tip|full] [--progress-seconds=N]");
+            System.exit(2);
+        }
+        Map<String, String> opts = parseArgs(args);
+        int threads = Integer.parseInt(opts.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long progressSeconds = Long.parseLong(opts.getOrDefault("progress-seconds", "5"));
+        EnrichmentLevel level = EnrichmentLevel.parse(opts.getOrDefault("enrichment", "none"));
+        String scoring = opts.getOrDefault("scoring", "exact");
+        String skillGraph = opts.getOrDefault("skill-graph", "");
+        boolean jdWeighting = Boolean.parseBoolean(opts.getOrDefault("jd-weighting", "false"));
+
+        ConfigurableApplicationContext context = null;
+        Scorer scorer;
+        if (level == EnrichmentLevel.NONE) {
+            scorer = ruleEngine(MatchEngineConfig.create(scoring, skillGraph, jdWeighting));
+        } else {
+            SpringApplicationBuilder app = new SpringApplicationBuilder(CareerCompassApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties("spring.main.banner-mode=off", "match.scoring=" + scoring,
+                            "match.skill-graph=" + skillGraph, "match.jd-weighting=" + jdWeighting,
+                            // offline runs are not analyses to keep, and must not touch a server's log or score snapshots
+                            "analysis.store.enabled=false", "analytics.scores.snapshot-dir=");
+            if ("-".equals(opts.getOrDefault("output", "-"))) {
+                // results go to stdout, so keep the log off it
+                app.properties("logging.pattern.console=");
+            }
+            context = app.run();
+            scorer = enriched(context.getBean(MatchService.class), level);
+        }
+
+        try (BufferedReader in = open(opts.getOrDefault("input", "-"));
+             Writer out = create(opts.getOrDefault("output", "-"))) {
+            Summary summary = score(in, out, scorer, threads, progressSeconds, System.err);
+            System.err.printf(Locale.ROOT, "Scored %d lines (%d errors) in %.1fs, %.0f lines/s on %d threads%n",
+                    summary.lines(), summary.errors(), summary.elapsedNanos() / 1e9, summary.perSecond(), threads);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    // -------------------------
+    // SCORING
+    // -------------------------
+
+    /**
+     * Reads pairs from {@code in} and writes one result line per input line to
+     * {@code out}, in input order.
+     */
+    static Summary score(BufferedReader in, Writer out, Scorer scorer, int threads, long progressSeconds,
+                         PrintStream progress) throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "batch-score");
+            t.setDaemon(true);
+            return t;
+        });
+        ArrayDeque<Future<Scored>> window = new ArrayDeque<>();
+        int windowSize = threads * WINDOW_PER_THREAD;
+        long start = System.nanoTime();
+        long nextProgress = start + TimeUnit.SECONDS.toNanos(progressSeconds);
+        long lineNo = 0;
+        long lines = 0;
+        long errors = 0;
+        try {
+            String text;
+            while ((text = in.readLine()) != null) {
+                lineNo++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                lines++;
+                long number = lineNo;
+                String line = text;
+                window.add(workers.submit(() -> scoreLine(line, number, scorer)));
+                if (window.size() >= windowSize) {
+                    errors += write(out, window.poll());
+                }
+                if (progressSeconds > 0 && System.nanoTime() >= nextProgress) {
+                    double elapsed = (System.nanoTime() - start) / 1e9;
+                    progress.printf(Locale.ROOT, "... %d lines read, %.0f lines/s%n", lines, lines / elapsed);
+                    nextProgress += TimeUnit.SECONDS.toNanos(progressSeconds);
+                }
+            }
+            while (!window.isEmpty()) {
+                errors += write(out, window.poll());
+            }
+            out.flush();
+        } finally {
+            workers.shutdownNow();
+        }
+        return new Summary(lines, errors, System.nanoTime() - start);
+    }
+
+    private static Scored scoreLine(String line, long lineNo, Scorer scorer) {
+        Pair pair;
+        try {
+            pair = INPUT_READER.readValue(line);
+        } catch (JsonProcessingException e) {
+            return Scored.failed(null, lineNo, "Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (pair.jobDescription() == null || pair.resumeText() == null) {
+            return Scored.failed(pair.id(), lineNo, "jobDescription and resumeText are required");
+        }
+        try {
+            return Scored.of(pair.id(), lineNo, scorer.score(pair.jobDescription(), pair.resumeText()));
+        } catch (RuntimeException e) {
+            return Scored.failed(pair.id(), lineNo, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /** @return 1 if the line was an error, else 0 */
+    private static int write(Writer out, Future<Scored> next) throws IOException {
+        Scored scored;
+        try {
+            scored = next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while scoring", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scoring task failed", e.getCause());
+        }
+        out.write(OUTPUT_WRITER.writeValueAsString(scored));
+        out.write('\n');
+        return scored.error() == null ? 0 : 1;
+    }
+
+    static Scorer ruleEngine(MatchEngine engine) {
+        TtlCache<String, JobRequirements> jdCache = new TtlCache<>(Duration.ofDays(1), 1024);
+        return (jobDescription, resumeText) -> {
+            JobRequirements jd = jdCache.get(jobDescription);
+            if (jd == null) {
+                jd = engine.requirementsForScoring(jobDescription);
+                jdCache.put(jobDescription, jd);
+            }
+            List<String> resumeSkills = engine.extractSkills(resumeText);
+            return MatchService.toResponse(engine.match(jd, resumeSkills));
+        };
+    }
+
+    private static Scorer enriched(MatchService matchService, EnrichmentLevel level) {
+        return (jobDescription, resumeText) -> {
+            AnalysisRequest request = new AnalysisRequest();
+            request.setJobDescription(jobDescription);
+            request.setResumeText(resumeText);
+            AnalysisResponse response = matchService.scoreDeterministic(request);
+            matchService.enrich(request, response, level);
+            return response;
+        };
+    }
+
+    // -------------------------
+    // HELPERS
+    // -------------------------
+
+    private static BufferedReader open(String input) throws IOException {
+        return "-".equals(input)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(input), StandardCharsets.UTF_8);
+    }
+
+    private static Writer create(String output) throws IOException {
+        return "-".equals(output)
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8);
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq == -1) {
+                opts.put(arg.substring(2), "true");
+            } else {
+                opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return opts;
+    }
+}
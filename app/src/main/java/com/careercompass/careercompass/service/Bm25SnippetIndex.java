@@ -0,0 +1,150 @@
+package com.careercompass.careercompass.service;
+
+import java.util.*;
+
+/**
+ * BM25 ranking over each snippet's topic and advice text.
+ *
+ * Term statistics are computed once at startup and kept in primitive arrays:
+ * term-major postings (CSR layout: {@code termStart}, {@code postingDocs},
+ * {@code postingTfs}), per-term IDF and the per-document length normalisation
+ * {@code k1 * (1 - b + b * dl / avgdl)}. A query only walks the postings of its
+ * own terms.
+ *
+ * Query terms come from the question, the missing skills and the role focus,
+ * weighted 0.75 / 1.0 / 0.5 (the same 3:4:2 ratio the keyword ranker uses).
+ */
+class Bm25SnippetIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Topic words describe the snippet best; count them twice
+    private static final int TOPIC_BOOST = 2;
+
+    static final float QUESTION_WEIGHT = 0.75f;
+    static final float SKILL_WEIGHT = 1.0f;
+    static final float ROLE_WEIGHT = 0.5f;
+
+    private final List<KnowledgeSnippet> snippets;
+    private final Map<String, Integer> termIds;
+    private final float[] idf;
+    private final int[] termStart;    // postings of term t are [termStart[t], termStart[t + 1])
+    private final int[] postingDocs;
+    private final int[] postingTfs;
+    private final float[] docNorm;
+
+    Bm25SnippetIndex(List<KnowledgeSnippet> snippets) {
+        this.snippets = snippets;
+        int n = snippets.size();
+
+        // 1) per-document term counts
+        termIds = new HashMap<>();
+        List<Map<Integer, Integer>> docTerms = new ArrayList<>(n);
+        int[] docLength = new int[n];
+        long totalLength = 0;
+
+        for (int d = 0; d < n; d++) {
+            KnowledgeSnippet s = snippets.get(d);
+            Map<Integer, Integer> counts = new HashMap<>();
+            for (String token : SnippetTokenizer.tokenize(s.getTopic())) {
+                counts.merge(termId(token), TOPIC_BOOST, Integer::sum);
+                docLength[d] += TOPIC_BOOST;
+            }
+            for (String token : SnippetTokenizer.tokenize(s.getAdviceText())) {
+                counts.merge(termId(token), 1, Integer::sum);
+                docLength[d]++;
+            }
+            docTerms.add(counts);
+            totalLength += docLength[d];
+        }
+
+        // 2) document frequencies -> CSR offsets
+        int termCount = termIds.size();
+        int[] df = new int[termCount];
+        for (Map<Integer, Integer> counts : docTerms) {
+            for (int t : counts.keySet()) {
+                df[t]++;
+            }
+        }
+
+        termStart = new int[termCount + 1];
+        for (int t = 0; t < termCount; t++) {
+            termStart[t + 1] = termStart[t] + df[t];
+        }
+
+        // 3) fill postings (documents visited in order, so each posting list is sorted)
+        postingDocs = new int[termStart[termCount]];
+        postingTfs = new int[termStart[termCount]];
+        int[] fill = Arrays.copyOf(termStart, termCount);
+        for (int d = 0; d < n; d++) {
+            for (Map.Entry<Integer, Integer> e : docTerms.get(d).entrySet()) {
+                int slot = fill[e.getKey()]++;
+                postingDocs[slot] = d;
+                postingTfs[slot] = e.getValue();
+            }
+        }
+
+        idf = new float[termCount];
+        for (int t = 0; t < termCount; t++) {
+            idf[t] = (float) Math.log(1.0 + (n - df[t] + 0.5) / (df[t] + 0.5));
+        }
+
+        float avgdl = n == 0 ? 0f : (float) totalLength / n;
+        docNorm = new float[n];
+        for (int d = 0; d < n; d++) {
+            docNorm[d] = avgdl == 0f ? K1 : K1 * (1 - B + B * docLength[d] / avgdl);
+        }
+    }
+
+    private int termId(String token) {
+        return termIds.computeIfAbsent(token, k -> termIds.size());
+    }
+
+    /**
+     * @return up to {@code limit} snippets with a positive BM25 score, best first
+     *         (ties keep knowledge-base order)
+     */
+    List<KnowledgeSnippet> search(String question, Collection<String> missingSkills, String role, int limit) {
+        Map<Integer, Float> queryWeights = new HashMap<>();
+        addQueryTerms(queryWeights, question, QUESTION_WEIGHT);
+        if (missingSkills != null) {
+            for (String skill : missingSkills) {
+                addQueryTerms(queryWeights, skill, SKILL_WEIGHT);
+            }
+        }
+        addQueryTerms(queryWeights, role, ROLE_WEIGHT);
+
+        if (queryWeights.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        float[] scores = new float[snippets.size()];
+        int[] touched = new int[snippets.size()];
+        int touchedCount = 0;
+
+        for (Map.Entry<Integer, Float> e : queryWeights.entrySet()) {
+            int t = e.getKey();
+            float termWeight = e.getValue() * idf[t];
+            for (int p = termStart[t]; p < termStart[t + 1]; p++) {
+                int d = postingDocs[p];
+                int tf = postingTfs[p];
+                if (scores[d] == 0f) {
+                    touched[touchedCount++] = d;
+                }
+                scores[d] += termWeight * tf * (K1 + 1) / (tf + docNorm[d]);
+            }
+        }
+
+        return TopSnippets.select(snippets, scores, touched, touchedCount, limit);
+    }
+
+    private void addQueryTerms(Map<Integer, Float> weights, String text, float weight) {
+        for (String token : SnippetTokenizer.tokenize(text)) {
+            Integer t = termIds.get(token);
+            if (t != null) {
+                weights.merge(t, weight, Float::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.dto.BulkImportSummary;
+import com.careercompass.careercompass.dto.BulkResumeResult;
+import com.careercompass.careercompass.engine.JobRequirements;
+import com.careercompass.careercompass.engine.MatchEngine;
+import com.careercompass.careercompass.engine.MatchResult;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Bulk resume import: PDFs, or ZIP archives of PDFs, are text-extracted on a
+ * small shared pool, run through {@link MatchEngine#extractSkills} and, when
+ * a job description is given, scored against it.
+ *
+ * Archives are read entry by entry straight from the upload stream, never
+ * unpacked as a whole. At most {@code bulk.import.max-in-flight} files of one
+ * batch are held at a time (each at most {@code bulk.import.max-entry-bytes}),
+ * and the next entry is only read once a result has been handed on, so memory
+ * stays bounded by those two settings however large the archive is. Results
+ * come back in completion order; a file that cannot be read becomes a
+ * "failed" line and the batch carries on.
+ */
+// Lazy: the import pool is created by the first bulk import, not at boot
+@Lazy
+@Service
+public class BulkResumeImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkResumeImporter.class);
+
+    private static final String PIPELINE = "bulk";
+
+    private static final byte[] PDF_MAGIC = { '%', 'P', 'D', 'F', '-' };
+    private static final byte[] ZIP_MAGIC = { 'P', 'K', 3, 4 };
+
+    /** Receives each line of the import as soon as it is ready. */
+    public interface ResultSink {
+        void file(BulkResumeResult result) throws IOException;
+    }
+
+    private final MatchEngine engine;
+    private final PipelineMetrics metrics;
+    private final ThreadPoolExecutor executor;
+    private final int maxInFlight;
+    private final int maxEntryBytes;
+    private final int maxFiles;
+
+    public BulkResumeImporter(MatchEngine engine,
+                              PipelineMetrics metrics,
+                              @Value("${bulk.import.threads:2}") int threads,
+                              @Value("${bulk.import.max-in-flight:4}") int maxInFlight,
+                              @Value("${bulk.import.max-entry-bytes:10485760}") int maxEntryBytes,
+                              @Value("${bulk.import.max-files:2000}") int maxFiles) {
+        this.engine = engine;
+        this.metrics = metrics;
+        this.maxInFlight = maxInFlight;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxFiles = maxFiles;
+        AtomicInteger threadNo = new AtomicInteger();
+        // unbounded queue, but each batch queues at most maxInFlight files and the
+        // bulk bulkhead limits the number of batches
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "bulk-import-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Starts a batch; add uploads to it, then {@link Batch#finish()} it.
+     *
+     * @param jobDescription optional; when blank files are only skill-extracted
+     */
+    public Batch open(String jobDescription, ResultSink sink) {
+        return new Batch(jobDescription, sink);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * One import request. Not thread-safe: uploads are added and results are
+     * handed to the sink on the caller's thread.
+     */
+    public final class Batch implements AutoCloseable {
+
+        private final ResultSink sink;
+        private final JobRequirements jd;
+        private final CompletionService<BulkResumeResult> completed = new ExecutorCompletionService<>(executor);
+        private final Set<Future<BulkResumeResult>> pending = new HashSet<>();
+        private final BulkImportSummary summary = new BulkImportSummary();
+        private final long start = System.nanoTime();
+        private int nextIndex;
+
+        private Batch(String jobDescription, ResultSink sink) {
+            this.sink = sink;
+            this.jd = jobDescription == null || jobDescription.isBlank()
+                    ? null : engine.requirementsForScoring(jobDescription);
+        }
+
+        /**
+         * Reads one upload: a PDF, or a ZIP whose PDF entries are read one by one.
+         * Detection is by content, so the upload's name does not matter.
+         */
+        public void add(String name, InputStream upload) throws IOException {
+            if (summary.isTruncated()) {
+                return;
+            }
+            BufferedInputStream in = new BufferedInputStream(upload);
+            if (!startsWith(in, ZIP_MAGIC)) {
+                addFile(name, in);
+                return;
+            }
+            try {
+                addArchive(in);
+            } catch (ZipException | EOFException e) {
+                // the entries read so far stand; the rest of this archive is lost
+                log.debug("Bulk import: bad archive {}: {}", name, e.toString());
+                emit(rejected(nextIndex++, name, BulkResumeResult.FAILED, "Corrupt or truncated ZIP archive"));
+            }
+        }
+
+        private void addArchive(InputStream in) throws IOException {
+            ZipInputStream zip = new ZipInputStream(in);
+            ZipEntry entry;
+            while (!summary.isTruncated() && (entry = zip.getNextEntry()) != null) {
+                if (!entry.isDirectory() && !isJunk(entry.getName())) {
+                    addFile(entry.getName(), zip);
+                }
+                zip.closeEntry();
+            }
+        }
+
+        private void addFile(String name, InputStream in) throws IOException {
+            if (nextIndex >= maxFiles) {
+                summary.setTruncated(true);
+                return;
+            }
+            // read only once there is room, so no more than maxInFlight files are held
+            while (pending.size() >= maxInFlight) {
+                emit(takeNext());
+            }
+            byte[] content = readAtMost(in, maxEntryBytes);
+            int index = nextIndex++;
+            if (content == null) {
+                emit(rejected(index, name, BulkResumeResult.FAILED,
+                        "File is larger than " + maxEntryBytes / (1024 * 1024) + " MB"));
+            } else if (!startsWith(content, PDF_MAGIC)) {
+                emit(rejected(index, name, BulkResumeResult.SKIPPED, "Not a PDF file"));
+            } else {
+                pending.add(completed.submit(() -> process(index, name, content)));
+            }
+            drainDone();
+        }
+
+        /** Waits for the files still being processed and returns the closing summary. */
+        public BulkImportSummary finish() throws IOException {
+            while (!pending.isEmpty()) {
+                emit(takeNext());
+            }
+            summary.setFiles(nextIndex);
+            summary.setJdSkills(jd == null ? null : jd.names());
+            summary.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return summary;
+        }
+
+        /** Cancels whatever is still queued, e.g. after the client went away. */
+        @Override
+        public void close() {
+            pending.forEach(f -> f.cancel(true));
+            pending.clear();
+        }
+
+        private void drainDone() throws IOException {
+            Future<BulkResumeResult> done;
+            while ((done = completed.poll()) != null) {
+                pending.remove(done);
+                emit(result(done));
+            }
+        }
+
+        private BulkResumeResult takeNext() throws IOException {
+            Future<BulkResumeResult> done;
+            try {
+                done = completed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for bulk import results");
+            }
+            pending.remove(done);
+            return result(done);
+        }
+
+        private void emit(BulkResumeResult result) throws IOException {
+            switch (result.getStatus()) {
+                case BulkResumeResult.OK -> summary.setSucceeded(summary.getSucceeded() + 1);
+                case BulkResumeResult.SKIPPED -> summary.setSkipped(summary.getSkipped() + 1);
+                default -> summary.setFailed(summary.getFailed() + 1);
+            }
+            sink.file(result);
+        }
+
+        private BulkResumeResult process(int index, String name, byte[] content) {
+            long started = System.nanoTime();
+            BulkResumeResult result = new BulkResumeResult();
+            result.setIndex(index);
+            result.setName(name);
+
+            String text;
+            try {
+                text = extractText(content);
+                metrics.recordStage(PIPELINE, "pdf_extract", System.nanoTime() - started);
+            } catch (IOException | RuntimeException e) {
+                metrics.recordStage(PIPELINE, "pdf_extract_failure", System.nanoTime() - started);
+                log.debug("Bulk import: cannot read {}: {}", name, e.toString());
+                result.setStatus(BulkResumeResult.FAILED);
+                result.setError(e instanceof InvalidPasswordException
+                        ? "PDF is password protected" : "Unable to read PDF file.");
+                result.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                return result;
+            }
+
+            List<String> skills = engine.extractSkills(text);
+            result.setStatus(BulkResumeResult.OK);
+            result.setTextLength(text.length());
+            result.setSkills(skills);
+            if (jd != null) {
+                MatchResult scored = engine.match(jd, skills);
+                result.setScore(scored.score());
+                result.setMatchLevel(scored.matchLevel());
+                result.setMatchedSkills(scored.matchedSkills());
+                result.setMissingSkills(scored.missingSkills());
+            }
+            result.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return result;
+        }
+    }
+
+    // -------------------------
+    // HELPERS
+    // -------------------------
+
+    private static String extractText(byte[] pdf) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    private static BulkResumeResult result(Future<BulkResumeResult> done) throws IOException {
+        try {
+            return done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for bulk import results");
+        } catch (ExecutionException e) {
+            // process() turns every read failure into a result, so this is a bug
+            throw new IllegalStateException("Bulk import task failed", e.getCause());
+        }
+    }
+
+    private static BulkResumeResult rejected(int index, String name, String status, String error) {
+        BulkResumeResult result = new BulkResumeResult();
+        result.setIndex(index);
+        result.setName(name);
+        result.setStatus(status);
+        result.setError(error);
+        return result;
+    }
+
+    /** @return the stream's bytes, or null (with the rest skipped) if there are more than {@code limit} */
+    static byte[] readAtMost(InputStream in, int limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(limit, 64 * 1024));
+        byte[] buffer = new byte[8192];
+        int total = 0;
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            total += n;
+            if (total > limit) {
+                in.transferTo(OutputStream.nullOutputStream());
+                return null;
+            }
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean startsWith(BufferedInputStream in, byte[] magic) throws IOException {
+        in.mark(magic.length);
+        byte[] head = in.readNBytes(magic.length);
+        in.reset();
+        return Arrays.equals(head, magic);
+    }
+
+    private static boolean startsWith(byte[] content, byte[] magic) {
+        return content.length >= magic.length && Arrays.equals(content, 0, magic.length, magic, 0, magic.length);
+    }
+
+    // folders and dotfiles that archivers add next to the real files
+    static boolean isJunk(String entryName) {
+        String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+        return entryName.startsWith("__MACOSX/") || fileName.startsWith(".");
+    }
+}
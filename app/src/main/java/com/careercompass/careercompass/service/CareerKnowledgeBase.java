@@ -1,16 +1,76 @@
 package com.careercompass.careercompass.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 
 @Component
 public class CareerKnowledgeBase {
 
+    private static final Logger log = LoggerFactory.getLogger(CareerKnowledgeBase.class);
+
     private final List<KnowledgeSnippet> snippets;
 
+    // Each index is built on first use (or by prepare), so only the configured
+    // strategy's index is on the heap and advice text is decoded once at startup.
+
+    // keyword -> snippet postings, built once so retrieval never scans every snippet
+    private volatile KeywordSnippetIndex keywordIndex;
+
+    // BM25 term statistics over topic + advice text
+    private volatile Bm25SnippetIndex bm25Index;
+
+    // hashed TF-IDF vectors packed into one float array, for paraphrased questions
+    private volatile VectorSnippetIndex vectorIndex;
+
+    /** Built-in snippets below. */
     public CareerKnowledgeBase() {
-        this.snippets = List.of(
+        this(builtInSnippets(), null);
+    }
+
+    /**
+     * Loads snippets from a compiled {@link SnippetStore} when
+     * {@code knowledge.store.path} is set, otherwise uses the built-in ones.
+     * A configured store that cannot be read fails startup rather than silently
+     * serving different content.
+     */
+    @Autowired
+    public CareerKnowledgeBase(@Value("${knowledge.store.path:}") String storePath) {
+        this(openStore(storePath));
+    }
+
+    private CareerKnowledgeBase(SnippetStore store) {
+        this(store == null ? builtInSnippets() : store.snippets(),
+                store == null ? null : store.keywordIndex());
+    }
+
+    private CareerKnowledgeBase(List<KnowledgeSnippet> snippets, KeywordSnippetIndex keywordIndex) {
+        this.snippets = snippets;
+        this.keywordIndex = keywordIndex;
+    }
+
+    private static SnippetStore openStore(String storePath) {
+        if (storePath == null || storePath.isBlank()) {
+            return null;
+        }
+        try {
+            SnippetStore store = SnippetStore.open(Path.of(storePath));
+            log.info("Loaded {} knowledge snippets from {}", store.snippets().size(), storePath);
+            return store;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load knowledge store " + storePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    static List<KnowledgeSnippet> builtInSnippets() {
+        return List.of(
 
                 new KnowledgeSnippet(
                         "resume-quantify",
@@ -1011,4 +1071,123 @@ public class CareerKnowledgeBase {
     public List<KnowledgeSnippet> getAllSnippets() {
         return snippets;
     }
+
+    /** Builds the index {@code strategy} searches now instead of on the first question. */
+    public void prepare(RetrievalStrategy strategy) {
+        switch (strategy) {
+            case KEYWORD:
+                keywordIndex();
+                break;
+            case BM25:
+                bm25Index();
+                break;
+            case VECTOR:
+                vectorIndex();
+                break;
+        }
+    }
+
+    /** Top snippets by the given strategy; see the findBy methods. */
+    public List<KnowledgeSnippet> find(RetrievalStrategy strategy,
+                                       String question,
+                                       Collection<String> missingSkills,
+                                       String roleFocus,
+                                       int limit) {
+        switch (strategy) {
+            case KEYWORD:
+                return findByKeywords(question, missingSkills, roleFocus, limit);
+            case VECTOR:
+                return findByVector(question, missingSkills, roleFocus, limit);
+            default:
+                return findByBm25(question, missingSkills, roleFocus, limit);
+        }
+    }
+
+    /** Whether the index for {@code strategy} has been built; for tests. */
+    boolean isIndexed(RetrievalStrategy strategy) {
+        switch (strategy) {
+            case KEYWORD:
+                return keywordIndex != null;
+            case VECTOR:
+                return vectorIndex != null;
+            default:
+                return bm25Index != null;
+        }
+    }
+
+    /**
+     * Top snippets by keyword overlap with the question, missing skills and role focus.
+     * All inputs are expected lowercased (skills also trimmed, non-empty).
+     */
+    public List<KnowledgeSnippet> findByKeywords(String question,
+                                                 Collection<String> missingSkills,
+                                                 String roleFocus,
+                                                 int limit) {
+        return keywordIndex().search(question, missingSkills, roleFocus, limit);
+    }
+
+    /**
+     * Top snippets by BM25 relevance of their topic and advice text to the
+     * question, missing skills and role focus.
+     */
+    public List<KnowledgeSnippet> findByBm25(String question,
+                                             Collection<String> missingSkills,
+                                             String roleFocus,
+                                             int limit) {
+        return bm25Index().search(question, missingSkills, roleFocus, limit);
+    }
+
+    /**
+     * Top snippets by cosine similarity between locally embedded vectors of the
+     * query and of each snippet's topic and advice text.
+     */
+    public List<KnowledgeSnippet> findByVector(String question,
+                                               Collection<String> missingSkills,
+                                               String roleFocus,
+                                               int limit) {
+        return vectorIndex().search(question, missingSkills, roleFocus, limit);
+    }
+
+    // -------------------------
+    // HELPERS
+    // -------------------------
+
+    private KeywordSnippetIndex keywordIndex() {
+        KeywordSnippetIndex index = keywordIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = keywordIndex;
+                if (index == null) {
+                    keywordIndex = index = new KeywordSnippetIndex(snippets);
+                }
+            }
+        }
+        return index;
+    }
+
+    private Bm25SnippetIndex bm25Index() {
+        Bm25SnippetIndex index = bm25Index;
+        if (index == null) {
+            synchronized (this) {
+                index = bm25Index;
+                if (index == null) {
+                    bm25Index = index = new Bm25SnippetIndex(snippets);
+                }
+            }
+        }
+        return index;
+    }
+
+    private VectorSnippetIndex vectorIndex() {
+        VectorSnippetIndex index = vectorIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = vectorIndex;
+                if (index == null) {
+                    vectorIndex = index = new VectorSnippetIndex(snippets);
+                }
+            }
+        }
+        return index;
+    }
 }
@@ -0,0 +1,81 @@
+package com.careercompass.careercompass.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch over strings: {@code depth} rows of {@code width} counters,
+ * one counter per row for each key. An estimate is the smallest of a key's
+ * counters, so it never undercounts and overcounts by at most
+ * {@code e / width} of the total with probability {@code 1 - e^-depth}.
+ *
+ * Rows need independent hashes for that bound, so each key is hashed twice
+ * over its characters with 64-bit seeded hashes and row {@code i} uses
+ * {@code mix(h1 + i * h2)}. Keys that merely share {@code String.hashCode}
+ * land apart, and only a collision of both 64-bit hashes puts two keys
+ * together in every row.
+ *
+ * Counters are updated with atomic adds, without locks: threads only meet
+ * when they touch the same counter. Memory is fixed at construction.
+ */
+final class CountMinSketch {
+
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    /** @param width rounded up to a power of two */
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Count-Min depth and width must be positive");
+        }
+        int columns = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = columns - 1;
+        this.counters = new AtomicLongArray(depth * columns);
+    }
+
+    void add(String key, long count) {
+        long h1 = hash(key, SEED_1);
+        long h2 = hash(key, SEED_2);
+        for (int row = 0; row < depth; row++) {
+            counters.getAndAdd(row * (mask + 1) + column(h1, h2, row), count);
+        }
+    }
+
+    long estimate(String key) {
+        long h1 = hash(key, SEED_1);
+        long h2 = hash(key, SEED_2);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(row * (mask + 1) + column(h1, h2, row)));
+        }
+        return min;
+    }
+
+    private int column(long h1, long h2, int row) {
+        return (int) mix(h1 + row * h2) & mask;
+    }
+
+    // FNV-1a over the UTF-16 units from a seeded basis, then finalized
+    private static long hash(String key, long seed) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    // MurmurHash3's 64-bit finalizer: every input bit reaches every output bit
+    private static long mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xFF51AFD7ED558CCDL;
+        x ^= x >>> 33;
+        x *= 0xC4CEB9FE1A85EC53L;
+        x ^= x >>> 33;
+        return x;
+    }
+}
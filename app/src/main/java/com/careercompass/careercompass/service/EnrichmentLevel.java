@@ -0,0 +1,29 @@
+package com.careercompass.careercompass.service;
+
+/**
+ * How much AI work an analysis pays for after the deterministic score.
+ *
+ * NONE = rule engine only (no Groq calls), TIP = plus the improvement tip (one
+ * call), FULL = plus the AI skill profile that calibrates the score and the
+ * results-page insights (three calls, today's behaviour).
+ */
+public enum EnrichmentLevel {
+    NONE, TIP, FULL;
+
+    /** @throws IllegalArgumentException for anything but none / tip / full (null = full) */
+    public static EnrichmentLevel parse(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        switch (value.trim().toLowerCase()) {
+            case "none":
+                return NONE;
+            case "tip":
+                return TIP;
+            case "full":
+                return FULL;
+            default:
+                throw new IllegalArgumentException("enrichment must be none, tip or full, got: " + value);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.careercompass.careercompass.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Finds mentions of any of a response's missing skills in one regex pass.
+ *
+ * The skills are folded into a character trie and emitted as a single
+ * alternation, e.g. {@code go, golang, c, c++, c#} becomes
+ * {@code \b(?:go(?:lang)?|c(?:\+\+|#)?)\b}. Each position of a sentence is then
+ * tried against one branch per distinct first character instead of once per
+ * skill, and the pattern is compiled once per response instead of once per
+ * sentence and skill.
+ *
+ * Decisions are exactly those of testing {@code \b<skill>\b} for every skill in
+ * turn: regex alternation backtracks through every branch, so the combined
+ * pattern matches wherever one of the single-skill patterns would (including
+ * their quirks, e.g. {@code \bc\+\+\b} needs a word character right after
+ * "c++").
+ *
+ * {@link #claimsAny} reuses the same alternation behind ownership cues
+ * ("your docker", "you already know aws", "leverage your hands-on kubernetes")
+ * for text that may legitimately name a missing skill as something to learn.
+ */
+final class ForbiddenSkillMatcher {
+
+    private static final ForbiddenSkillMatcher NONE = new ForbiddenSkillMatcher(null);
+
+    private static final String CLAIM_CUES = "(?:you already (?:know|use|have|work with) "
+            + "|you (?:have|bring) (?:solid |strong |hands-on |proven )?(?:experience|expertise|skills?) (?:in|with) "
+            + "|you are (?:proficient|experienced|skilled) (?:in|with) "
+            + "|(?:leverage|use|apply) your (?:\\w+ ){0,2}?"
+            + "|your (?:strong |solid |proven |hands-on |existing )?)";
+
+    private final String alternation;    // null = nothing is forbidden
+    private final Pattern pattern;
+    private Pattern claimPattern;        // built on first use
+
+    private ForbiddenSkillMatcher(String alternation) {
+        this.alternation = alternation;
+        this.pattern = alternation == null ? null : Pattern.compile("\\b(?:" + alternation + ")\\b");
+    }
+
+    /**
+     * @param skills skills to look for; blanks are ignored and matching is
+     *               case-insensitive only in that both sides are lowercased
+     */
+    static ForbiddenSkillMatcher of(Collection<String> skills) {
+        Node root = new Node();
+        boolean any = false;
+        if (skills != null) {
+            for (String skill : skills) {
+                if (skill == null || skill.isBlank()) {
+                    continue;
+                }
+                Node node = root;
+                for (char c : skill.toLowerCase().toCharArray()) {
+                    node = node.children.computeIfAbsent(c, k -> new Node());
+                }
+                node.terminal = true;
+                any = true;
+            }
+        }
+        if (!any) {
+            return NONE;
+        }
+        return new ForbiddenSkillMatcher(alternation(root));
+    }
+
+    boolean isEmpty() {
+        return pattern == null;
+    }
+
+    /** @param lowerText text already lowercased */
+    boolean mentionsAny(String lowerText) {
+        return pattern != null && pattern.matcher(lowerText).find();
+    }
+
+    /** @param lowerText text already lowercased */
+    boolean claimsAny(String lowerText) {
+        if (pattern == null) {
+            return false;
+        }
+        if (claimPattern == null) {
+            claimPattern = Pattern.compile("\\b" + CLAIM_CUES + "(?:" + alternation + ")\\b");
+        }
+        return claimPattern.matcher(lowerText).find();
+    }
+
+    String pattern() {
+        return pattern == null ? "" : pattern.pattern();
+    }
+
+    // ---- trie -> regex ----
+
+    private static final class Node {
+        final Map<Character, Node> children = new TreeMap<>();
+        boolean terminal;
+    }
+
+    /** Alternation of every suffix below {@code node}, without the node's own optionality. */
+    private static String alternation(Node node) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Character, Node> e : node.children.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append('|');
+            }
+            appendLiteral(sb, e.getKey());
+            Node child = e.getValue();
+            if (!child.children.isEmpty()) {
+                String rest = alternation(child);
+                if (child.terminal) {
+                    sb.append("(?:").append(rest).append(")?");
+                } else if (child.children.size() > 1) {
+                    sb.append("(?:").append(rest).append(')');
+                } else {
+                    sb.append(rest);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendLiteral(StringBuilder sb, char c) {
+        // a backslash before ASCII punctuation always means the literal character
+        if (c < 128 && !Character.isLetterOrDigit(c) && c != ' ') {
+            sb.append('\\');
+        }
+        sb.append(c);
+    }
+}
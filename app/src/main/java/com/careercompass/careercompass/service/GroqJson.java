@@ -0,0 +1,173 @@
+package com.careercompass.careercompass.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Typed reading of Groq chat completions and of the JSON payloads our prompts ask for.
+ *
+ * The envelope is read with the streaming parser straight off the response body:
+ * only {@code choices[0].message.content}, {@code choices[0].finish_reason} and
+ * the {@code usage} token counts are kept, everything else is skipped without
+ * being materialised. Payloads are bound to records through shared
+ * {@link ObjectReader}s; the parser starts at the first {@code '{'} of the
+ * message and stops at the end of that object, so markdown fences and
+ * commentary around it are never copied or parsed twice.
+ */
+final class GroqJson {
+
+    /** What we keep from a chat completion; {@code content} is null if the response had none. */
+    record ChatCompletion(String content, String finishReason, Usage usage) {
+    }
+
+    record Usage(int promptTokens, int completionTokens, int totalTokens) {
+        static final Usage NONE = new Usage(0, 0, 0);
+    }
+
+    /** Reply to the skill-parse prompt. */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record SkillProfilePayload(
+            List<String> jdRequiredSkills,
+            List<String> strongSkills,
+            List<String> weakSkills,
+            String roleFocus,
+            // kept as text: models send true, "true" or "yes", and only "true" counts
+            String generallyRelated) {
+    }
+
+    /** Reply to the insights prompt; the older field names are still accepted as fallbacks. */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record InsightsPayload(
+            String summary,
+            List<String> strengths,
+            List<String> gaps,
+            List<String> areasForImprovement,
+            List<String> nextSteps,
+            List<String> recommendations) {
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    // a lone string where a list was asked for still counts as one item
+    static final ObjectReader PROFILE_READER = MAPPER.readerFor(SkillProfilePayload.class)
+            .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+    static final ObjectReader INSIGHTS_READER = MAPPER.readerFor(InsightsPayload.class)
+            .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+
+    private GroqJson() {
+    }
+
+    // -------------------------
+    // ENVELOPE
+    // -------------------------
+
+    static ChatCompletion readCompletion(InputStream body) throws IOException {
+        try (JsonParser p = FACTORY.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(p, "Expected a chat completion object");
+            }
+            String content = null;
+            String finishReason = null;
+            Usage usage = Usage.NONE;
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                    boolean first = true;
+                    while (p.nextToken() != JsonToken.END_ARRAY) {
+                        if (first && p.currentToken() == JsonToken.START_OBJECT) {
+                            String[] choice = readChoice(p);
+                            content = choice[0];
+                            finishReason = choice[1];
+                        } else {
+                            p.skipChildren();
+                        }
+                        first = false;
+                    }
+                } else if ("usage".equals(field) && value == JsonToken.START_OBJECT) {
+                    usage = readUsage(p);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return new ChatCompletion(content, finishReason, usage);
+        }
+    }
+
+    /** @return {content, finishReason}; the parser is left on the choice's END_OBJECT */
+    private static String[] readChoice(JsonParser p) throws IOException {
+        String content = null;
+        String finishReason = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("message".equals(field) && value == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String messageField = p.currentName();
+                    p.nextToken();
+                    if ("content".equals(messageField) && p.currentToken().isScalarValue()) {
+                        content = p.getValueAsString();
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else if ("finish_reason".equals(field) && value.isScalarValue()) {
+                finishReason = p.getValueAsString();
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new String[] { content, finishReason };
+    }
+
+    private static Usage readUsage(JsonParser p) throws IOException {
+        int prompt = 0;
+        int completion = 0;
+        int total = 0;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "prompt_tokens" -> prompt = p.getValueAsInt();
+                case "completion_tokens" -> completion = p.getValueAsInt();
+                case "total_tokens" -> total = p.getValueAsInt();
+                default -> p.skipChildren();
+            }
+        }
+        return new Usage(prompt, completion, total);
+    }
+
+    // -------------------------
+    // PAYLOADS
+    // -------------------------
+
+    /**
+     * Binds the first JSON object in a model reply, ignoring any markdown fence or
+     * commentary before and after it.
+     *
+     * @return null if the text holds no {@code '{'} at all
+     */
+    static <T> T readPayload(ObjectReader reader, String text) throws IOException {
+        int start = text == null ? -1 : text.indexOf('{');
+        if (start < 0) {
+            return null;
+        }
+        StringReader in = new StringReader(text);
+        in.skip(start);
+        // trailing tokens are not checked, so parsing ends with the object
+        return reader.readValue(in);
+    }
+}
@@ -0,0 +1,25 @@
+package com.careercompass.careercompass.service;
+
+/**
+ * Lane an analysis job waits in; see {@link PriorityLanes} for how lanes are served.
+ */
+public enum JobPriority {
+    HIGH, NORMAL, LOW;
+
+    /** @throws IllegalArgumentException for anything but high / normal / low (null = normal) */
+    public static JobPriority parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NORMAL;
+        }
+        switch (value.trim().toLowerCase()) {
+            case "high":
+                return HIGH;
+            case "normal":
+                return NORMAL;
+            case "low":
+                return LOW;
+            default:
+                throw new IllegalArgumentException("priority must be high, normal or low, got: " + value);
+        }
+    }
+}
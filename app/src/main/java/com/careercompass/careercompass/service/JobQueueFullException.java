@@ -0,0 +1,19 @@
+package com.careercompass.careercompass.service;
+
+/**
+ * Thrown when an analysis job's priority lane is full; callers should retry
+ * after {@link #getRetryAfterSeconds()}.
+ */
+public class JobQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public JobQueueFullException(JobPriority priority, long retryAfterSeconds) {
+        super("The " + priority.name().toLowerCase() + " priority job queue is full");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,96 @@
+package com.careercompass.careercompass.service;
+
+import java.util.*;
+
+/**
+ * Inverted keyword index over the knowledge base, built once at startup.
+ *
+ * Each distinct keyword is lowercased once and maps to the snippets that list it
+ * (a snippet listing a keyword twice appears twice, so scores match the old
+ * per-snippet scan exactly). A query only touches keywords and the snippets in
+ * their postings, then keeps the best {@code limit} candidates via {@link TopSnippets}.
+ *
+ * Scoring per matching keyword: +3 if the question contains it, +2 if the role
+ * focus contains it, +4 for every missing skill that contains it or is contained
+ * by it.
+ */
+class KeywordSnippetIndex {
+
+    private final List<KnowledgeSnippet> snippets;
+    private final String[] keywords;   // distinct, lowercased
+    private final int[][] postings;    // keyword -> snippet positions
+
+    KeywordSnippetIndex(List<KnowledgeSnippet> snippets) {
+        this.snippets = snippets;
+
+        Map<String, List<Integer>> byKeyword = new LinkedHashMap<>();
+        for (int i = 0; i < snippets.size(); i++) {
+            for (String kw : snippets.get(i).getKeywords()) {
+                byKeyword.computeIfAbsent(kw.toLowerCase(), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        this.keywords = new String[byKeyword.size()];
+        this.postings = new int[byKeyword.size()][];
+        int k = 0;
+        for (Map.Entry<String, List<Integer>> e : byKeyword.entrySet()) {
+            keywords[k] = e.getKey();
+            postings[k] = e.getValue().stream().mapToInt(Integer::intValue).toArray();
+            k++;
+        }
+    }
+
+    /** Index whose keywords and postings were built elsewhere (see {@link SnippetStore}). */
+    KeywordSnippetIndex(List<KnowledgeSnippet> snippets, String[] keywords, int[][] postings) {
+        this.snippets = snippets;
+        this.keywords = keywords;
+        this.postings = postings;
+    }
+
+    String[] keywords() {
+        return keywords;
+    }
+
+    int[][] postings() {
+        return postings;
+    }
+
+    /**
+     * @param question      lowercased question ("" if none)
+     * @param missingSkills lowercased, trimmed, non-empty skills
+     * @param role          lowercased role focus ("" if none)
+     * @return up to {@code limit} snippets with a positive score, best first
+     *         (ties keep knowledge-base order)
+     */
+    List<KnowledgeSnippet> search(String question, Collection<String> missingSkills, String role, int limit) {
+        float[] scores = new float[snippets.size()];
+        int[] touched = new int[snippets.size()];
+        int touchedCount = 0;
+
+        for (int k = 0; k < keywords.length; k++) {
+            String kw = keywords[k];
+
+            int weight = 0;
+            if (question.contains(kw))
+                weight += 3;
+            if (role.contains(kw))
+                weight += 2;
+            for (String s : missingSkills) {
+                if (s.contains(kw) || kw.contains(s)) {
+                    weight += 4;
+                }
+            }
+            if (weight == 0)
+                continue;
+
+            for (int snippet : postings[k]) {
+                if (scores[snippet] == 0f) {
+                    touched[touchedCount++] = snippet;
+                }
+                scores[snippet] += weight;
+            }
+        }
+
+        return TopSnippets.select(snippets, scores, touched, touchedCount, limit);
+    }
+}
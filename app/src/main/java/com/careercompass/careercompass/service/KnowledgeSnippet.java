@@ -1,6 +1,7 @@
 package com.careercompass.careercompass.service;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 public class KnowledgeSnippet {
 
@@ -9,6 +10,7 @@ public class KnowledgeSnippet {
     private final String category;     // e.g. "skills", "resume", "interview"
     private final List<String> keywords;
     private final String adviceText;
+    private final Supplier<String> adviceSource;    // set instead of adviceText when decoded on demand
 
     public KnowledgeSnippet(String id,
                             String topic,
@@ -20,6 +22,24 @@ public class KnowledgeSnippet {
         this.category = category;
         this.keywords = keywords;
         this.adviceText = adviceText;
+        this.adviceSource = null;
+    }
+
+    /**
+     * Snippet whose advice text is produced on each {@link #getAdviceText()} call
+     * (e.g. decoded from a memory-mapped {@link SnippetStore}) instead of held on heap.
+     */
+    public KnowledgeSnippet(String id,
+                            String topic,
+                            String category,
+                            List<String> keywords,
+                            Supplier<String> adviceSource) {
+        this.id = id;
+        this.topic = topic;
+        this.category = category;
+        this.keywords = keywords;
+        this.adviceText = null;
+        this.adviceSource = adviceSource;
     }
 
     public String getId() {
@@ -39,6 +59,6 @@ public class KnowledgeSnippet {
     }
 
     public String getAdviceText() {
-        return adviceText;
+        return adviceSource != null ? adviceSource.get() : adviceText;
     }
 }
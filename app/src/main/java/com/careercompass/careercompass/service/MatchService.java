@@ -0,0 +1,213 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.dto.AiSkillProfile;
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import com.careercompass.careercompass.dto.ScoreExplanation;
+import com.careercompass.careercompass.engine.JobRequirements;
+import com.careercompass.careercompass.engine.MatchEngine;
+import com.careercompass.careercompass.engine.MatchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class MatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchService.class);
+
+    private static final String PIPELINE = "analyze";
+
+    // Feature flag to enable/disable new weak skill detection
+    private static final boolean USE_ENHANCED_WEAK_DETECTION = true;
+
+    private final MatchEngine engine;
+    private final AiService aiService;
+    private final PipelineMetrics metrics;
+    private final SkillGapAnalytics analytics;
+    private final ScoreBenchmarks scoreBenchmarks;
+
+    public MatchService(MatchEngine engine,
+                        AiService aiService,
+                        PipelineMetrics metrics,
+                        SkillGapAnalytics analytics,
+                        ScoreBenchmarks scoreBenchmarks) {
+        this.engine = engine;
+        this.aiService = aiService;
+        this.metrics = metrics;
+        this.analytics = analytics;
+        this.scoreBenchmarks = scoreBenchmarks;
+    }
+
+    public AnalysisResponse analyze(AnalysisRequest request) {
+
+        // FIX: Critical Null Check
+        if (request == null) {
+            throw new IllegalArgumentException("AnalysisRequest cannot be null");
+        }
+
+        AnalysisResponse response = scoreDeterministic(request);
+        enrich(request, response, EnrichmentLevel.parse(request.getEnrichment()));
+
+        log.info("Analysis Complete. Score: {} ({})", response.getScore(), response.getMatchLevel());
+        return response;
+    }
+
+    /**
+     * Rule-engine result only: skills, deterministic score, matched and missing
+     * skills. No AI calls, so this returns in microseconds.
+     */
+    public AnalysisResponse scoreDeterministic(AnalysisRequest request) {
+
+        // FIX: Critical Null Check
+        if (request == null) {
+            throw new IllegalArgumentException("AnalysisRequest cannot be null");
+        }
+
+        String jdText = request.getJobDescription();
+        String resumeText = request.getResumeText();
+
+        log.info("=== /api/analyze called ===");
+        log.debug("JD length: {}", (jdText == null ? 0 : jdText.length()));
+        log.debug("Resume length: {}", (resumeText == null ? 0 : resumeText.length()));
+
+        // Optional "why this score" trace; null traces cost nothing
+        ScoreExplanation explanation = request.isExplain() ? new ScoreExplanation() : null;
+
+        // 1) PURE JAVA: deterministic skill extraction (single source of truth)
+        JobRequirements jd = metrics.time(PIPELINE, "extract_jd",
+                () -> engine.requirementsForScoring(jdText, explanation == null ? null : explanation.jd()));
+        List<String> jdSkills = jd.names();
+        List<String> resumeSkills = metrics.time(PIPELINE, "extract_resume",
+                () -> engine.extractSkills(resumeText, explanation == null ? null : explanation.resume()));
+
+        log.info("Keyword jdSkills: {}", jdSkills);
+        log.info("Keyword resumeSkills: {}", resumeSkills);
+
+        // 2) Deterministic score – from Java skills only
+        double score = metrics.time(PIPELINE, "score", () -> engine.calculateMatchScore(
+                jd, resumeSkills, explanation == null ? null : explanation.scoring())); // 0–100
+
+        // 3) Build response object
+        AnalysisResponse response = toResponse(engine.result(jdSkills, resumeSkills, score));
+        if (explanation != null) {
+            explanation.retainMentionsOf(jdSkills, resumeSkills);
+            response.setExplanation(explanation);
+        }
+        return response;
+    }
+
+    /** Rule-engine result as the API response (AI fields left empty). */
+    public static AnalysisResponse toResponse(MatchResult result) {
+        AnalysisResponse response = new AnalysisResponse();
+        response.setScore(result.score());
+        response.setMatchLevel(result.matchLevel());
+        response.setJdSkills(result.jdSkills());
+        response.setResumeSkills(result.resumeSkills());
+        response.setMatchedSkills(result.matchedSkills());
+        response.setMissingSkills(result.missingSkills());
+        return response;
+    }
+
+    /**
+     * Adds AI work on top of {@link #scoreDeterministic}: at {@code FULL} the AI
+     * skill profile calibrates the score, at {@code TIP} and above the tip is
+     * generated, at {@code FULL} the results-page insights are added. Every
+     * level ends by counting the analysis in {@link SkillGapAnalytics} and
+     * adding the score's percentile from {@link ScoreBenchmarks}.
+     */
+    public void enrich(AnalysisRequest request, AnalysisResponse response, EnrichmentLevel level) {
+        if (level == EnrichmentLevel.NONE) {
+            recordAnalytics(level, null, response);
+            return;
+        }
+        String roleFocus = null;
+
+        String jdText = request.getJobDescription();
+        String resumeText = request.getResumeText();
+
+        if (level == EnrichmentLevel.FULL) {
+            // OPTIONAL AI PROFILE: used only for calibration / RAG, not as source of
+            // skills
+            AiSkillProfile aiProfile = metrics.time(PIPELINE, "ai_profile",
+                    () -> aiService.analyzeSkillsWithAi(jdText, resumeText));
+            log.info("AI profile returned: {}", (aiProfile != null));
+
+            if (aiProfile != null) {
+                roleFocus = aiProfile.getRoleFocus();
+                log.debug("AI jdRequiredSkills (raw): {}", aiProfile.getJdRequiredSkills());
+                log.debug("AI strongSkills (raw): {}", aiProfile.getStrongSkills());
+                log.debug("AI weakSkills (raw): {}", aiProfile.getWeakSkills());
+
+                long filterStart = System.nanoTime();
+
+                // Safety-check AI strong/weak skills: keep only ones that actually appear in
+                // resume text
+                List<String> verifiedStrong = engine.filterSkillsByResumeEvidence(aiProfile.getStrongSkills(), resumeText);
+                List<String> verifiedWeak = engine.filterSkillsByResumeEvidence(aiProfile.getWeakSkills(), resumeText);
+
+                // ADDITIONAL SAFETY: Remove skills from strongSkills if they appear in learning
+                // contexts
+                List<String> finalVerifiedStrong = new ArrayList<>();
+                if (USE_ENHANCED_WEAK_DETECTION) {
+                    for (String skill : verifiedStrong) {
+                        if (!engine.appearsOnlyInLearningContext(skill, resumeText)) {
+                            finalVerifiedStrong.add(skill);
+                        } else {
+                            // Move to weak skills if it's actually a learning context
+                            log.debug("Moving '{}' from strong to weak (detected in learning context)", skill);
+                            if (verifiedWeak != null && !verifiedWeak.contains(skill)) {
+                                verifiedWeak.add(skill);
+                            }
+                        }
+                    }
+                    verifiedStrong = finalVerifiedStrong;
+                }
+
+                aiProfile.setStrongSkills(verifiedStrong);
+                aiProfile.setWeakSkills(verifiedWeak);
+                metrics.recordStage(PIPELINE, "evidence_filter", System.nanoTime() - filterStart);
+
+                log.info("Verified AI strongSkills: {}", verifiedStrong);
+                log.info("Verified AI weakSkills: {}", verifiedWeak);
+
+                // Light calibration using AI profile
+                ScoreExplanation explanation = response.getExplanation();
+                double calibrated = metrics.time(PIPELINE, "calibrate", () -> engine.calibrateScore(
+                        response.getJdSkills(), aiProfile.getStrongSkills(), aiProfile.isGenerallyRelated(),
+                        response.getScore(), explanation == null ? null : explanation.scoring()));
+                response.setScore(calibrated);
+                response.setMatchLevel(engine.determineMatchLevel(calibrated));
+            } else {
+                log.info("AI profile is null; using only keyword-based logic.");
+            }
+        }
+
+        // Optional AI tip (short practical advice)
+        String improvedTip = metrics.time(PIPELINE, "tip", () -> aiService.generateImprovedTip(request, response));
+        response.setTip(improvedTip);
+
+        // Optional AI insights (rich content for results page)
+        if (level == EnrichmentLevel.FULL) {
+            metrics.time(PIPELINE, "insights", () -> aiService.enrichWithInsights(request, response));
+        }
+
+        recordAnalytics(level, roleFocus, response);
+    }
+
+    // Skill-gap sketches and the score percentile (against earlier scores,
+    // then counted); fixed memory, skill summaries striped by thread
+    private void recordAnalytics(EnrichmentLevel level, String roleFocus, AnalysisResponse response) {
+        analytics.record(roleFocus, response.getMissingSkills(), response.getMatchedSkills());
+        ScoreBenchmarks.Percentile percentile = scoreBenchmarks.percentile(level, roleFocus, response.getScore());
+        if (percentile != null) {
+            response.setPercentile(percentile.percentile());
+            response.setPercentileRole(percentile.role());
+        }
+        scoreBenchmarks.record(level, roleFocus, response.getScore());
+    }
+}
@@ -0,0 +1,112 @@
+package com.careercompass.careercompass.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer timers for the analyze / ask / upload pipelines.
+ *
+ * careercompass.pipeline.stage{pipeline, stage}  – one timer per pipeline step
+ * careercompass.groq.call{prompt, outcome}       – Groq round trip (success / empty / exception)
+ * careercompass.groq.parse{prompt, outcome}      – JSON cleanup + parsing (success / parse_failure)
+ * careercompass.groq.tokens{prompt, kind}        – tokens reported in the response's usage block (prompt / completion)
+ *
+ * All timers publish percentile histograms so p95/p99 can be computed in Prometheus.
+ */
+@Component
+public class PipelineMetrics {
+
+    public static final String STAGE_TIMER = "careercompass.pipeline.stage";
+    public static final String GROQ_CALL_TIMER = "careercompass.groq.call";
+    public static final String GROQ_PARSE_TIMER = "careercompass.groq.parse";
+    public static final String GROQ_TOKENS_COUNTER = "careercompass.groq.tokens";
+
+    // Prompt types sent to Groq
+    public static final String PROMPT_SKILL_PARSE = "skill_parse";
+    public static final String PROMPT_TIP = "tip";
+    public static final String PROMPT_INSIGHTS = "insights";
+    public static final String PROMPT_CHAT = "chat";
+
+    // Outcomes
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_EMPTY = "empty";
+    public static final String OUTCOME_PARSE_FAILURE = "parse_failure";
+    public static final String OUTCOME_EXCEPTION = "exception";
+
+    private final MeterRegistry registry;
+
+    // Timer lookup is on every request; avoid rebuilding meter ids each time
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public PipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Time one pipeline stage and return its result. */
+    public <T> T time(String pipeline, String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            recordStage(pipeline, stage, System.nanoTime() - start);
+        }
+    }
+
+    public void time(String pipeline, String stage, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            recordStage(pipeline, stage, System.nanoTime() - start);
+        }
+    }
+
+    public void recordStage(String pipeline, String stage, long nanos) {
+        timer(STAGE_TIMER, "pipeline", pipeline, "stage", stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordGroqCall(String prompt, String outcome, long nanos) {
+        timer(GROQ_CALL_TIMER, "prompt", prompt, "outcome", outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordGroqParse(String prompt, String outcome, long nanos) {
+        timer(GROQ_PARSE_TIMER, "prompt", prompt, "outcome", outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordGroqUsage(String prompt, GroqJson.Usage usage) {
+        if (usage.promptTokens() > 0) {
+            tokenCounter(prompt, "prompt").increment(usage.promptTokens());
+        }
+        if (usage.completionTokens() > 0) {
+            tokenCounter(prompt, "completion").increment(usage.completionTokens());
+        }
+    }
+
+    private Counter tokenCounter(String prompt, String kind) {
+        return counters.computeIfAbsent(prompt + '|' + kind, k -> Counter.builder(GROQ_TOKENS_COUNTER)
+                .tag("prompt", prompt)
+                .tag("kind", kind)
+                .register(registry));
+    }
+
+    private Timer timer(String name, String k1, String v1, String k2, String v2) {
+        String key = name + '|' + v1 + '|' + v2;
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> Timer.builder(name)
+                    .tag(k1, v1)
+                    .tag(k2, v2)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        return timer;
+    }
+}
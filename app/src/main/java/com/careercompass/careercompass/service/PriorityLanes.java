@@ -0,0 +1,106 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded work queue with one FIFO lane per {@link JobPriority}.
+ *
+ * Each lane has its own capacity, so a flood of low-priority work cannot fill
+ * the space high-priority callers need. Takes follow a weighted cycle
+ * (4 high : 2 normal : 1 low); when the preferred lane is empty the next
+ * non-empty lane in priority order is used, so lower lanes are never starved
+ * and idle capacity is never wasted.
+ */
+final class PriorityLanes<T> {
+
+    // preferred lane for each take, repeated
+    private static final JobPriority[] CYCLE = {
+            JobPriority.HIGH, JobPriority.HIGH, JobPriority.NORMAL, JobPriority.HIGH,
+            JobPriority.HIGH, JobPriority.NORMAL, JobPriority.LOW };
+
+    private final List<ArrayDeque<T>> lanes;
+    private final int capacityPerLane;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int cursor;
+    private int size;
+
+    PriorityLanes(int capacityPerLane) {
+        this.capacityPerLane = capacityPerLane;
+        List<ArrayDeque<T>> lanes = new ArrayList<>(JobPriority.values().length);
+        for (int i = 0; i < JobPriority.values().length; i++) {
+            lanes.add(new ArrayDeque<>());
+        }
+        this.lanes = List.copyOf(lanes);
+    }
+
+    /** @return false if the lane is full */
+    boolean offer(JobPriority priority, T item) {
+        lock.lock();
+        try {
+            ArrayDeque<T> lane = lanes.get(priority.ordinal());
+            if (lane.size() >= capacityPerLane) {
+                return false;
+            }
+            lane.addLast(item);
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return the next item, or null if none arrived within the timeout */
+    T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            JobPriority preferred = CYCLE[cursor];
+            cursor = (cursor + 1) % CYCLE.length;
+
+            ArrayDeque<T> lane = lanes.get(preferred.ordinal());
+            if (lane.isEmpty()) {
+                for (ArrayDeque<T> candidate : lanes) {
+                    if (!candidate.isEmpty()) {
+                        lane = candidate;
+                        break;
+                    }
+                }
+            }
+            size--;
+            return lane.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size(JobPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority.ordinal()).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.careercompass.careercompass.service;
+
+/**
+ * How RAG snippets are ranked ({@code rag.retrieval.strategy}).
+ *
+ * KEYWORD = overlap with each snippet's hand-written keywords, BM25 = BM25
+ * over topic + advice text, VECTOR = cosine similarity of locally hashed
+ * TF-IDF vectors. Only the configured strategy's index is built.
+ */
+public enum RetrievalStrategy {
+    KEYWORD, BM25, VECTOR;
+
+    /** @throws IllegalArgumentException for anything but keyword / bm25 / vector (null = bm25) */
+    public static RetrievalStrategy parse(String value) {
+        if (value == null || value.isBlank()) {
+            return BM25;
+        }
+        switch (value.trim().toLowerCase()) {
+            case "keyword":
+                return KEYWORD;
+            case "bm25":
+                return BM25;
+            case "vector":
+                return VECTOR;
+            default:
+                throw new IllegalArgumentException("rag.retrieval.strategy must be keyword, bm25 or vector, got: " + value);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.careercompass.careercompass.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * "How does my 62% compare": score percentiles per role.
+ *
+ * Final scores are whole numbers from 0 to 100, so each role keeps an exact
+ * 101-bucket histogram (about 1 KB) instead of an approximate quantile
+ * sketch: updates are one atomic add, a percentile is one pass over 101
+ * buckets, and merging two histograms is adding them. Roles come from the AI
+ * profile's role focus (normalized as in {@link SkillGapAnalytics}); every
+ * score also counts toward {@value #ALL_ROLES}, and at most
+ * {@code analytics.scores.max-roles} roles are kept. Scores are only compared
+ * with scores of the same {@link EnrichmentLevel}: FULL scores are calibrated
+ * by the AI profile, NONE and TIP scores are not, so each level has its own
+ * histograms.
+ *
+ * With {@code analytics.scores.snapshot-dir} set (off by default), every
+ * {@code analytics.scores.snapshot-seconds} this node writes its histograms to
+ * {@code <node-id>.json} there (atomically) and reads the other nodes' files,
+ * so pods sharing the directory compare against everyone's scores. The node
+ * id must then be set explicitly, since two nodes with the same id overwrite
+ * each other. Files not rewritten for {@value #STALE_SNAPSHOTS} intervals
+ * (replaced pods) are left out. A node's own file is read back on startup.
+ */
+@Service
+public class ScoreBenchmarks {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreBenchmarks.class);
+
+    public static final String ALL_ROLES = "all";
+
+    static final int BUCKETS = 101;
+    // snapshot intervals after which another node's file no longer counts
+    static final int STALE_SNAPSHOTS = 5;
+    private static final String SNAPSHOT_SUFFIX = ".json";
+
+    /** Where a score stands among earlier scores for a role (percent of them it beats, ties count half). */
+    public record Percentile(String role, int percentile, long sample) {
+    }
+
+    // a node's histograms as written to the snapshot directory, by level then role
+    record Snapshot(String node, long at, Map<EnrichmentLevel, Map<String, long[]>> levels) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int maxRoles;
+    private final long minSample;
+    private final Path snapshotDir;
+    private final String nodeId;
+    private final long staleMillis;
+    private final Map<EnrichmentLevel, Map<String, AtomicLongArray>> local = new EnumMap<>(EnrichmentLevel.class);
+    // other nodes' histograms, summed; replaced whole on every refresh
+    private volatile Map<EnrichmentLevel, Map<String, long[]>> remote = Map.of();
+    private final ScheduledExecutorService snapshots;
+
+    public ScoreBenchmarks(ObjectMapper objectMapper,
+                           @Value("${analytics.scores.max-roles:256}") int maxRoles,
+                           @Value("${analytics.scores.min-sample:20}") long minSample,
+                           @Value("${analytics.scores.snapshot-dir:}") String snapshotDir,
+                           @Value("${analytics.scores.node-id:}") String nodeId,
+                           @Value("${analytics.scores.snapshot-seconds:60}") long snapshotSeconds) {
+        this.objectMapper = objectMapper;
+        this.maxRoles = maxRoles;
+        this.minSample = minSample;
+        this.nodeId = nodeId == null ? "" : nodeId.strip();
+        this.staleMillis = STALE_SNAPSHOTS * snapshotSeconds * 1000L;
+        for (EnrichmentLevel level : EnrichmentLevel.values()) {
+            Map<String, AtomicLongArray> roles = new ConcurrentHashMap<>();
+            roles.put(ALL_ROLES, new AtomicLongArray(BUCKETS));
+            local.put(level, roles);
+        }
+
+        if (snapshotDir == null || snapshotDir.isBlank()) {
+            this.snapshotDir = null;
+            this.snapshots = null;
+            return;
+        }
+        if (!this.nodeId.matches("[A-Za-z0-9._-]+")) {
+            throw new IllegalArgumentException("analytics.scores.snapshot-dir needs a unique analytics.scores.node-id"
+                    + " that is a plain file name, got: '" + this.nodeId + "'");
+        }
+
+        this.snapshotDir = Path.of(snapshotDir);
+        loadOwnSnapshot();
+        refresh();
+        this.snapshots = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "score-benchmarks-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        snapshots.scheduleWithFixedDelay(this::snapshotQuietly, snapshotSeconds, snapshotSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the score's percentile among scores recorded so far at the same
+     *         level for the role, or for {@value #ALL_ROLES} while the role has
+     *         fewer than {@code analytics.scores.min-sample}; null while neither has
+     */
+    public Percentile percentile(EnrichmentLevel level, String roleFocus, double score) {
+        int bucket = bucket(score);
+        String role = SkillGapAnalytics.role(roleFocus);
+        Percentile forRole = role.equals(SkillGapAnalytics.UNSPECIFIED_ROLE) ? null : percentileOf(level, role, bucket);
+        if (forRole != null && forRole.sample() >= minSample) {
+            return forRole;
+        }
+        Percentile overall = percentileOf(level, ALL_ROLES, bucket);
+        return overall != null && overall.sample() >= minSample ? overall : null;
+    }
+
+    /** Counts a final score at its level; lock-free. */
+    public void record(EnrichmentLevel level, String roleFocus, double score) {
+        int bucket = bucket(score);
+        Map<String, AtomicLongArray> roles = local.get(level);
+        roles.get(ALL_ROLES).incrementAndGet(bucket);
+
+        String role = SkillGapAnalytics.role(roleFocus);
+        if (role.equals(SkillGapAnalytics.UNSPECIFIED_ROLE)) {
+            return;
+        }
+        AtomicLongArray histogram = roles.get(role);
+        if (histogram == null) {
+            if (roles.size() > maxRoles) {
+                return;    // only counted toward ALL_ROLES
+            }
+            histogram = roles.computeIfAbsent(role, r -> new AtomicLongArray(BUCKETS));
+        }
+        histogram.incrementAndGet(bucket);
+    }
+
+    /** Writes this node's histograms and re-reads everyone else's. */
+    void snapshot() throws IOException {
+        Files.createDirectories(snapshotDir);
+        Path target = snapshotDir.resolve(nodeId + SNAPSHOT_SUFFIX);
+        Path tmp = snapshotDir.resolve(nodeId + SNAPSHOT_SUFFIX + ".tmp");
+        Map<EnrichmentLevel, Map<String, long[]>> levels = new EnumMap<>(EnrichmentLevel.class);
+        local.forEach((level, roles) -> levels.put(level, copy(roles)));
+        objectMapper.writeValue(tmp.toFile(), new Snapshot(nodeId, System.currentTimeMillis(), levels));
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        refresh();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (snapshots != null) {
+            snapshots.shutdownNow();
+            snapshotQuietly();
+        }
+    }
+
+    // -------------------------
+    // HELPERS
+    // -------------------------
+
+    private Percentile percentileOf(EnrichmentLevel level, String role, int bucket) {
+        AtomicLongArray mine = local.get(level).get(role);
+        Map<String, long[]> remoteRoles = remote.get(level);
+        long[] theirs = remoteRoles == null ? null : remoteRoles.get(role);
+        if (mine == null && theirs == null) {
+            return null;
+        }
+        long below = 0;
+        long equal = 0;
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            long n = (mine == null ? 0 : mine.get(b)) + (theirs == null ? 0 : theirs[b]);
+            if (b < bucket) {
+                below += n;
+            } else if (b == bucket) {
+                equal = n;
+            }
+            total += n;
+        }
+        if (total == 0) {
+            return null;
+        }
+        int percentile = (int) Math.round(100.0 * (below + equal / 2.0) / total);
+        return new Percentile(role, percentile, total);
+    }
+
+    private void refresh() {
+        Map<EnrichmentLevel, Map<String, long[]>> merged = new EnumMap<>(EnrichmentLevel.class);
+        long oldest = System.currentTimeMillis() - staleMillis;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(snapshotDir, "*" + SNAPSHOT_SUFFIX)) {
+            for (Path file : files) {
+                if (file.getFileName().toString().equals(nodeId + SNAPSHOT_SUFFIX)) {
+                    continue;
+                }
+                Snapshot snapshot = read(file);
+                if (snapshot == null) {
+                    continue;
+                }
+                if (snapshot.at() < oldest) {
+                    // a node that stopped writing (replaced pod): its scores age out
+                    log.debug("Ignoring stale score snapshot {} from {}", file, snapshot.at());
+                    continue;
+                }
+                snapshot.levels().forEach((level, roles) ->
+                        merge(merged.computeIfAbsent(level, l -> new HashMap<>()), roles));
+            }
+        } catch (IOException e) {
+            // no directory yet, or unreadable: keep comparing against local scores only
+            log.debug("Reading score snapshots from {} failed: {}", snapshotDir, e.getMessage());
+        }
+        remote = merged;
+    }
+
+    private void loadOwnSnapshot() {
+        Path own = snapshotDir.resolve(nodeId + SNAPSHOT_SUFFIX);
+        if (!Files.exists(own)) {
+            return;
+        }
+        Snapshot snapshot = read(own);
+        if (snapshot == null) {
+            return;
+        }
+        snapshot.levels().forEach((level, roles) -> roles.forEach((role, counts) -> {
+            AtomicLongArray histogram = local.get(level).computeIfAbsent(role, r -> new AtomicLongArray(BUCKETS));
+            for (int b = 0; b < BUCKETS; b++) {
+                histogram.addAndGet(b, counts[b]);
+            }
+        }));
+        log.info("Score benchmarks: restored {} levels from {}", snapshot.levels().size(), own);
+    }
+
+    // null (and a warning) for a file that is not a valid snapshot
+    private Snapshot read(Path file) {
+        try {
+            Snapshot snapshot = objectMapper.readValue(file.toFile(), Snapshot.class);
+            if (snapshot.levels() == null || snapshot.levels().values().stream()
+                    .anyMatch(roles -> roles == null
+                            || roles.values().stream().anyMatch(c -> c == null || c.length != BUCKETS))) {
+                throw new IOException("expected " + BUCKETS + " buckets per level and role");
+            }
+            return snapshot;
+        } catch (IOException e) {
+            log.warn("Skipping score snapshot {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Writing score snapshot to {} failed: {}", snapshotDir, e.getMessage());
+        }
+    }
+
+    private static void merge(Map<String, long[]> into, Map<String, long[]> roles) {
+        roles.forEach((role, counts) -> {
+            long[] sum = into.computeIfAbsent(role, r -> new long[BUCKETS]);
+            for (int b = 0; b < BUCKETS; b++) {
+                sum[b] += counts[b];
+            }
+        });
+    }
+
+    private static Map<String, long[]> copy(Map<String, AtomicLongArray> histograms) {
+        Map<String, long[]> copy = new LinkedHashMap<>();
+        histograms.forEach((role, histogram) -> {
+            long[] counts = new long[BUCKETS];
+            for (int b = 0; b < BUCKETS; b++) {
+                counts[b] = histogram.get(b);
+            }
+            copy.put(role, counts);
+        });
+        return copy;
+    }
+
+    private static int bucket(double score) {
+        return (int) Math.max(0, Math.min(100, Math.round(score)));
+    }
+}
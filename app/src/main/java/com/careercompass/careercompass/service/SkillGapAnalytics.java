@@ -0,0 +1,325 @@
+package com.careercompass.careercompass.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Most frequently missing and matched skills per role, across all analyses,
+ * in fixed memory.
+ *
+ * Time is cut into {@code analytics.skills.windows} windows of
+ * {@code analytics.skills.window-seconds} in a ring; when a new one starts it
+ * replaces the oldest, so a record racing the rotation lands in the old
+ * window, never in a half-cleared one. Each window counts role + skill pairs
+ * in a lock-free {@link CountMinSketch} and tracks candidate heavy hitters
+ * per role in {@link SpaceSaving} summaries of {@code analytics.skills.top-k}
+ * skills, so a quiet role's gaps are never evicted by a busy one. Up to
+ * {@code analytics.skills.max-roles} roles per window get their own
+ * summaries; the rest share one. Each summary is striped by thread and the
+ * stripes are merged when reporting, so concurrent analyses of the same role
+ * (most are {@value #UNSPECIFIED_ROLE}) do not lock each other; memory stays
+ * fixed. Reports weigh
+ * a window {@code decay^age} (the current window 1), so recent analyses
+ * dominate and old ones fade out.
+ *
+ * The role is the AI profile's role focus when there is one, otherwise
+ * {@value #UNSPECIFIED_ROLE}.
+ */
+@Service
+public class SkillGapAnalytics {
+
+    public static final String UNSPECIFIED_ROLE = "unspecified";
+
+    private static final int MAX_ROLE_LENGTH = 60;
+    private static final char SEP = '\u0000';
+
+    /** One skill with its decayed count. */
+    public record SkillCount(String skill, long count) {
+    }
+
+    /** Top missing / matched skills for one role. */
+    public record RoleGaps(String role, long analyses, List<SkillCount> missing, List<SkillCount> matched) {
+    }
+
+    /** Report over the live windows; counts are decayed, then rounded. */
+    public record Report(long windowSeconds, int windows, double decay, long analyses, List<RoleGaps> roles) {
+    }
+
+    private final long windowMillis;
+    private final double decay;
+    private final int windows;
+    // null until a slot's first window starts
+    private final AtomicReferenceArray<Window> ring;
+    private final int sketchWidth;
+    private final int topK;
+    private final int maxRoles;
+    private final int stripes;
+    private final LongSupplier clock;
+
+    @Autowired
+    public SkillGapAnalytics(@Value("${analytics.skills.window-seconds:3600}") long windowSeconds,
+                             @Value("${analytics.skills.windows:24}") int windows,
+                             @Value("${analytics.skills.decay:0.8}") double decay,
+                             @Value("${analytics.skills.sketch-width:2048}") int sketchWidth,
+                             @Value("${analytics.skills.top-k:64}") int topK,
+                             @Value("${analytics.skills.max-roles:32}") int maxRoles) {
+        this(windowSeconds, windows, decay, sketchWidth, topK, maxRoles,
+                Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors())), System::currentTimeMillis);
+    }
+
+    /** @param stripes a power of two; {@code clock} in epoch milliseconds */
+    SkillGapAnalytics(long windowSeconds, int windows, double decay, int sketchWidth, int topK, int maxRoles,
+                      int stripes, LongSupplier clock) {
+        if (windowSeconds < 1 || windows < 1 || decay <= 0.0 || decay > 1.0 || topK < 1 || maxRoles < 0) {
+            throw new IllegalArgumentException("analytics.skills needs window-seconds >= 1, windows >= 1, "
+                    + "0 < decay <= 1, top-k >= 1 and max-roles >= 0");
+        }
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Skill-gap stripes must be a power of two, got " + stripes);
+        }
+        this.windowMillis = windowSeconds * 1000L;
+        this.decay = decay;
+        this.windows = windows;
+        this.ring = new AtomicReferenceArray<>(windows);
+        this.sketchWidth = sketchWidth;
+        this.topK = topK;
+        this.maxRoles = maxRoles;
+        this.stripes = stripes;
+        this.clock = clock;
+    }
+
+    /** Counts one finished analysis. */
+    public void record(String roleFocus, List<String> missingSkills, List<String> matchedSkills) {
+        String role = role(roleFocus);
+        Window window = current();
+        int stripe = stripe(Thread.currentThread().getId(), stripes);
+
+        window.analyses.increment();
+        window.sketch.add(roleKey(role), 1);
+        Candidates own = window.candidates(role, maxRoles, topK, stripes);
+        if (own != null) {
+            count(window, own.missing[stripe], 'm', role, "", missingSkills);
+            count(window, own.matched[stripe], 'h', role, "", matchedSkills);
+        } else {
+            window.overflowRoles[stripe].offer(role, 1);
+            count(window, window.overflow.missing[stripe], 'm', role, role + SEP, missingSkills);
+            count(window, window.overflow.matched[stripe], 'h', role, role + SEP, matchedSkills);
+        }
+    }
+
+    /**
+     * @param role       only this role (any case); null for the busiest roles
+     * @param maxRoles   roles to report when {@code role} is null
+     * @param maxSkills  skills per list
+     */
+    public Report report(String role, int maxRoles, int maxSkills) {
+        long epoch = epoch();
+        List<Window> live = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (int i = 0; i < windows; i++) {
+            Window window = ring.get(i);
+            long age = window == null ? -1 : epoch - window.epoch;
+            if (age >= 0 && age < windows) {
+                live.add(window);
+                weights.add(Math.pow(decay, age));
+            }
+        }
+
+        double analyses = 0;
+        for (int i = 0; i < live.size(); i++) {
+            analyses += weights.get(i) * live.get(i).analyses.sum();
+        }
+
+        List<String> roles;
+        if (role != null) {
+            roles = List.of(role(role));
+        } else {
+            Set<String> candidates = new HashSet<>();
+            for (Window window : live) {
+                candidates.addAll(window.byRole.keySet());
+                addKeys(candidates, window.overflowRoles);
+            }
+            roles = top(candidates, live, weights, SkillGapAnalytics::roleKey, maxRoles).stream()
+                    .map(SkillCount::skill)
+                    .toList();
+        }
+
+        List<RoleGaps> gaps = new ArrayList<>(roles.size());
+        for (String r : roles) {
+            long roleAnalyses = Math.round(estimate(roleKey(r), live, weights));
+            gaps.add(new RoleGaps(r, roleAnalyses,
+                    skills(r, 'm', live, weights, maxSkills), skills(r, 'h', live, weights, maxSkills)));
+        }
+        return new Report(windowMillis / 1000L, windows, decay, Math.round(analyses), gaps);
+    }
+
+    /** The missing-skill summary this thread records {@code roleFocus} into, or null; for tests. */
+    SpaceSaving missingSummary(String roleFocus) {
+        Candidates own = current().byRole.get(role(roleFocus));
+        return own == null ? null : own.missing[stripe(Thread.currentThread().getId(), stripes)];
+    }
+
+    // Fibonacci hashing: pool threads have consecutive ids, any stride spreads evenly
+    static int stripe(long threadId, int stripes) {
+        return (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32) & (stripes - 1);
+    }
+
+    // -------------------------
+    // HELPERS
+    // -------------------------
+
+    // summaryPrefix: "" in a role's own summary, role + SEP in the shared overflow one
+    private void count(Window window, SpaceSaving summary, char kind, String role, String summaryPrefix,
+                       List<String> skills) {
+        if (skills == null) {
+            return;
+        }
+        for (String skill : skills) {
+            if (skill == null || skill.isBlank()) {
+                continue;
+            }
+            window.sketch.add(kind + role + SEP + skill, 1);
+            summary.offer(summaryPrefix + skill, 1);
+        }
+    }
+
+    private List<SkillCount> skills(String role, char kind, List<Window> live, List<Double> weights, int max) {
+        String prefix = role + SEP;
+        Set<String> candidates = new HashSet<>();
+        for (Window window : live) {
+            Candidates own = window.byRole.get(role);
+            if (own != null) {
+                addKeys(candidates, kind == 'm' ? own.missing : own.matched);
+            }
+            for (SpaceSaving stripe : kind == 'm' ? window.overflow.missing : window.overflow.matched) {
+                for (String pair : stripe.keys()) {
+                    if (pair.startsWith(prefix)) {
+                        candidates.add(pair.substring(prefix.length()));
+                    }
+                }
+            }
+        }
+        return top(candidates, live, weights, skill -> kind + prefix + skill, max);
+    }
+
+    private List<SkillCount> top(Set<String> candidates, List<Window> live, List<Double> weights,
+                                 Function<String, String> sketchKey, int max) {
+        List<SkillCount> counted = new ArrayList<>(candidates.size());
+        for (String candidate : candidates) {
+            long count = Math.round(estimate(sketchKey.apply(candidate), live, weights));
+            if (count > 0) {
+                counted.add(new SkillCount(candidate, count));
+            }
+        }
+        counted.sort(Comparator.comparingLong(SkillCount::count).reversed().thenComparing(SkillCount::skill));
+        return counted.size() > max ? counted.subList(0, max) : counted;
+    }
+
+    private static void addKeys(Set<String> into, SpaceSaving[] stripes) {
+        for (SpaceSaving stripe : stripes) {
+            into.addAll(stripe.keys());
+        }
+    }
+
+    private static double estimate(String key, List<Window> live, List<Double> weights) {
+        double total = 0;
+        for (int i = 0; i < live.size(); i++) {
+            total += weights.get(i) * live.get(i).sketch.estimate(key);
+        }
+        return total;
+    }
+
+    private long epoch() {
+        return Math.floorDiv(clock.getAsLong(), windowMillis);
+    }
+
+    // the window for now; a fresh one replaces the slot's older window, so
+    // in-flight records on that one never see it cleared under them
+    private Window current() {
+        long epoch = epoch();
+        int slot = (int) Math.floorMod(epoch, (long) windows);
+        while (true) {
+            Window window = ring.get(slot);
+            // a newer window already: a record from a thread that read the clock late
+            if (window != null && window.epoch >= epoch) {
+                return window;
+            }
+            Window fresh = new Window(epoch, sketchWidth, topK, stripes);
+            if (ring.compareAndSet(slot, window, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static String roleKey(String role) {
+        return "r" + role;
+    }
+
+    static String role(String roleFocus) {
+        if (roleFocus == null || roleFocus.isBlank()) {
+            return UNSPECIFIED_ROLE;
+        }
+        String role = roleFocus.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return role.length() > MAX_ROLE_LENGTH ? role.substring(0, MAX_ROLE_LENGTH) : role;
+    }
+
+    // one summary per stripe; a stripe's map only allocates once a thread records into it
+    private static final class Candidates {
+        final SpaceSaving[] missing;
+        final SpaceSaving[] matched;
+
+        Candidates(int topK, int stripes) {
+            this.missing = summaries(topK, stripes);
+            this.matched = summaries(topK, stripes);
+        }
+    }
+
+    private static SpaceSaving[] summaries(int topK, int stripes) {
+        SpaceSaving[] summaries = new SpaceSaving[stripes];
+        for (int i = 0; i < stripes; i++) {
+            summaries[i] = new SpaceSaving(topK);
+        }
+        return summaries;
+    }
+
+    private static final class Window {
+        final long epoch;
+        final CountMinSketch sketch;
+        final LongAdder analyses = new LongAdder();
+        // skill candidates per role, up to max-roles
+        final Map<String, Candidates> byRole = new ConcurrentHashMap<>();
+        // roles past max-roles: their candidates keyed role + SEP + skill, and the roles themselves
+        final Candidates overflow;
+        final SpaceSaving[] overflowRoles;
+
+        Window(long epoch, int sketchWidth, int topK, int stripes) {
+            this.epoch = epoch;
+            this.sketch = new CountMinSketch(4, sketchWidth);
+            this.overflow = new Candidates(topK, stripes);
+            this.overflowRoles = summaries(topK, stripes);
+        }
+
+        // null once max-roles other roles have their own (the size check races, so "about")
+        Candidates candidates(String role, int maxRoles, int topK, int stripes) {
+            Candidates own = byRole.get(role);
+            if (own != null || byRole.size() >= maxRoles) {
+                return own;
+            }
+            return byRole.computeIfAbsent(role, r -> new Candidates(topK, stripes));
+        }
+    }
+}
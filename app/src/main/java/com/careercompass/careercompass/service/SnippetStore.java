@@ -0,0 +1,237 @@
+package com.careercompass.careercompass.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Compact binary knowledge base, memory-mapped read-only at startup.
+ *
+ * Layout (big-endian ints, every offset in bytes from the start of the file):
+ * <pre>
+ * header    magic "CKB1", version, snippetCount, keywordCount,
+ *           recordsOffset, keywordsOffset, intsOffset, stringsOffset
+ * records   per snippet: idOff, idLen, topicOff, topicLen, categoryOff, categoryLen,
+ *           adviceOff, adviceLen, keywordRefStart, keywordRefCount
+ * keywords  per distinct keyword: strOff, strLen, postingStart, postingCount
+ * ints      keyword refs of every snippet, then keyword postings (snippet positions)
+ * strings   UTF-8 bodies; *Off/*Len above are relative to stringsOffset
+ * </pre>
+ *
+ * Ids, topics, categories and keywords are small and decoded on open. Advice text
+ * is decoded from the mapping each time {@link KnowledgeSnippet#getAdviceText()}
+ * is called, so it only reaches the heap for snippets that are actually used.
+ * The keyword index is stored pre-built and loaded straight into
+ * {@link KeywordSnippetIndex}.
+ */
+final class SnippetStore {
+
+    static final int MAGIC = 0x434B4231;    // "CKB1"
+    static final int VERSION = 1;
+
+    private static final int HEADER_INTS = 8;
+    private static final int RECORD_INTS = 10;
+    private static final int KEYWORD_INTS = 4;
+
+    private final ByteBuffer buffer;
+    private final int stringsOffset;
+    private final List<KnowledgeSnippet> snippets;
+    private final KeywordSnippetIndex keywordIndex;
+
+    private SnippetStore(Path path, ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_INTS * 4 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a snippet store: " + path);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported snippet store version " + version + ": " + path);
+        }
+
+        int snippetCount = buffer.getInt(8);
+        int keywordCount = buffer.getInt(12);
+        int recordsOffset = buffer.getInt(16);
+        int keywordsOffset = buffer.getInt(20);
+        int intsOffset = buffer.getInt(24);
+        this.stringsOffset = buffer.getInt(28);
+        if (snippetCount < 0 || keywordCount < 0
+                || recordsOffset + (long) snippetCount * RECORD_INTS * 4 > keywordsOffset
+                || keywordsOffset + (long) keywordCount * KEYWORD_INTS * 4 > intsOffset
+                || intsOffset > stringsOffset || stringsOffset > buffer.capacity()) {
+            throw new IOException("Corrupt snippet store header: " + path);
+        }
+
+        String[] keywords = new String[keywordCount];
+        int[][] postings = new int[keywordCount][];
+        for (int k = 0; k < keywordCount; k++) {
+            int at = keywordsOffset + k * KEYWORD_INTS * 4;
+            keywords[k] = decode(buffer.getInt(at), buffer.getInt(at + 4));
+            postings[k] = readInts(intsOffset, buffer.getInt(at + 8), buffer.getInt(at + 12));
+        }
+
+        List<KnowledgeSnippet> loaded = new ArrayList<>(snippetCount);
+        for (int i = 0; i < snippetCount; i++) {
+            int at = recordsOffset + i * RECORD_INTS * 4;
+            int adviceOff = buffer.getInt(at + 24);
+            int adviceLen = buffer.getInt(at + 28);
+            checkString(adviceOff, adviceLen);
+
+            List<String> snippetKeywords = new ArrayList<>();
+            for (int ref : readInts(intsOffset, buffer.getInt(at + 32), buffer.getInt(at + 36))) {
+                snippetKeywords.add(keywords[ref]);
+            }
+
+            loaded.add(new KnowledgeSnippet(
+                    decode(buffer.getInt(at), buffer.getInt(at + 4)),
+                    decode(buffer.getInt(at + 8), buffer.getInt(at + 12)),
+                    decode(buffer.getInt(at + 16), buffer.getInt(at + 20)),
+                    List.copyOf(snippetKeywords),
+                    () -> decode(adviceOff, adviceLen)));
+        }
+
+        this.snippets = List.copyOf(loaded);
+        this.keywordIndex = new KeywordSnippetIndex(snippets, keywords, postings);
+    }
+
+    static SnippetStore open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snippet store larger than 2 GB: " + path);
+            }
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SnippetStore(path, mapped);
+        }
+    }
+
+    List<KnowledgeSnippet> snippets() {
+        return snippets;
+    }
+
+    KeywordSnippetIndex keywordIndex() {
+        return keywordIndex;
+    }
+
+    private String decode(int off, int len) {
+        checkString(off, len);
+        byte[] bytes = new byte[len];
+        buffer.get(stringsOffset + off, bytes);    // absolute get: safe to share across threads
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void checkString(int off, int len) {
+        if (off < 0 || len < 0 || (long) stringsOffset + off + len > buffer.capacity()) {
+            throw new IllegalStateException("Snippet store string out of bounds: " + off + "+" + len);
+        }
+    }
+
+    private int[] readInts(int intsOffset, int start, int count) {
+        if (start < 0 || count < 0 || intsOffset + ((long) start + count) * 4 > stringsOffset) {
+            throw new IllegalStateException("Snippet store int range out of bounds: " + start + "+" + count);
+        }
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = buffer.getInt(intsOffset + (start + i) * 4);
+        }
+        return values;
+    }
+
+    // -------------------------
+    // WRITING
+    // -------------------------
+
+    static void write(List<KnowledgeSnippet> snippets, Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(snippets, out);
+        }
+    }
+
+    static void write(List<KnowledgeSnippet> snippets, OutputStream target) throws IOException {
+        KeywordSnippetIndex index = new KeywordSnippetIndex(snippets);
+        String[] keywords = index.keywords();
+        int[][] postings = index.postings();
+
+        Map<String, Integer> keywordIds = new HashMap<>();
+        for (int k = 0; k < keywords.length; k++) {
+            keywordIds.put(keywords[k], k);
+        }
+
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        List<Integer> ints = new ArrayList<>();
+
+        int[][] records = new int[snippets.size()][];
+        for (int i = 0; i < snippets.size(); i++) {
+            KnowledgeSnippet s = snippets.get(i);
+            int[] r = new int[RECORD_INTS];
+            putString(strings, s.getId(), r, 0);
+            putString(strings, s.getTopic(), r, 2);
+            putString(strings, s.getCategory(), r, 4);
+            putString(strings, s.getAdviceText(), r, 6);
+            r[8] = ints.size();
+            r[9] = s.getKeywords().size();
+            for (String kw : s.getKeywords()) {
+                ints.add(keywordIds.get(kw.toLowerCase()));
+            }
+            records[i] = r;
+        }
+
+        int[][] keywordEntries = new int[keywords.length][];
+        for (int k = 0; k < keywords.length; k++) {
+            int[] e = new int[KEYWORD_INTS];
+            putString(strings, keywords[k], e, 0);
+            e[2] = ints.size();
+            e[3] = postings[k].length;
+            for (int p : postings[k]) {
+                ints.add(p);
+            }
+            keywordEntries[k] = e;
+        }
+
+        int recordsOffset = HEADER_INTS * 4;
+        int keywordsOffset = recordsOffset + records.length * RECORD_INTS * 4;
+        int intsOffset = keywordsOffset + keywordEntries.length * KEYWORD_INTS * 4;
+        int stringsOffset = intsOffset + ints.size() * 4;
+
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(records.length);
+        out.writeInt(keywordEntries.length);
+        out.writeInt(recordsOffset);
+        out.writeInt(keywordsOffset);
+        out.writeInt(intsOffset);
+        out.writeInt(stringsOffset);
+        for (int[] r : records) {
+            for (int v : r) {
+                out.writeInt(v);
+            }
+        }
+        for (int[] e : keywordEntries) {
+            for (int v : e) {
+                out.writeInt(v);
+            }
+        }
+        for (int v : ints) {
+            out.writeInt(v);
+        }
+        strings.writeTo(out);
+        out.flush();
+    }
+
+    private static void putString(ByteArrayOutputStream strings, String value, int[] slots, int at) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        slots[at] = strings.size();
+        slots[at + 1] = bytes.length;
+        strings.writeBytes(bytes);
+    }
+}
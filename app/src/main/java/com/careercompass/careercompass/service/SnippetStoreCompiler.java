@@ -0,0 +1,97 @@
+package com.careercompass.careercompass.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command-line tool for the knowledge-base content pipeline.
+ *
+ * <pre>
+ * export  &lt;out.jsonl&gt;                 write the built-in snippets as JSON lines
+ * compile &lt;out.ckb&gt; [in.jsonl]        compile JSON lines (or the built-ins) into a {@link SnippetStore}
+ * </pre>
+ *
+ * Each JSON line holds {@code id}, {@code topic}, {@code category},
+ * {@code keywords} (array) and {@code adviceText}. Point
+ * {@code knowledge.store.path} at the compiled file to serve it without
+ * rebuilding the application.
+ */
+public final class SnippetStoreCompiler {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SnippetStoreCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2 && "export".equals(args[0])) {
+            exportJsonl(CareerKnowledgeBase.builtInSnippets(), Path.of(args[1]));
+            System.out.println("Exported built-in snippets to " + args[1]);
+        } else if ((args.length == 2 || args.length == 3) && "compile".equals(args[0])) {
+            List<KnowledgeSnippet> snippets = args.length == 3
+                    ? readJsonl(Path.of(args[2]))
+                    : CareerKnowledgeBase.builtInSnippets();
+            SnippetStore.write(snippets, Path.of(args[1]));
+            System.out.println("Compiled " + snippets.size() + " snippets into " + args[1]);
+        } else {
+            System.err.println("usage: SnippetStoreCompiler export <out.jsonl>");
+            System.err.println("       SnippetStoreCompiler compile <out.ckb> [in.jsonl]");
+            System.exit(2);
+        }
+    }
+
+    static List<KnowledgeSnippet> readJsonl(Path path) throws IOException {
+        List<KnowledgeSnippet> snippets = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = MAPPER.readTree(line);
+                String id = node.path("id").asText("");
+                String advice = node.path("adviceText").asText("");
+                if (id.isBlank() || advice.isBlank()) {
+                    throw new IOException(path + ":" + lineNo + ": id and adviceText are required");
+                }
+                List<String> keywords = new ArrayList<>();
+                for (JsonNode kw : node.path("keywords")) {
+                    keywords.add(kw.asText().toLowerCase());
+                }
+                snippets.add(new KnowledgeSnippet(id,
+                        node.path("topic").asText(""),
+                        node.path("category").asText(""),
+                        List.copyOf(keywords),
+                        advice));
+            }
+        }
+        return snippets;
+    }
+
+    static void exportJsonl(List<KnowledgeSnippet> snippets, Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (KnowledgeSnippet s : snippets) {
+                ObjectNode node = MAPPER.createObjectNode();
+                node.put("id", s.getId());
+                node.put("topic", s.getTopic());
+                node.put("category", s.getCategory());
+                s.getKeywords().forEach(node.putArray("keywords")::add);
+                node.put("adviceText", s.getAdviceText());
+                writer.write(MAPPER.writeValueAsString(node));
+                writer.newLine();
+            }
+        }
+    }
+}
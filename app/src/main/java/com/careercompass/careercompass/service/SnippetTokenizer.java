@@ -0,0 +1,83 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tokenizer shared by the lexical and vector snippet indexes.
+ *
+ * Lowercases, splits on anything that is not a letter, digit or one of
+ * {@code + # .} (so "c++", "c#" and "node.js" survive), drops stopwords and
+ * folds simple plurals ("interviews" -> "interview") so questions and advice
+ * text meet on the same terms.
+ */
+final class SnippetTokenizer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "can", "do", "does", "for", "from",
+            "get", "has", "have", "how", "i", "if", "in", "into", "is", "it", "its", "just", "me", "my",
+            "not", "of", "on", "or", "our", "should", "so", "than", "that", "the", "their", "them",
+            "then", "there", "these", "they", "this", "to", "up", "was", "we", "what", "when", "which",
+            "while", "who", "why", "will", "with", "would", "you", "your", "yours", "like", "also",
+            "more", "most", "some", "such", "any", "all", "one", "even", "instead", "only", "very");
+
+    private SnippetTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        int len = text.length();
+        int i = 0;
+        while (i < len) {
+            while (i < len && !isTokenChar(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < len && isTokenChar(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                String token = normalize(text.substring(start, i));
+                if (token != null) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#' || c == '.';
+    }
+
+    private static String normalize(String raw) {
+        // trim sentence punctuation: "resume." -> "resume", keep inner dots (node.js)
+        int start = 0;
+        int end = raw.length();
+        while (start < end && raw.charAt(start) == '.') {
+            start++;
+        }
+        while (end > start && raw.charAt(end - 1) == '.') {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        String token = raw.substring(start, end).toLowerCase();
+        if (STOPWORDS.contains(token)) {
+            return null;
+        }
+
+        // light plural folding
+        if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+            token = token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+}
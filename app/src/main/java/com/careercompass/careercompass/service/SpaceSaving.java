@@ -0,0 +1,63 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy hitters: at most {@code capacity} monitored keys. A new
+ * key, once full, takes over the slot of the smallest count and inherits that
+ * count as its error. Any key seen more than {@code total / capacity} times is
+ * guaranteed to be monitored.
+ *
+ * Synchronized; {@link SkillGapAnalytics} keeps one per role, window and
+ * thread stripe, so concurrent analyses rarely share one.
+ */
+final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, long[]> counts;    // key -> { count, error }
+
+    SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Space-Saving capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counts = new HashMap<>(capacity * 2);
+    }
+
+    synchronized void offer(String key, long count) {
+        long[] entry = counts.get(key);
+        if (entry != null) {
+            entry[0] += count;
+            return;
+        }
+        if (counts.size() < capacity) {
+            counts.put(key, new long[] { count, 0 });
+            return;
+        }
+
+        // capacity is small, a scan beats keeping a heap in sync
+        String minKey = null;
+        long[] min = null;
+        for (Map.Entry<String, long[]> e : counts.entrySet()) {
+            if (min == null || e.getValue()[0] < min[0]) {
+                minKey = e.getKey();
+                min = e.getValue();
+            }
+        }
+        counts.remove(minKey);
+        counts.put(key, new long[] { min[0] + count, min[0] });
+    }
+
+    /** @return the monitored keys */
+    synchronized List<String> keys() {
+        return new ArrayList<>(counts.keySet());
+    }
+
+    synchronized long count(String key) {
+        long[] entry = counts.get(key);
+        return entry == null ? 0 : entry[0];
+    }
+}
@@ -0,0 +1,48 @@
+package com.careercompass.careercompass.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded top-k selection shared by the snippet indexes.
+ */
+final class TopSnippets {
+
+    private TopSnippets() {
+    }
+
+    /**
+     * Keeps the best {@code limit} of {@code candidates[0..candidateCount)} in a
+     * min-heap (the root is always the one to evict) and returns them best first.
+     * Ties keep knowledge-base order.
+     */
+    static List<KnowledgeSnippet> select(List<KnowledgeSnippet> snippets,
+                                         float[] scores,
+                                         int[] candidates,
+                                         int candidateCount,
+                                         int limit) {
+        if (candidateCount == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        Comparator<Integer> worstFirst = (a, b) -> scores[a] != scores[b]
+                ? Float.compare(scores[a], scores[b])
+                : Integer.compare(b, a);
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, worstFirst);
+
+        for (int i = 0; i < candidateCount; i++) {
+            best.offer(candidates[i]);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        KnowledgeSnippet[] result = new KnowledgeSnippet[best.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = snippets.get(best.poll());
+        }
+        return Arrays.asList(result);
+    }
+}
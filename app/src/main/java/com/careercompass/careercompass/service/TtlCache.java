@@ -0,0 +1,113 @@
+package com.careercompass.careercompass.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Small concurrent map whose entries expire a fixed time after they are put.
+ *
+ * Every entry has the same TTL, so put order is expiry order: puts append to a
+ * queue, and expired entries (then, when the map is full, the ones closest to
+ * expiry) are evicted from its head in O(1) each. Expired entries are also
+ * dropped when read. Reads are lock-free; puts are serialized.
+ */
+final class TtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    // queue slot for one put; stale once its key was put again, removed or expired on read
+    private record Slot<K, V>(K key, Entry<V> entry) {
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    // guarded by itself
+    private final ArrayDeque<Slot<K, V>> order = new ArrayDeque<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    TtlCache(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    /** @throws IllegalArgumentException if {@code maxEntries} is less than 1 */
+    TtlCache(Duration ttl, int maxEntries, LongSupplier clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("max-entries must be at least 1, got " + maxEntries);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    void put(K key, V value) {
+        synchronized (order) {
+            long now = clock.getAsLong();
+            evictExpired(now);
+            if (!entries.containsKey(key)) {
+                while (entries.size() >= maxEntries && evictOldest()) {
+                    // until there is room
+                }
+            }
+            Entry<V> entry = new Entry<>(value, now + ttlNanos);
+            entries.put(key, entry);
+            order.addLast(new Slot<>(key, entry));
+            if (order.size() > 2 * maxEntries) {
+                // slots left behind by re-put or removed keys; amortized O(1) per put
+                order.removeIf(this::stale);
+            }
+        }
+    }
+
+    /** @return the value, or null if absent or expired */
+    V get(K key) {
+        Entry<V> e = entries.get(key);
+        if (e == null) {
+            return null;
+        }
+        if (clock.getAsLong() - e.expiresAt() >= 0) {
+            entries.remove(key, e);
+            return null;
+        }
+        return e.value();
+    }
+
+    void remove(K key) {
+        entries.remove(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        Slot<K, V> head;
+        while ((head = order.peekFirst()) != null && (stale(head) || now - head.entry().expiresAt() >= 0)) {
+            order.pollFirst();
+            removeIfCurrent(head);
+        }
+    }
+
+    // false once the queue is empty, so a full map can never spin
+    private boolean evictOldest() {
+        Slot<K, V> head = order.pollFirst();
+        if (head == null) {
+            return false;
+        }
+        removeIfCurrent(head);
+        return true;
+    }
+
+    // by identity: a re-put with an equal value and the same expiry must survive
+    private void removeIfCurrent(Slot<K, V> slot) {
+        entries.computeIfPresent(slot.key(), (k, e) -> e == slot.entry() ? null : e);
+    }
+
+    private boolean stale(Slot<K, V> slot) {
+        return entries.get(slot.key()) != slot.entry();
+    }
+}
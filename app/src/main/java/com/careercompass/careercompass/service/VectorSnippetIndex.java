@@ -0,0 +1,198 @@
+package com.careercompass.careercompass.service;
+
+import java.util.*;
+
+/**
+ * Local dense-vector retrieval over each snippet's topic and advice text.
+ *
+ * Every text is embedded without a model or network call: its words, plus a
+ * {@value #STEM_LENGTH}-letter prefix of longer words as a crude stem, are hashed into {@link #DIM} signed buckets
+ * (the hashing trick), weighted by sublinear TF times IDF and L2-normalised.
+ * IDF is kept per feature hash in a sorted {@code int[]}, so no vocabulary of
+ * strings is retained and query features the corpus never saw weigh nothing.
+ * The stems let "interviewing" meet "interviewer" and "rejected" meet
+ * "rejection", which the exact-term rankers miss.
+ *
+ * All snippet vectors live in one contiguous {@code float[]} in dimension-major
+ * order ({@code vectors[dim * n + doc]}). A query vector is sparse, so search
+ * walks only its non-zero dimensions and adds {@code q[dim] * column} into a
+ * score array: a plain multiply-add over contiguous floats that C2 turns into
+ * SIMD, with no per-document reduction. Cosine similarity is the resulting dot
+ * product; top-k selection goes through {@link TopSnippets}.
+ *
+ * Query features come from the question, the missing skills and the role focus,
+ * weighted 0.75 / 1.0 / 0.5 like the BM25 ranker.
+ */
+class VectorSnippetIndex {
+
+    static final int DIM = 512;    // power of two
+
+    static final int STEM_LENGTH = 6;
+    private static final float STEM_WEIGHT = 0.5f;
+    private static final float TOPIC_BOOST = 2f;
+
+    // Below this cosine a snippet only shares hash noise or a stray stem with the query
+    static final float MIN_SIMILARITY = 0.08f;
+
+    private static final int WORD_SEED = 0x9747b28c;
+    private static final int STEM_SEED = 0x5bd1e995;
+
+    private final List<KnowledgeSnippet> snippets;
+    private final int n;
+    private final float[] vectors;         // DIM * n, dimension-major
+    private final int[] featureHashes;     // sorted
+    private final float[] featureIdf;      // parallel to featureHashes
+
+    VectorSnippetIndex(List<KnowledgeSnippet> snippets) {
+        this.snippets = snippets;
+        this.n = snippets.size();
+
+        // 1) per-document feature counts, keyed by the full 32-bit feature hash
+        List<Map<Integer, Float>> docFeatures = new ArrayList<>(n);
+        Map<Integer, Integer> df = new HashMap<>();
+        for (KnowledgeSnippet s : snippets) {
+            Map<Integer, Float> counts = new HashMap<>();
+            addFeatures(counts, s.getTopic(), TOPIC_BOOST);
+            addFeatures(counts, s.getAdviceText(), 1f);
+            docFeatures.add(counts);
+            for (int h : counts.keySet()) {
+                df.merge(h, 1, Integer::sum);
+            }
+        }
+
+        featureHashes = df.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        featureIdf = new float[featureHashes.length];
+        for (int f = 0; f < featureHashes.length; f++) {
+            featureIdf[f] = (float) (Math.log((n + 1.0) / (df.get(featureHashes[f]) + 1.0)) + 1.0);
+        }
+
+        // 2) weighted, normalised vectors packed column by column
+        vectors = new float[DIM * n];
+        float[] v = new float[DIM];
+        for (int d = 0; d < n; d++) {
+            if (embed(docFeatures.get(d), v)) {
+                for (int j = 0; j < DIM; j++) {
+                    vectors[j * n + d] = v[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return up to {@code limit} snippets whose cosine similarity to the query
+     *         reaches {@link #MIN_SIMILARITY}, best first (ties keep knowledge-base order)
+     */
+    List<KnowledgeSnippet> search(String question, Collection<String> missingSkills, String role, int limit) {
+        Map<Integer, Float> counts = new HashMap<>();
+        addFeatures(counts, question, Bm25SnippetIndex.QUESTION_WEIGHT);
+        if (missingSkills != null) {
+            for (String skill : missingSkills) {
+                addFeatures(counts, skill, Bm25SnippetIndex.SKILL_WEIGHT);
+            }
+        }
+        addFeatures(counts, role, Bm25SnippetIndex.ROLE_WEIGHT);
+
+        float[] q = new float[DIM];
+        if (n == 0 || limit <= 0 || !embed(counts, q)) {
+            return List.of();
+        }
+
+        float[] scores = new float[n];
+        for (int j = 0; j < DIM; j++) {
+            float qj = q[j];
+            if (qj == 0f) {
+                continue;
+            }
+            int base = j * n;
+            for (int d = 0; d < n; d++) {
+                scores[d] += qj * vectors[base + d];
+            }
+        }
+
+        int[] candidates = new int[n];
+        int candidateCount = 0;
+        for (int d = 0; d < n; d++) {
+            if (scores[d] >= MIN_SIMILARITY) {
+                candidates[candidateCount++] = d;
+            }
+        }
+        return TopSnippets.select(snippets, scores, candidates, candidateCount, limit);
+    }
+
+    /**
+     * Cosine similarity between two texts under this index's weighting; handy
+     * for tests and for checking how a paraphrase lands.
+     */
+    float similarity(String a, String b) {
+        Map<Integer, Float> ca = new HashMap<>();
+        Map<Integer, Float> cb = new HashMap<>();
+        addFeatures(ca, a, 1f);
+        addFeatures(cb, b, 1f);
+        float[] va = new float[DIM];
+        float[] vb = new float[DIM];
+        if (!embed(ca, va) || !embed(cb, vb)) {
+            return 0f;
+        }
+        float dot = 0f;
+        for (int j = 0; j < DIM; j++) {
+            dot += va[j] * vb[j];
+        }
+        return dot;
+    }
+
+    // ---- embedding ----
+
+    /**
+     * Fills {@code out} with the normalised vector for {@code counts};
+     * returns false if nothing the corpus knows survived.
+     */
+    private boolean embed(Map<Integer, Float> counts, float[] out) {
+        Arrays.fill(out, 0f);
+        for (Map.Entry<Integer, Float> e : counts.entrySet()) {
+            int h = e.getKey();
+            int f = Arrays.binarySearch(featureHashes, h);
+            if (f < 0) {
+                continue;
+            }
+            float w = featureIdf[f] * (float) Math.log1p(e.getValue());
+            // low bits pick the dimension, the sign bit the direction
+            out[h & (DIM - 1)] += h < 0 ? -w : w;
+        }
+
+        float norm = 0f;
+        for (float x : out) {
+            norm += x * x;
+        }
+        if (norm == 0f) {
+            return false;
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int j = 0; j < DIM; j++) {
+            out[j] *= inv;
+        }
+        return true;
+    }
+
+    private static void addFeatures(Map<Integer, Float> counts, String text, float weight) {
+        for (String token : SnippetTokenizer.tokenize(text)) {
+            counts.merge(hash(token, 0, token.length(), WORD_SEED), weight, Float::sum);
+            if (token.length() > STEM_LENGTH) {
+                counts.merge(hash(token, 0, STEM_LENGTH, STEM_SEED), weight * STEM_WEIGHT, Float::sum);
+            }
+        }
+    }
+
+    private static int hash(String s, int start, int end, int seed) {
+        // FNV-1a, then the murmur3 finaliser so neighbouring strings spread over all bits
+        int h = seed;
+        for (int i = start; i < end; i++) {
+            h = (h ^ s.charAt(i)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -1,9 +1,12 @@
 package com.careercompass.career_compass;
 
+import com.careercompass.careercompass.CareerCompassApplication;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+@SpringBootTest(classes = CareerCompassApplication.class)
+@ActiveProfiles("test")
 class CareerCompassApplicationTests {
 
 	@Test
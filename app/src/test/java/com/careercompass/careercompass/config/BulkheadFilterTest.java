@@ -0,0 +1,89 @@
+package com.careercompass.careercompass.config;
+
+import com.careercompass.careercompass.CareerCompassApplication;
+import com.careercompass.careercompass.dto.QuestionRequest;
+import com.careercompass.careercompass.loadtest.FakeGroqServer;
+import com.careercompass.careercompass.loadtest.FakeGroqServer.LatencyModel;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * One LLM permit and no waiting room against a slow Groq stand-in: extra LLM
+ * requests are refused while cheap endpoints keep answering.
+ */
+@SpringBootTest(classes = CareerCompassApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "bulkhead.llm.max-concurrent=1", "bulkhead.llm.max-waiting=0" })
+@ActiveProfiles("test")
+@AutoConfigureObservability
+class BulkheadFilterTest {
+
+    private static final FakeGroqServer FAKE_GROQ = startFakeGroq();
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @DynamicPropertySource
+    static void groqProperties(DynamicPropertyRegistry registry) {
+        registry.add("groq.api.url", FAKE_GROQ::url);
+    }
+
+    @AfterAll
+    static void stopFakeGroq() {
+        FAKE_GROQ.close();
+    }
+
+    @Test
+    void excessLlmWorkIsRefusedWhileHealthStaysUp() {
+        QuestionRequest question = new QuestionRequest();
+        question.setQuestion("How do I learn docker?");
+
+        ExecutorService clients = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<ResponseEntity<String>>> asks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            asks.add(CompletableFuture.supplyAsync(() -> rest.postForEntity("/api/ask", question, String.class), clients));
+        }
+        ResponseEntity<String> health = rest.getForEntity("/api/health", String.class);
+        List<ResponseEntity<String>> responses = asks.stream().map(CompletableFuture::join).toList();
+        clients.shutdown();
+
+        assertThat(health.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responses).anyMatch(r -> r.getStatusCode() == HttpStatus.OK);
+        ResponseEntity<String> refused = responses.stream()
+                .filter(r -> r.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)
+                .findFirst().orElseThrow();
+        assertThat(refused.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+
+        String scrape = rest.getForObject("/actuator/prometheus", String.class);
+        assertThat(scrape)
+                .contains("careercompass_bulkhead_rejected_total{application=\"career-compass\",bulkhead=\"llm\"}")
+                .contains("careercompass_bulkhead_waiting{application=\"career-compass\",bulkhead=\"pdf\"}");
+    }
+
+    private static FakeGroqServer startFakeGroq() {
+        try {
+            return FakeGroqServer.builder().latency(LatencyModel.fixed(500)).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
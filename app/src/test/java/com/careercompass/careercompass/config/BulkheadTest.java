@@ -0,0 +1,63 @@
+package com.careercompass.careercompass.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsImmediatelyWhenNoWaitingIsAllowed() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("llm", 1, 0, 0, 5, registry);
+
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(bulkhead.tryEnter()).isFalse();
+        bulkhead.release();
+        assertThat(bulkhead.tryEnter()).isTrue();
+
+        assertThat(registry.get("careercompass.bulkhead.rejected").tag("bulkhead", "llm").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("careercompass.bulkhead.admitted").tag("bulkhead", "llm").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void waiterGetsPermitReleasedWithinMaxWait() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("pdf", 1, 1, 5_000, 2, registry);
+        assertThat(bulkhead.tryEnter()).isTrue();
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.tryEnter();
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        while (bulkhead.waiting() == 0) {
+            Thread.sleep(5);
+        }
+        // the single waiting slot is taken, so a third caller is refused at once
+        assertThat(bulkhead.tryEnter()).isFalse();
+
+        bulkhead.release();
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("careercompass.bulkhead.queued").tag("bulkhead", "pdf").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void waiterGivesUpAfterMaxWait() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("cheap", 1, 5, 20, 1, registry);
+        assertThat(bulkhead.tryEnter()).isTrue();
+
+        assertThat(bulkhead.tryEnter()).isFalse();
+        assertThat(bulkhead.waiting()).isZero();
+        assertThat(bulkhead.active()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.careercompass.careercompass.config;
+
+import com.careercompass.careercompass.CareerCompassApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against target/classes/static as prepared by the process-classes build
+ * step, with a client that does not decode responses itself.
+ */
+@SpringBootTest(classes = CareerCompassApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.compression.min-response-size=16")
+@ActiveProfiles("test")
+class StaticResourceConfigTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .header("Accept-Encoding", acceptEncoding)
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void pagesAreServedPrecompressedAndRevalidated() throws Exception {
+        HttpResponse<byte[]> br = get("/results.html", "gzip, br");
+        HttpResponse<byte[]> gzip = get("/results.html", "gzip");
+
+        assertThat(br.statusCode()).isEqualTo(200);
+        assertThat(br.headers().firstValue("Content-Encoding")).hasValue("br");
+        assertThat(br.headers().allValues("Vary")).anyMatch(v -> v.contains("Accept-Encoding"));
+        assertThat(br.headers().firstValue("Cache-Control")).hasValue("no-cache");
+        assertThat(gzip.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gunzip(gzip.body())).contains("</html>");
+
+        String lastModified = gzip.headers().firstValue("Last-Modified").orElseThrow();
+        HttpResponse<byte[]> revalidated = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/results.html"))
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-Modified-Since", lastModified)
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(revalidated.statusCode()).isEqualTo(304);
+    }
+
+    @Test
+    void fingerprintedAssetsAreImmutable() throws Exception {
+        String home = gunzip(get("/home.html", "gzip").body());
+        Matcher favicon = Pattern.compile("href=\"(/assets/favicon-[0-9a-f]{10}\\.ico)\"").matcher(home);
+        assertThat(favicon.find()).as("home.html links the fingerprinted favicon").isTrue();
+
+        HttpResponse<byte[]> asset = get(favicon.group(1), "identity");
+
+        assertThat(asset.statusCode()).isEqualTo(200);
+        assertThat(asset.headers().firstValue("Cache-Control").orElse(""))
+                .contains("max-age=31536000").contains("immutable");
+    }
+
+    private HttpResponse<byte[]> analyze(String body) throws Exception {
+        return client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/analyze"))
+                        .header("Content-Type", "application/json")
+                        .header("Accept-Encoding", "gzip")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    void jsonApisAreCompressed() throws Exception {
+        HttpResponse<byte[]> progressive = analyze(
+                "{\"jobDescription\":\"Java and SQL\",\"resumeText\":\"Java\",\"enrichment\":\"none\",\"progressive\":true}");
+
+        assertThat(progressive.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gunzip(progressive.body())).contains("\"missingSkills\":[\"sql\"]");
+    }
+
+    @Test
+    void cachedAnalysisIsServedGzippedWithItsOwnStrongEtag() throws Exception {
+        String body = "{\"jobDescription\":\"Java, Spring Boot, SQL, Docker, Kubernetes, AWS, Kafka, React, Python,"
+                + " Terraform, Redis, MongoDB, PostgreSQL, Jenkins, Git, Linux, JavaScript, TypeScript, Node.js,"
+                + " Angular, HTML, CSS, C++, C#, Go, Kotlin, Hibernate, REST API, GraphQL, Microservices, Azure,"
+                + " GCP, Jira, Agile, Machine Learning, TensorFlow, Pandas, NumPy, Excel, Power BI, Tableau\",\"resumeText\":\"Java\","
+                + "\"enrichment\":\"none\"}";
+
+        HttpResponse<byte[]> first = analyze(body);
+        HttpResponse<byte[]> second = analyze(body);
+
+        assertThat(first.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(first.headers().firstValue("ETag").orElseThrow()).startsWith("\"").endsWith("-gz\"");
+        assertThat(gunzip(first.body())).contains("\"typescript\"");
+        assertThat(second.headers().firstValue("X-Analysis-Cache")).hasValue("hit");
+        assertThat(second.body()).isEqualTo(first.body());
+    }
+}
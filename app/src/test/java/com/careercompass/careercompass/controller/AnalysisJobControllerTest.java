@@ -0,0 +1,154 @@
+package com.careercompass.careercompass.controller;
+
+import com.careercompass.careercompass.CareerCompassApplication;
+import com.careercompass.careercompass.dto.AnalysisJob;
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.loadtest.FakeGroqServer;
+import com.careercompass.careercompass.loadtest.FakeGroqServer.LatencyModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Job API against a slow Groq stand-in, with one worker and one slot per lane
+ * so the queue fills quickly.
+ */
+@SpringBootTest(classes = CareerCompassApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "analysis.jobs.workers=1", "analysis.jobs.queue-capacity=1" })
+@ActiveProfiles("test")
+class AnalysisJobControllerTest {
+
+    private static final FakeGroqServer FAKE_GROQ = startFakeGroq();
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @DynamicPropertySource
+    static void groqProperties(DynamicPropertyRegistry registry) {
+        registry.add("groq.api.url", FAKE_GROQ::url);
+    }
+
+    @AfterAll
+    static void stopFakeGroq() {
+        FAKE_GROQ.close();
+    }
+
+    @Test
+    void submittedJobCanBePolledToCompletion() throws InterruptedException {
+        ResponseEntity<AnalysisJob> submitted = rest.postForEntity("/api/jobs?priority=high", request("none"),
+                AnalysisJob.class);
+
+        assertThat(submitted.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(submitted.getHeaders().getLocation()).hasToString("/api/jobs/" + submitted.getBody().getId());
+        assertThat(submitted.getBody().getStatus()).isEqualTo(AnalysisJob.QUEUED);
+
+        AnalysisJob job = awaitFinished(submitted.getBody().getId());
+
+        assertThat(job.getStatus()).isEqualTo(AnalysisJob.DONE);
+        assertThat(job.getPriority()).isEqualTo("high");
+        assertThat(job.getResult().getMatchedSkills()).containsExactly("java");
+    }
+
+    @Test
+    void fullLaneAnswers429WithRetryAfter() {
+        ResponseEntity<String> last = null;
+        for (int i = 0; i < 5; i++) {
+            last = rest.postForEntity("/api/jobs?priority=low", request("full"), String.class);
+            if (last.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                break;
+            }
+        }
+
+        assertThat(last.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(Long.parseLong(last.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))).isPositive();
+    }
+
+    @Test
+    void finishedJobIsPostedToLoopbackCallback() throws Exception {
+        CompletableFuture<AnalysisJob> received = new CompletableFuture<>();
+        HttpServer callback = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        callback.createContext("/done", exchange -> {
+            try {
+                AnalysisJob job = new ObjectMapper().readValue(exchange.getRequestBody(), AnalysisJob.class);
+                exchange.sendResponseHeaders(204, -1);
+                received.complete(job);
+            } finally {
+                exchange.close();
+            }
+        });
+        callback.start();
+        try {
+            String url = "http://127.0.0.1:" + callback.getAddress().getPort() + "/done";
+            AnalysisJob submitted = rest.postForObject("/api/jobs?priority=high&callbackUrl={url}", request("none"),
+                    AnalysisJob.class, url);
+
+            AnalysisJob posted = received.get(15, TimeUnit.SECONDS);
+
+            assertThat(posted.getId()).isEqualTo(submitted.getId());
+            assertThat(posted.getStatus()).isEqualTo(AnalysisJob.DONE);
+            assertThat(posted.getResult()).isNotNull();
+        } finally {
+            callback.stop(0);
+        }
+    }
+
+    @Test
+    void rejectsRemoteCallbacksUnknownPrioritiesAndEnrichmentLevels() {
+        ResponseEntity<String> remote = rest.postForEntity("/api/jobs?callbackUrl={url}", request("none"), String.class,
+                "http://example.com/hook");
+        ResponseEntity<String> priority = rest.postForEntity("/api/jobs?priority=urgent", request("none"), String.class);
+        ResponseEntity<String> enrichment = rest.postForEntity("/api/jobs", request("everything"), String.class);
+        ResponseEntity<String> unknown = rest.getForEntity("/api/jobs/no-such-job", String.class);
+
+        assertThat(remote.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(priority.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(enrichment.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(unknown.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private AnalysisJob awaitFinished(String id) throws InterruptedException {
+        AnalysisJob job = null;
+        for (int i = 0; i < 300; i++) {
+            job = rest.getForObject("/api/jobs/" + id, AnalysisJob.class);
+            if (AnalysisJob.DONE.equals(job.getStatus()) || AnalysisJob.FAILED.equals(job.getStatus())) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        return job;
+    }
+
+    private static AnalysisRequest request(String enrichment) {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Java and SQL developer");
+        request.setResumeText("Built services in Java");
+        request.setEnrichment(enrichment);
+        return request;
+    }
+
+    private static FakeGroqServer startFakeGroq() {
+        try {
+            return FakeGroqServer.builder().latency(LatencyModel.fixed(300)).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.careercompass.careercompass.controller;
+
+import com.careercompass.careercompass.CareerCompassApplication;
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import com.careercompass.careercompass.dto.EnrichmentResult;
+import com.careercompass.careercompass.dto.QuestionRequest;
+import com.careercompass.careercompass.dto.QuestionResponse;
+import com.careercompass.careercompass.dto.ScoreExplanation;
+import com.careercompass.careercompass.engine.ScoreTrace;
+import com.careercompass.careercompass.loadtest.FakeGroqServer;
+import com.careercompass.careercompass.loadtest.FakeGroqServer.PromptType;
+import com.careercompass.careercompass.service.AnalysisStore;
+import com.careercompass.careercompass.service.SkillGapAnalytics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Runs the full analyze / ask pipelines against the embedded Groq stand-in.
+ */
+@SpringBootTest(classes = CareerCompassApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureObservability
+class MatchControllerFakeGroqTest {
+
+    private static final FakeGroqServer FAKE_GROQ = startFakeGroq();
+    private static final Path STORE_DIR = tempDir();
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private AnalysisStore analysisStore;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void groqProperties(DynamicPropertyRegistry registry) {
+        registry.add("groq.api.url", FAKE_GROQ::url);
+        registry.add("analysis.store.enabled", () -> "true");
+        registry.add("analysis.store.path", () -> STORE_DIR.resolve("analyses.log").toString());
+    }
+
+    @AfterAll
+    static void stopFakeGroq() {
+        FAKE_GROQ.close();
+    }
+
+    @Test
+    void analyzeUsesStandInForEveryAiStage() {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Backend developer with Java, Spring Boot, SQL and Docker.");
+        request.setResumeText("PROJECTS\nBuilt REST APIs using Java and Spring Boot with SQL.");
+
+        AnalysisResponse response = rest.postForObject("/api/analyze", request, AnalysisResponse.class);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getMatchedSkills()).contains("java", "spring boot", "sql");
+        assertThat(response.getMissingSkills()).containsExactly("docker");
+        assertThat(response.getTip()).isEqualTo(FakeGroqServer.DEFAULT_TIP);
+        assertThat(response.getSummary()).isEqualTo("You are a reasonable fit with a few clear gaps to close.");
+        assertThat(FAKE_GROQ.requestCount(PromptType.SKILL_PARSE)).isPositive();
+        assertThat(FAKE_GROQ.requestCount(PromptType.TIP)).isPositive();
+        assertThat(FAKE_GROQ.requestCount(PromptType.INSIGHTS)).isPositive();
+    }
+
+    @Test
+    void askAnswersFromStandIn() {
+        QuestionRequest request = new QuestionRequest();
+        request.setQuestion("How do I get better at docker?");
+        request.setResumeText("Java developer");
+        request.setJobDescription("Java, Docker");
+
+        QuestionResponse response = rest.postForObject("/api/ask", request, QuestionResponse.class);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getAnswer()).startsWith("Focus on one project");
+        assertThat(FAKE_GROQ.requestCount(PromptType.CHAT)).isPositive();
+    }
+
+    @Test
+    void pipelineStagesAreExposedForPrometheus() {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Java and SQL developer");
+        request.setResumeText("Built services in Java");
+        rest.postForObject("/api/analyze", request, AnalysisResponse.class);
+
+        String scrape = rest.getForObject("/actuator/prometheus", String.class);
+
+        assertThat(scrape)
+                .contains("careercompass_pipeline_stage_seconds_count{application=\"career-compass\",pipeline=\"analyze\",stage=\"extract_jd\"}")
+                .contains("careercompass_groq_call_seconds_bucket")
+                .contains("outcome=\"success\",prompt=\"tip\"")
+                .contains("careercompass_groq_parse_seconds_count");
+    }
+
+    @Test
+    void progressiveAnalyzeReturnsRuleEngineResultThenEnrichment() throws InterruptedException {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Backend developer with Java, Spring Boot, SQL and Docker.");
+        request.setResumeText("PROJECTS\nBuilt REST APIs using Java and Spring Boot with SQL.");
+        request.setProgressive(true);
+
+        AnalysisResponse initial = rest.postForObject("/api/analyze", request, AnalysisResponse.class);
+
+        assertThat(initial.getEnrichmentStatus()).isEqualTo("pending");
+        assertThat(initial.getEnrichmentId()).isNotBlank();
+        assertThat(initial.getMissingSkills()).containsExactly("docker");
+        assertThat(initial.getScore()).isPositive();
+        assertThat(initial.getTip()).isNull();
+
+        EnrichmentResult enrichment = null;
+        for (int i = 0; i < 100; i++) {
+            enrichment = rest.getForObject("/api/analyze/" + initial.getEnrichmentId(), EnrichmentResult.class);
+            if (!EnrichmentResult.PENDING.equals(enrichment.getStatus())) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+
+        assertThat(enrichment.getStatus()).isEqualTo(EnrichmentResult.DONE);
+        assertThat(enrichment.getResult().getTip()).isEqualTo(FakeGroqServer.DEFAULT_TIP);
+        assertThat(enrichment.getResult().getSummary()).isNotBlank();
+        assertThat(enrichment.getResult().getMissingSkills()).containsExactly("docker");
+    }
+
+    @Test
+    void enrichmentIsStreamedOverSse() throws Exception {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Java and SQL developer");
+        request.setResumeText("Built services in Java");
+        request.setEnrichment("tip");
+        request.setProgressive(true);
+        AnalysisResponse initial = rest.postForObject("/api/analyze", request, AnalysisResponse.class);
+
+        HttpResponse<String> stream = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/analyze/"
+                                + initial.getEnrichmentId() + "/events"))
+                        .header("Accept", "text/event-stream")
+                        .timeout(Duration.ofSeconds(10))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(stream.statusCode()).isEqualTo(200);
+        assertThat(stream.body()).contains("event:enrichment").contains("done").contains(FakeGroqServer.DEFAULT_TIP);
+    }
+
+    @Test
+    void enrichmentNoneSkipsAiWork() {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Java and SQL developer");
+        request.setResumeText("Built services in Java");
+        request.setEnrichment("none");
+
+        AnalysisResponse response = rest.postForObject("/api/analyze", request, AnalysisResponse.class);
+
+        assertThat(response.getMatchedSkills()).containsExactly("java");
+        assertThat(response.getTip()).isNull();
+        assertThat(response.getSummary()).isNull();
+        assertThat(response.getEnrichmentId()).isNull();
+    }
+
+    @Test
+    void progressiveNoneIsCountedInAnalyticsLikeSyncNone() {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Java and Docker developer");
+        request.setResumeText("Built services in Java");
+        request.setEnrichment("none");
+        request.setProgressive(true);
+        long before = missingCount(SkillGapAnalytics.UNSPECIFIED_ROLE, "docker");
+
+        AnalysisResponse response = rest.postForObject("/api/analyze", request, AnalysisResponse.class);
+
+        assertThat(response.getEnrichmentStatus()).isEqualTo("none");
+        assertThat(missingCount(SkillGapAnalytics.UNSPECIFIED_ROLE, "docker")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void explainReturnsAppliedRulesAndMentionOffsetsWithoutCaching() {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Backend developer: Java, Spring Boot and Docker.");
+        request.setResumeText("Built Spring Boot services in Java.\nCurrently learning Docker.");
+        request.setEnrichment("none");
+        request.setExplain(true);
+
+        ResponseEntity<AnalysisResponse> first = rest.postForEntity("/api/analyze", request, AnalysisResponse.class);
+        ResponseEntity<AnalysisResponse> second = rest.postForEntity("/api/analyze", request, AnalysisResponse.class);
+        ScoreExplanation explanation = first.getBody().getExplanation();
+
+        assertThat(second.getHeaders().getFirst("X-Analysis-Cache")).isNull();
+        assertThat(explanation.getSteps()).isNotEmpty();
+        assertThat(explanation.getSteps().get(0).rule()).isEqualTo(ScoreTrace.Rule.COVERAGE);
+        assertThat(explanation.getSteps().get(explanation.getSteps().size() - 1).after())
+                .isCloseTo(first.getBody().getScore(), within(0.5)); // steps are before rounding
+        assertThat(explanation.getJdMentions()).extracting(ScoreExplanation.Mention::skill)
+                .containsExactly("java", "spring boot", "docker");
+        for (ScoreExplanation.Mention mention : explanation.getResumeMentions()) {
+            assertThat(request.getResumeText().substring(mention.start(), mention.end()).toLowerCase())
+                    .isEqualTo(mention.skill());
+        }
+        assertThat(explanation.getResumeMentions())
+                .filteredOn(ScoreExplanation.Mention::weak)
+                .extracting(ScoreExplanation.Mention::skill)
+                .containsExactly("docker");
+    }
+
+    @Test
+    void analysesAndAnswersAreStoredBehindTheRequest() throws InterruptedException {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Platform engineer: Terraform and Kubernetes");
+        request.setResumeText("Ran Kubernetes clusters provisioned with Terraform");
+        request.setEnrichment("none");
+        QuestionRequest question = new QuestionRequest();
+        question.setQuestion("Should I learn Go?");
+
+        AnalysisResponse response = rest.postForObject("/api/analyze", request, AnalysisResponse.class);
+        QuestionResponse answer = rest.postForObject("/api/ask", question, QuestionResponse.class);
+
+        List<AnalysisStore.StoredAnalysis> stored = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            stored.clear();
+            analysisStore.forEach(r -> {
+                if (r.answer() != null ? r.answer().equals(answer.getAnswer())
+                        : response.getMatchedSkills().equals(r.matchedSkills())) {
+                    stored.add(r);
+                }
+            });
+            if (stored.size() >= 2) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+
+        assertThat(stored).extracting(AnalysisStore.StoredAnalysis::source)
+                .contains(AnalysisStore.SOURCE_ANALYZE, AnalysisStore.SOURCE_ASK);
+        assertThat(stored).allSatisfy(r -> assertThat(r.key()).hasSize(64));
+    }
+
+    @Test
+    void skillGapAnalyticsCountAnalysesByAiRole() {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Backend developer: Java and Docker");
+        request.setResumeText("Java services at scale");
+        request.setRegenerate(true);
+        rest.postForObject("/api/analyze", request, AnalysisResponse.class);
+
+        SkillGapAnalytics.Report report = rest.getForObject("/api/analytics/skills?role=Backend&limit=50",
+                SkillGapAnalytics.Report.class);
+        ResponseEntity<String> bad = rest.getForEntity("/api/analytics/skills?limit=0", String.class);
+
+        assertThat(report.roles()).hasSize(1);
+        assertThat(report.roles().get(0).role()).isEqualTo("backend");
+        assertThat(report.roles().get(0).missing()).extracting(SkillGapAnalytics.SkillCount::skill)
+                .contains("docker");
+        assertThat(report.roles().get(0).matched()).extracting(SkillGapAnalytics.SkillCount::skill).contains("java");
+        assertThat(bad.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void rejectsUnknownEnrichmentLevelsAndIds() {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Java");
+        request.setResumeText("Java");
+        request.setEnrichment("everything");
+
+        ResponseEntity<String> bad = rest.postForEntity("/api/analyze", request, String.class);
+        ResponseEntity<String> missing = rest.getForEntity("/api/analyze/no-such-id", String.class);
+
+        assertThat(bad.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void repeatAnalysisIsServedFromCacheAndRevalidatesWithEtag() {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription("Data engineer: Python, Airflow, Kafka and SQL.");
+        request.setResumeText("Built Airflow pipelines in Python\r\nLoaded SQL warehouses   ");
+
+        ResponseEntity<AnalysisResponse> first = rest.postForEntity("/api/analyze", request, AnalysisResponse.class);
+        long groqCalls = FAKE_GROQ.totalRequests();
+
+        request.setResumeText("Built Airflow pipelines in Python\nLoaded SQL warehouses");
+        ResponseEntity<AnalysisResponse> second = rest.postForEntity("/api/analyze", request, AnalysisResponse.class);
+
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).startsWith("\"");
+        assertThat(first.getHeaders().getFirst("X-Analysis-Cache")).isEqualTo("miss");
+        assertThat(second.getHeaders().getFirst("X-Analysis-Cache")).isEqualTo("hit");
+        assertThat(second.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(second.getBody().getMatchedSkills()).isEqualTo(first.getBody().getMatchedSkills());
+        assertThat(FAKE_GROQ.totalRequests()).isEqualTo(groqCalls);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<String> revalidated = rest.exchange("/api/analyze", HttpMethod.POST,
+                new HttpEntity<>(request, headers), String.class);
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidated.getBody()).isNull();
+
+        request.setRegenerate(true);
+        ResponseEntity<AnalysisResponse> regenerated = rest.postForEntity("/api/analyze", request, AnalysisResponse.class);
+        assertThat(regenerated.getHeaders().getFirst("X-Analysis-Cache")).isEqualTo("bypass");
+        assertThat(FAKE_GROQ.totalRequests()).isGreaterThan(groqCalls);
+    }
+
+    private long missingCount(String role, String skill) {
+        SkillGapAnalytics.Report report = rest.getForObject("/api/analytics/skills?role=" + role + "&limit=100",
+                SkillGapAnalytics.Report.class);
+        return report.roles().get(0).missing().stream()
+                .filter(c -> c.skill().equals(skill))
+                .mapToLong(SkillGapAnalytics.SkillCount::count)
+                .sum();
+    }
+
+    private static Path tempDir() {
+        try {
+            return Files.createTempDirectory("analysis-store");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FakeGroqServer startFakeGroq() {
+        try {
+            return FakeGroqServer.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
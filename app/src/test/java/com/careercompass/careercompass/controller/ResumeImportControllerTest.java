@@ -0,0 +1,175 @@
+package com.careercompass.careercompass.controller;
+
+import com.careercompass.careercompass.CareerCompassApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk import over real PDFs built with PDFBox, with a small per-entry limit
+ * so an oversized entry is easy to produce.
+ */
+@SpringBootTest(classes = CareerCompassApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "bulk.import.max-entry-bytes=65536", "bulk.import.max-in-flight=2" })
+@ActiveProfiles("test")
+class ResumeImportControllerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    void zipBodyStreamsOneLinePerFileAndKeepsGoingPastBadOnes() throws IOException {
+        byte[] oversized = new byte[70_000];
+        System.arraycopy("%PDF-".getBytes(StandardCharsets.US_ASCII), 0, oversized, 0, 5);
+        byte[] zip = zip(Map.of(
+                "cvs/alice.pdf", pdf("Java developer. Built Spring Boot services with SQL and Docker."),
+                "cvs/bob.pdf", pdf("Frontend engineer working in React and TypeScript."),
+                "cvs/broken.pdf", "%PDF-1.4 not really a pdf".getBytes(StandardCharsets.US_ASCII),
+                "cvs/huge.pdf", oversized,
+                "cvs/notes.txt", "not a resume".getBytes(StandardCharsets.US_ASCII),
+                "__MACOSX/cvs/._alice.pdf", new byte[] { 0, 5, 22 }));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        ResponseEntity<String> response = rest.postForEntity("/api/resumes/bulk?jobDescription={jd}",
+                new HttpEntity<>(zip, headers), String.class, "Backend developer: Java, Spring Boot, SQL");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith(ResumeImportController.NDJSON);
+        List<JsonNode> lines = lines(response.getBody());
+        assertThat(lines).hasSize(6);
+
+        Map<String, JsonNode> files = byName(lines.subList(0, 5));
+        assertThat(files.get("cvs/alice.pdf").get("status").asText()).isEqualTo("ok");
+        assertThat(names(files.get("cvs/alice.pdf").get("skills"))).contains("java", "spring boot", "sql", "docker");
+        assertThat(files.get("cvs/alice.pdf").get("score").asDouble())
+                .isGreaterThan(files.get("cvs/bob.pdf").get("score").asDouble());
+        assertThat(names(files.get("cvs/bob.pdf").get("missingSkills"))).contains("java");
+        assertThat(files.get("cvs/broken.pdf").get("status").asText()).isEqualTo("failed");
+        assertThat(files.get("cvs/huge.pdf").get("status").asText()).isEqualTo("failed");
+        assertThat(files.get("cvs/huge.pdf").get("error").asText()).contains("larger than");
+        assertThat(files.get("cvs/notes.txt").get("status").asText()).isEqualTo("skipped");
+
+        JsonNode summary = lines.get(5);
+        assertThat(summary.get("type").asText()).isEqualTo("summary");
+        assertThat(summary.get("files").asInt()).isEqualTo(5);
+        assertThat(summary.get("succeeded").asInt()).isEqualTo(2);
+        assertThat(summary.get("failed").asInt()).isEqualTo(2);
+        assertThat(summary.get("skipped").asInt()).isEqualTo(1);
+        assertThat(names(summary.get("jdSkills"))).contains("java", "sql");
+    }
+
+    @Test
+    void multipartMixesPdfsAndArchivesWithoutScoringWhenNoJobDescription() throws IOException {
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("files", file("carol.pdf", pdf("Python and Django developer with AWS experience.")));
+        form.add("files", file("batch.zip", zip(Map.of("dave.pdf", pdf("Kotlin and Java on Android.")))));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        ResponseEntity<String> response = rest.postForEntity("/api/resumes/bulk",
+                new HttpEntity<>(form, headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<JsonNode> lines = lines(response.getBody());
+        assertThat(lines).hasSize(3);
+        Map<String, JsonNode> files = byName(lines.subList(0, 2));
+        assertThat(names(files.get("carol.pdf").get("skills"))).contains("python", "django", "aws");
+        assertThat(names(files.get("dave.pdf").get("skills"))).contains("java");
+        assertThat(files.get("carol.pdf").has("score")).isFalse();
+        assertThat(lines.get(2).get("succeeded").asInt()).isEqualTo(2);
+    }
+
+    // -------------------------
+    // HELPERS
+    // -------------------------
+
+    private static byte[] pdf(String text) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 12);
+                content.newLineAtOffset(50, 700);
+                content.showText(text);
+                content.endText();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] zip(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("cvs/"));
+            zip.closeEntry();
+            for (Map.Entry<String, byte[]> e : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(e.getKey()));
+                zip.write(e.getValue());
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static ByteArrayResource file(String name, byte[] content) {
+        return new ByteArrayResource(content) {
+            @Override
+            public String getFilename() {
+                return name;
+            }
+        };
+    }
+
+    private static List<JsonNode> lines(String body) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(MAPPER.readTree(line));
+        }
+        return lines;
+    }
+
+    private static Map<String, JsonNode> byName(List<JsonNode> fileLines) {
+        Map<String, JsonNode> byName = new HashMap<>();
+        fileLines.forEach(line -> byName.put(line.get("name").asText(), line));
+        return byName;
+    }
+
+    private static List<String> names(JsonNode array) {
+        return Arrays.asList(MAPPER.convertValue(array, String[].class));
+    }
+}
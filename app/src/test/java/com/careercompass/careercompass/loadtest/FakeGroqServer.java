@@ -0,0 +1,437 @@
+package com.careercompass.careercompass.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embeddable stand-in for the Groq (OpenAI-compatible) chat completions API.
+ *
+ * Recognises the four prompts AiService sends (skill parse, tip, insights, chat)
+ * and answers each with canned or templated content wrapped in a normal
+ * chat.completion envelope. Latency, error rate and SSE streaming are
+ * configurable so the app can be load-tested offline without real quota.
+ *
+ * Usage in tests:
+ *
+ * <pre>
+ * try (FakeGroqServer groq = FakeGroqServer.builder().latency(LatencyModel.parse("lognormal:300,0.5")).start()) {
+ *     // run the app with groq.api.url = groq.url()
+ * }
+ * </pre>
+ *
+ * Standalone: {@code java ... FakeGroqServer --port=8089 --latency=uniform:100-400 --error-rate=0.02}
+ */
+public final class FakeGroqServer implements AutoCloseable {
+
+    public enum PromptType {
+        SKILL_PARSE, TIP, INSIGHTS, CHAT, UNKNOWN
+    }
+
+    public static final String CHAT_PATH = "/openai/v1/chat/completions";
+
+    public static final String DEFAULT_SKILL_PARSE = """
+            {
+              "jdRequiredSkills": ["java", "spring boot", "sql", "docker"],
+              "strongSkills": ["java", "spring boot"],
+              "weakSkills": ["docker"],
+              "roleFocus": "backend",
+              "generallyRelated": true
+            }""";
+
+    public static final String DEFAULT_TIP = "You already show solid Java and Spring Boot work, so put those projects first "
+            + "and add one small Docker deployment to close the most visible gap.";
+
+    public static final String DEFAULT_INSIGHTS = """
+            {
+              "summary": "You are a reasonable fit with a few clear gaps to close.",
+              "strengths": ["Your Java experience lines up with the core of this role."],
+              "gaps": ["You have not shown hands-on container experience yet."],
+              "nextSteps": ["Containerise one of your existing projects and document the steps."]
+            }""";
+
+    public static final String DEFAULT_CHAT = "Focus on one project that uses the missing skills end to end, "
+            + "then describe it on your resume with the tools used and a measurable outcome. (request {{requestId}})";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LatencyModel latency;
+    private final double errorRate;
+    private final int errorStatus;
+    private final long streamChunkDelayMs;
+    private final Map<PromptType, String> templates;
+    private final Map<PromptType, LongAdder> requestCounts = new EnumMap<>(PromptType.class);
+    private final LongAdder errorCount = new LongAdder();
+    private final AtomicLong requestIds = new AtomicLong();
+
+    private FakeGroqServer(Builder b) throws IOException {
+        this.latency = b.latency;
+        this.errorRate = b.errorRate;
+        this.errorStatus = b.errorStatus;
+        this.streamChunkDelayMs = b.streamChunkDelayMs;
+        this.templates = new EnumMap<>(b.templates);
+        for (PromptType type : PromptType.values()) {
+            requestCounts.put(type, new LongAdder());
+        }
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", b.port), 1024);
+        this.executor = Executors.newFixedThreadPool(b.threads, r -> {
+            Thread t = new Thread(r, "fake-groq");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext(CHAT_PATH, this::handle);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Full chat completions URL, suitable for {@code groq.api.url}. */
+    public String url() {
+        return "http://127.0.0.1:" + port() + CHAT_PATH;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public long requestCount(PromptType type) {
+        return requestCounts.get(type).sum();
+    }
+
+    public long totalRequests() {
+        return requestCounts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long errorCount() {
+        return errorCount.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // -------------------------
+    // Request handling
+    // -------------------------
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                send(exchange, 405, "application/json", "{\"error\":{\"message\":\"method not allowed\"}}");
+                return;
+            }
+
+            JsonNode request;
+            try (InputStream in = exchange.getRequestBody()) {
+                request = MAPPER.readTree(in);
+            }
+
+            String prompt = lastUserMessage(request);
+            PromptType type = classify(prompt);
+            requestCounts.get(type).increment();
+            long requestId = requestIds.incrementAndGet();
+
+            sleep(latency.sampleMillis());
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errorCount.increment();
+                send(exchange, errorStatus, "application/json",
+                        "{\"error\":{\"message\":\"fake upstream error\",\"type\":\"server_error\"}}");
+                return;
+            }
+
+            String model = request.path("model").asText("fake-model");
+            String content = render(templates.get(type), type, requestId, prompt);
+
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, requestId, model, content);
+            } else {
+                send(exchange, 200, "application/json", completion(requestId, model, prompt, content));
+            }
+        } catch (Exception e) {
+            // never let a handler failure kill the worker thread
+            try {
+                send(exchange, 500, "application/json", "{\"error\":{\"message\":\"fake server failure\"}}");
+            } catch (IOException ignored) {
+                // response already started
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    static PromptType classify(String prompt) {
+        if (prompt == null) {
+            return PromptType.UNKNOWN;
+        }
+        if (prompt.contains("extracts structured skill information")) {
+            return PromptType.SKILL_PARSE;
+        }
+        if (prompt.contains("AI career coach helping a candidate")) {
+            return PromptType.INSIGHTS;
+        }
+        if (prompt.contains("helpful career advisor")) {
+            return PromptType.TIP;
+        }
+        if (prompt.contains("You are Career Compass")) {
+            return PromptType.CHAT;
+        }
+        return PromptType.UNKNOWN;
+    }
+
+    private static String lastUserMessage(JsonNode request) {
+        JsonNode messages = request.path("messages");
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            JsonNode m = messages.get(i);
+            if ("user".equals(m.path("role").asText())) {
+                return m.path("content").asText("");
+            }
+        }
+        return "";
+    }
+
+    private static String render(String template, PromptType type, long requestId, String prompt) {
+        return template
+                .replace("{{requestId}}", Long.toString(requestId))
+                .replace("{{promptType}}", type.name().toLowerCase(Locale.ROOT))
+                .replace("{{promptLength}}", Integer.toString(prompt.length()));
+    }
+
+    private static String completion(long requestId, String model, String prompt, String content) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("id", "chatcmpl-fake-" + requestId);
+        root.put("object", "chat.completion");
+        root.put("created", System.currentTimeMillis() / 1000);
+        root.put("model", model);
+
+        ArrayNode choices = root.putArray("choices");
+        ObjectNode choice = choices.addObject();
+        choice.put("index", 0);
+        ObjectNode message = choice.putObject("message");
+        message.put("role", "assistant");
+        message.put("content", content);
+        choice.put("finish_reason", "stop");
+
+        // rough 4-chars-per-token estimate, good enough for quota-style accounting
+        int promptTokens = Math.max(1, prompt.length() / 4);
+        int completionTokens = Math.max(1, content.length() / 4);
+        ObjectNode usage = root.putObject("usage");
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", completionTokens);
+        usage.put("total_tokens", promptTokens + completionTokens);
+
+        return MAPPER.writeValueAsString(root);
+    }
+
+    private void stream(HttpExchange exchange, long requestId, String model, String content) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            int chunkSize = 24;
+            for (int i = 0; i < content.length(); i += chunkSize) {
+                String piece = content.substring(i, Math.min(content.length(), i + chunkSize));
+
+                ObjectNode chunk = MAPPER.createObjectNode();
+                chunk.put("id", "chatcmpl-fake-" + requestId);
+                chunk.put("object", "chat.completion.chunk");
+                chunk.put("model", model);
+                ObjectNode choice = chunk.putArray("choices").addObject();
+                choice.put("index", 0);
+                choice.putObject("delta").put("content", piece);
+                choice.putNull("finish_reason");
+
+                out.write(("data: " + MAPPER.writeValueAsString(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                sleep(streamChunkDelayMs);
+            }
+            out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------------------
+    // Latency distributions
+    // -------------------------
+
+    /**
+     * Per-request artificial latency. Spec strings accepted by {@link #parse}:
+     * {@code none}, {@code fixed:200}, {@code uniform:100-400}, {@code lognormal:300,0.5}
+     * (median millis, sigma).
+     */
+    @FunctionalInterface
+    public interface LatencyModel {
+
+        long sampleMillis();
+
+        static LatencyModel none() {
+            return () -> 0L;
+        }
+
+        static LatencyModel fixed(long millis) {
+            return () -> millis;
+        }
+
+        static LatencyModel uniform(long minMillis, long maxMillis) {
+            return () -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+        }
+
+        static LatencyModel logNormal(double medianMillis, double sigma) {
+            double mu = Math.log(medianMillis);
+            return () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+        }
+
+        static LatencyModel parse(String spec) {
+            if (spec == null || spec.isBlank() || spec.equals("none")) {
+                return none();
+            }
+            String[] parts = spec.split(":", 2);
+            String args = parts.length > 1 ? parts[1] : "";
+            return switch (parts[0].toLowerCase(Locale.ROOT)) {
+                case "fixed" -> fixed(Long.parseLong(args.trim()));
+                case "uniform" -> {
+                    String[] range = args.split("-");
+                    yield uniform(Long.parseLong(range[0].trim()), Long.parseLong(range[1].trim()));
+                }
+                case "lognormal" -> {
+                    String[] p = args.split(",");
+                    yield logNormal(Double.parseDouble(p[0].trim()), Double.parseDouble(p[1].trim()));
+                }
+                default -> throw new IllegalArgumentException("Unknown latency model: " + spec);
+            };
+        }
+    }
+
+    // -------------------------
+    // Builder
+    // -------------------------
+
+    public static final class Builder {
+        private int port = 0;
+        private int threads = 64;
+        private LatencyModel latency = LatencyModel.none();
+        private double errorRate = 0.0;
+        private int errorStatus = 503;
+        private long streamChunkDelayMs = 0;
+        private final Map<PromptType, String> templates = new EnumMap<>(PromptType.class);
+
+        private Builder() {
+            templates.put(PromptType.SKILL_PARSE, DEFAULT_SKILL_PARSE);
+            templates.put(PromptType.TIP, DEFAULT_TIP);
+            templates.put(PromptType.INSIGHTS, DEFAULT_INSIGHTS);
+            templates.put(PromptType.CHAT, DEFAULT_CHAT);
+            templates.put(PromptType.UNKNOWN, "OK");
+        }
+
+        /** 0 picks a free port. */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder latency(LatencyModel latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /** Fraction of requests (0..1) answered with {@link #errorStatus(int)}. */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder errorStatus(int errorStatus) {
+            this.errorStatus = errorStatus;
+            return this;
+        }
+
+        public Builder streamChunkDelayMs(long streamChunkDelayMs) {
+            this.streamChunkDelayMs = streamChunkDelayMs;
+            return this;
+        }
+
+        /**
+         * Replace the content returned for one prompt type. Supports
+         * {{requestId}}, {{promptType}} and {{promptLength}} placeholders.
+         */
+        public Builder response(PromptType type, String template) {
+            templates.put(type, template);
+            return this;
+        }
+
+        public FakeGroqServer start() throws IOException {
+            FakeGroqServer fake = new FakeGroqServer(this);
+            fake.server.start();
+            return fake;
+        }
+    }
+
+    // -------------------------
+    // Standalone entry point
+    // -------------------------
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = LoadTestRunner.parseArgs(args);
+
+        FakeGroqServer fake = builder()
+                .port(Integer.parseInt(opts.getOrDefault("port", "8089")))
+                .threads(Integer.parseInt(opts.getOrDefault("threads", "64")))
+                .latency(LatencyModel.parse(opts.getOrDefault("latency", "none")))
+                .errorRate(Double.parseDouble(opts.getOrDefault("error-rate", "0")))
+                .streamChunkDelayMs(Long.parseLong(opts.getOrDefault("stream-chunk-delay", "0")))
+                .start();
+
+        System.out.println("Fake Groq server listening on " + fake.url());
+        System.out.println("Run the app with GROQ_API_URL=" + fake.url());
+        Runtime.getRuntime().addShutdownHook(new Thread(fake::close));
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,427 @@
+package com.careercompass.careercompass.loadtest;
+
+import com.careercompass.careercompass.CareerCompassApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open-model load generator for /api/analyze, /api/ask and /api/upload-resume.
+ *
+ * Requests are issued at a fixed target rate regardless of how fast the server
+ * answers (so queueing shows up as latency instead of being hidden), then
+ * throughput and latency percentiles are reported per endpoint.
+ *
+ * Without {@code --target} the runner boots the app in-process, wired to an
+ * embedded {@link FakeGroqServer}, so the whole pipeline can be measured
+ * offline and in CI:
+ *
+ * <pre>
+ * ./mvnw -Ploadtest verify -Dloadtest.rps=50 -Dloadtest.duration=60
+ * </pre>
+ *
+ * Options: --target=URL, --rps=N, --duration=SECONDS, --warmup=SECONDS,
+ * --mix=analyze:6,ask:3,upload:1, --fake-latency=SPEC, --fake-error-rate=0..1,
+ * --max-error-rate=0..1, --report=PATH
+ */
+public final class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String JOB_DESCRIPTION = """
+            Backend Developer (Java)
+            Requirements: Java, Spring Boot, SQL, PostgreSQL, Docker, Git, REST APIs.
+            Nice to have: AWS, Kubernetes, React.
+            Responsibilities: build and maintain microservices, write unit tests, work with the team on code reviews.
+            """;
+
+    private static final String RESUME_TEXT = """
+            SKILLS
+            Java, Spring Boot, MySQL, Git, HTML, CSS, communication, teamwork
+            PROJECTS
+            Library Management System - built REST APIs with Java and Spring Boot backed by MySQL.
+            Portfolio site - HTML, CSS and JavaScript deployed on GitHub Pages.
+            CERTIFICATIONS
+            Introduction to Docker (course)
+            INTERESTS
+            currently learning AWS
+            """;
+
+    private static final String QUESTION = "What should I learn next to get shortlisted for this backend role?";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+
+        double rps = Double.parseDouble(opts.getOrDefault("rps", "20"));
+        int durationSec = Integer.parseInt(opts.getOrDefault("duration", "30"));
+        int warmupSec = Integer.parseInt(opts.getOrDefault("warmup", "5"));
+        String mix = opts.getOrDefault("mix", "analyze:6,ask:3,upload:1");
+        String target = opts.getOrDefault("target", "");
+        double maxErrorRate = Double.parseDouble(opts.getOrDefault("max-error-rate", "1.0"));
+        Path reportPath = Path.of(opts.getOrDefault("report", "target/loadtest/report.json"));
+
+        FakeGroqServer fakeGroq = null;
+        ConfigurableApplicationContext app = null;
+
+        try {
+            if (target.isBlank()) {
+                fakeGroq = FakeGroqServer.builder()
+                        .latency(FakeGroqServer.LatencyModel.parse(opts.getOrDefault("fake-latency", "lognormal:300,0.5")))
+                        .errorRate(Double.parseDouble(opts.getOrDefault("fake-error-rate", "0")))
+                        .threads(512)
+                        .start();
+
+                // passed as command-line args so they win over application.properties
+                app = new SpringApplicationBuilder(CareerCompassApplication.class)
+                        .run("--server.port=0",
+                                "--groq.api.url=" + fakeGroq.url(),
+                                "--groq.api.key=loadtest-dummy-key",
+                                "--logging.level.com.careercompass=WARN",
+                                "--logging.level.org.springframework.web=WARN");
+                target = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+                System.out.println("Self-hosted app on " + target + " (fake Groq at " + fakeGroq.url() + ")");
+            }
+
+            LoadTest test = new LoadTest(URI.create(target), parseMix(mix));
+
+            if (warmupSec > 0) {
+                System.out.printf("Warming up for %ds at %.1f rps...%n", warmupSec, rps);
+                test.run(rps, Duration.ofSeconds(warmupSec));
+                test.reset();
+            }
+
+            System.out.printf("Measuring for %ds at %.1f rps (mix %s)...%n", durationSec, rps, mix);
+            Report report = test.run(rps, Duration.ofSeconds(durationSec));
+
+            report.print();
+            report.write(reportPath);
+            System.out.println("Report written to " + reportPath.toAbsolutePath());
+
+            if (report.errorRate() > maxErrorRate) {
+                throw new IllegalStateException(String.format(Locale.ROOT,
+                        "Error rate %.4f exceeded --max-error-rate %.4f", report.errorRate(), maxErrorRate));
+            }
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+            if (fakeGroq != null) {
+                fakeGroq.close();
+            }
+        }
+    }
+
+    // -------------------------
+    // Load generation
+    // -------------------------
+
+    enum Endpoint {
+        ANALYZE("/api/analyze"), ASK("/api/ask"), UPLOAD("/api/upload-resume");
+
+        final String path;
+
+        Endpoint(String path) {
+            this.path = path;
+        }
+    }
+
+    private static final class LoadTest {
+
+        private final URI base;
+        private final Endpoint[] schedule;
+        private final HttpClient client;
+        private final byte[] analyzeBody;
+        private final byte[] askBody;
+        private final byte[] uploadBody;
+        private final String uploadBoundary = "----careercompass-loadtest";
+        private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+        LoadTest(URI base, Endpoint[] schedule) throws IOException {
+            this.base = base;
+            this.schedule = schedule;
+            this.client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(Executors.newCachedThreadPool(r -> {
+                        Thread t = new Thread(r, "loadtest-client");
+                        t.setDaemon(true);
+                        return t;
+                    }))
+                    .build();
+
+            ObjectNode analyze = MAPPER.createObjectNode();
+            analyze.put("jobDescription", JOB_DESCRIPTION);
+            analyze.put("resumeText", RESUME_TEXT);
+            this.analyzeBody = MAPPER.writeValueAsBytes(analyze);
+
+            ObjectNode ask = MAPPER.createObjectNode();
+            ask.put("question", QUESTION);
+            ask.put("resumeText", RESUME_TEXT);
+            ask.put("jobDescription", JOB_DESCRIPTION);
+            this.askBody = MAPPER.writeValueAsBytes(ask);
+
+            this.uploadBody = multipartPdf(uploadBoundary, resumePdf(RESUME_TEXT));
+            reset();
+        }
+
+        void reset() {
+            for (Endpoint e : Endpoint.values()) {
+                stats.put(e, new Stats());
+            }
+        }
+
+        Report run(double rps, Duration duration) throws InterruptedException {
+            long periodNanos = (long) (1_000_000_000L / rps);
+            long total = (long) (rps * duration.toSeconds());
+            AtomicLong issued = new AtomicLong();
+            Phaser inFlight = new Phaser(1);
+
+            ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+            CountDownLatch done = new CountDownLatch(1);
+            long start = System.nanoTime();
+
+            ticker.scheduleAtFixedRate(() -> {
+                long n = issued.getAndIncrement();
+                if (n >= total) {
+                    done.countDown();
+                    return;
+                }
+                Endpoint endpoint = schedule[(int) (n % schedule.length)];
+                inFlight.register();
+                send(endpoint).whenComplete((r, ex) -> inFlight.arriveAndDeregister());
+            }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+            done.await();
+            ticker.shutdownNow();
+
+            // drain outstanding requests (bounded so a hung server cannot stall the run)
+            int phase = inFlight.arrive();
+            try {
+                inFlight.awaitAdvanceInterruptibly(phase, 2, TimeUnit.MINUTES);
+            } catch (TimeoutException e) {
+                System.out.println("WARN: requests still in flight after drain timeout");
+            }
+
+            double elapsedSec = (System.nanoTime() - start) / 1e9;
+            return new Report(rps, elapsedSec, stats);
+        }
+
+        private CompletableFuture<HttpResponse<Void>> send(Endpoint endpoint) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(endpoint.path))
+                    .timeout(Duration.ofSeconds(120));
+
+            switch (endpoint) {
+                case ANALYZE -> builder.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(analyzeBody));
+                case ASK -> builder.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(askBody));
+                case UPLOAD -> builder.header("Content-Type", "multipart/form-data; boundary=" + uploadBoundary)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(uploadBody));
+            }
+
+            Stats s = stats.get(endpoint);
+            long t0 = System.nanoTime();
+            s.sent.increment();
+
+            return client.sendAsync(builder.build(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        long micros = (System.nanoTime() - t0) / 1_000;
+                        if (ex != null) {
+                            s.failures.increment();
+                        } else if (response.statusCode() / 100 != 2) {
+                            s.errors.increment();
+                        } else {
+                            s.record(micros);
+                        }
+                    });
+        }
+    }
+
+    /** Latencies of successful requests, in microseconds. */
+    private static final class Stats {
+        final LongAdder sent = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        private long[] samples = new long[1024];
+        private int count;
+
+        synchronized void record(long micros) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = micros;
+        }
+
+        synchronized long[] sortedSamples() {
+            long[] copy = Arrays.copyOf(samples, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private record Report(double targetRps, double elapsedSec, Map<Endpoint, Stats> stats) {
+
+        double errorRate() {
+            long sent = 0;
+            long bad = 0;
+            for (Stats s : stats.values()) {
+                sent += s.sent.sum();
+                bad += s.errors.sum() + s.failures.sum();
+            }
+            return sent == 0 ? 0.0 : (double) bad / sent;
+        }
+
+        void print() {
+            System.out.printf(Locale.ROOT, "%n%-10s %7s %7s %6s %6s %9s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "sent", "ok", "err", "fail", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Map.Entry<Endpoint, Stats> e : stats.entrySet()) {
+                Stats s = e.getValue();
+                long[] sorted = s.sortedSamples();
+                if (s.sent.sum() == 0) {
+                    continue;
+                }
+                System.out.printf(Locale.ROOT, "%-10s %7d %7d %6d %6d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                        e.getKey().name().toLowerCase(Locale.ROOT),
+                        s.sent.sum(), sorted.length, s.errors.sum(), s.failures.sum(),
+                        sorted.length / elapsedSec,
+                        percentile(sorted, 50) / 1000.0, percentile(sorted, 90) / 1000.0,
+                        percentile(sorted, 99) / 1000.0, percentile(sorted, 99.9) / 1000.0,
+                        (sorted.length == 0 ? 0 : sorted[sorted.length - 1]) / 1000.0);
+            }
+            System.out.printf(Locale.ROOT, "target %.1f rps, elapsed %.1fs, error rate %.4f%n%n",
+                    targetRps, elapsedSec, errorRate());
+        }
+
+        void write(Path path) throws IOException {
+            ObjectNode root = MAPPER.createObjectNode();
+            root.put("targetRps", targetRps);
+            root.put("elapsedSeconds", elapsedSec);
+            root.put("errorRate", errorRate());
+            ObjectNode endpoints = root.putObject("endpoints");
+            for (Map.Entry<Endpoint, Stats> e : stats.entrySet()) {
+                Stats s = e.getValue();
+                long[] sorted = s.sortedSamples();
+                ObjectNode node = endpoints.putObject(e.getKey().path);
+                node.put("sent", s.sent.sum());
+                node.put("ok", sorted.length);
+                node.put("errors", s.errors.sum());
+                node.put("failures", s.failures.sum());
+                node.put("throughputPerSec", sorted.length / elapsedSec);
+                node.put("p50Ms", percentile(sorted, 50) / 1000.0);
+                node.put("p90Ms", percentile(sorted, 90) / 1000.0);
+                node.put("p99Ms", percentile(sorted, 99) / 1000.0);
+                node.put("p999Ms", percentile(sorted, 99.9) / 1000.0);
+                node.put("maxMs", (sorted.length == 0 ? 0 : sorted[sorted.length - 1]) / 1000.0);
+            }
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), root);
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+        }
+    }
+
+    // -------------------------
+    // Helpers
+    // -------------------------
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq == -1) {
+                opts.put(arg.substring(2), "true");
+            } else {
+                opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return opts;
+    }
+
+    /** Expands "analyze:6,ask:3,upload:1" into an interleaved round-robin schedule. */
+    private static Endpoint[] parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1;
+            if (weight > 0) {
+                weights.put(Endpoint.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Empty --mix: " + mix);
+        }
+
+        List<Endpoint> schedule = new ArrayList<>();
+        int max = Collections.max(weights.values());
+        for (int round = 0; round < max; round++) {
+            for (Map.Entry<Endpoint, Integer> e : weights.entrySet()) {
+                if (round < e.getValue()) {
+                    schedule.add(e.getKey());
+                }
+            }
+        }
+        return schedule.toArray(new Endpoint[0]);
+    }
+
+    private static byte[] resumePdf(String text) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 11);
+                content.newLineAtOffset(50, 740);
+                for (String line : text.split("\n")) {
+                    content.showText(line);
+                    content.newLineAtOffset(0, -15);
+                }
+                content.endText();
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] multipartPdf(String boundary, byte[] pdf) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"resume.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(pdf);
+        out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+}
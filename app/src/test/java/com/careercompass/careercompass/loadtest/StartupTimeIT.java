@@ -0,0 +1,171 @@
+package com.careercompass.careercompass.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Cold-start comparison run by {@code -Pfaststart verify}: boots the plain
+ * executable jar and the fast-start layout (extracted jar + AppCDS archive +
+ * AOT bean definitions) as separate JVMs, {@code startup.runs} times each,
+ * alternating so machine noise hits both alike.
+ *
+ * Per run it records the wall time from process start to the first answered
+ * {@code /api/health}, the JVM-reported "process running for" time, and the
+ * latency of the first {@code /api/analyze} (rule engine only, so Groq is not
+ * involved). Medians go to {@code startup.report}; the fast-start layout must
+ * really map the archive, run AOT-processed, and come up faster.
+ */
+class StartupTimeIT {
+
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(120);
+    private static final Pattern PROCESS_RUNNING = Pattern.compile("process running for ([0-9.]+)\\)");
+
+    private static final String ANALYZE_BODY = """
+            {"jobDescription":"Backend developer: Java, Spring Boot, SQL, Docker",
+             "resumeText":"Built REST APIs in Java and Spring Boot with SQL","enrichment":"none"}""";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private record Run(double readyMs, double jvmReportedMs, double firstAnalyzeMs) {
+    }
+
+    @Test
+    void fastStartLayoutBootsFasterThanThePlainJar() throws Exception {
+        String jar = System.getProperty("startup.jar");
+        String faststartDir = System.getProperty("startup.faststartDir");
+        assumeTrue(jar != null && faststartDir != null, "run through -Pfaststart verify");
+
+        Path fastJar = Path.of(faststartDir, Path.of(jar).getFileName().toString());
+        Path archive = Path.of(faststartDir, "application.jsa");
+        Path reportPath = Path.of(System.getProperty("startup.report", "target/startup/report.json"));
+        Path logDir = reportPath.getParent();
+        Files.createDirectories(logDir);
+        int runs = Integer.getInteger("startup.runs", 3);
+
+        List<Run> plain = new ArrayList<>();
+        List<Run> fast = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            plain.add(boot(List.of("-jar", jar), logDir.resolve("plain-" + i + ".log")));
+
+            Path fastLog = logDir.resolve("faststart-" + i + ".log");
+            Path cdsLog = logDir.resolve("faststart-" + i + "-cds.log");
+            fast.add(boot(List.of("-XX:SharedArchiveFile=" + archive, "-Xlog:cds=info:file=" + cdsLog,
+                    "-Dspring.aot.enabled=true", "-jar", fastJar.toString()), fastLog));
+
+            assertThat(Files.readString(cdsLog)).as("AppCDS archive mapped").contains("Mapped dynamic region");
+            assertThat(Files.readString(fastLog)).as("AOT bean definitions used").contains("AOT-processed");
+        }
+
+        ObjectNode report = new ObjectMapper().createObjectNode();
+        report.put("runs", runs);
+        summarize(report.putObject("plain"), plain);
+        summarize(report.putObject("faststart"), fast);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), report);
+
+        System.out.printf("%nStartup (median of %d)      ready ms   jvm ms   first analyze ms%n", runs);
+        System.out.printf("plain jar                 %9.0f %8.0f %18.1f%n",
+                median(plain, Run::readyMs), median(plain, Run::jvmReportedMs), median(plain, Run::firstAnalyzeMs));
+        System.out.printf("faststart (CDS + AOT)     %9.0f %8.0f %18.1f%n",
+                median(fast, Run::readyMs), median(fast, Run::jvmReportedMs), median(fast, Run::firstAnalyzeMs));
+        System.out.println("Report written to " + reportPath.toAbsolutePath());
+
+        assertThat(median(fast, Run::readyMs)).isLessThan(median(plain, Run::readyMs));
+    }
+
+    private Run boot(List<String> launch, Path log) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(launch);
+        command.addAll(List.of("--server.port=" + port, "--groq.api.key=startup-test",
+                "--spring.main.banner-mode=off"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            URI health = URI.create("http://localhost:" + port + "/api/health");
+            long deadline = start + READY_TIMEOUT.toNanos();
+            while (!answers(health)) {
+                assertThat(process.isAlive()).as("app exited early, see " + log).isTrue();
+                assertThat(System.nanoTime()).as("app ready within " + READY_TIMEOUT).isLessThan(deadline);
+                Thread.sleep(10);
+            }
+            double readyMs = (System.nanoTime() - start) / 1e6;
+
+            long analyzeStart = System.nanoTime();
+            HttpResponse<String> analyze = client.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/analyze"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(ANALYZE_BODY))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            double firstAnalyzeMs = (System.nanoTime() - analyzeStart) / 1e6;
+            assertThat(analyze.statusCode()).isEqualTo(200);
+
+            return new Run(readyMs, jvmReportedMs(log), firstAnalyzeMs);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private boolean answers(URI uri) {
+        try {
+            return client.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(1)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static double jvmReportedMs(Path log) throws IOException {
+        Matcher m = PROCESS_RUNNING.matcher(Files.readString(log));
+        return m.find() ? Double.parseDouble(m.group(1)) * 1000 : Double.NaN;
+    }
+
+    private static void summarize(ObjectNode node, List<Run> runs) {
+        node.put("readyMsMedian", median(runs, Run::readyMs));
+        node.put("jvmReportedMsMedian", median(runs, Run::jvmReportedMs));
+        node.put("firstAnalyzeMsMedian", median(runs, Run::firstAnalyzeMs));
+        ArrayNode all = node.putArray("readyMs");
+        runs.forEach(r -> all.add(r.readyMs()));
+    }
+
+    private static double median(List<Run> runs, ToDoubleFunction<Run> metric) {
+        double[] values = runs.stream().mapToDouble(metric).sorted().toArray();
+        int mid = values.length / 2;
+        return values.length % 2 == 1 ? values[mid] : (values[mid - 1] + values[mid]) / 2;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisResultCacheTest {
+
+    private final AnalysisResultCache cache =
+            new AnalysisResultCache(new ObjectMapper(), new SimpleMeterRegistry(), true, 60, 100);
+
+    private static AnalysisRequest request(String jd, String resume) {
+        AnalysisRequest r = new AnalysisRequest();
+        r.setJobDescription(jd);
+        r.setResumeText(resume);
+        return r;
+    }
+
+    private static AnalysisResponse response(double score) {
+        AnalysisResponse r = new AnalysisResponse();
+        r.setScore(score);
+        r.setMatchedSkills(List.of("java"));
+        return r;
+    }
+
+    @Test
+    void keyIgnoresLineEndingsAndTrailingBlanksButNotContentOrLevel() {
+        String key = AnalysisResultCache.key(request("Java\nSQL", "Java dev"), EnrichmentLevel.FULL);
+
+        assertThat(AnalysisResultCache.key(request("  Java  \r\nSQL\r\n\r\n", "Java dev\t"), EnrichmentLevel.FULL))
+                .isEqualTo(key);
+        assertThat(AnalysisResultCache.key(request("Java SQL", "Java dev"), EnrichmentLevel.FULL)).isNotEqualTo(key);
+        assertThat(AnalysisResultCache.key(request("Java\nSQ", "LJava dev"), EnrichmentLevel.FULL)).isNotEqualTo(key);
+        assertThat(AnalysisResultCache.key(request("Java\nSQL", "Java dev"), EnrichmentLevel.TIP)).isNotEqualTo(key);
+    }
+
+    @Test
+    void secondLookupIsAHitAndRegenerateReplacesTheEntry() {
+        AnalysisRequest req = request("Java", "Java");
+        AtomicInteger runs = new AtomicInteger();
+
+        AnalysisResultCache.Result first = cache.analyze(req, EnrichmentLevel.FULL, false,
+                () -> response(runs.incrementAndGet()));
+        AnalysisResultCache.Result second = cache.analyze(req, EnrichmentLevel.FULL, false,
+                () -> response(runs.incrementAndGet()));
+        AnalysisResultCache.Result regenerated = cache.analyze(req, EnrichmentLevel.FULL, true,
+                () -> response(runs.incrementAndGet()));
+        assertThat(List.of(first.key(), second.key(), regenerated.key()))
+                .containsOnly(AnalysisResultCache.key(req, EnrichmentLevel.FULL));
+        AnalysisResultCache.Result afterRegenerate = cache.analyze(req, EnrichmentLevel.FULL, false,
+                () -> response(runs.incrementAndGet()));
+
+        assertThat(first.cacheStatus()).isEqualTo(AnalysisResultCache.MISS);
+        assertThat(second.cacheStatus()).isEqualTo(AnalysisResultCache.HIT);
+        assertThat(second.etag()).isEqualTo(first.etag());
+        assertThat(regenerated.cacheStatus()).isEqualTo(AnalysisResultCache.BYPASS);
+        assertThat(regenerated.etag()).isNotEqualTo(first.etag());
+        assertThat(afterRegenerate.etag()).isEqualTo(regenerated.etag());
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void concurrentIdenticalRequestsRunThePipelineOnce() throws Exception {
+        AnalysisRequest req = request("Kafka", "Kafka");
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<AnalysisResultCache.Result>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> cache.analyze(req, EnrichmentLevel.FULL, false, () -> {
+                    runs.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return response(1);
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            String etag = results.get(0).get(5, TimeUnit.SECONDS).etag();
+            for (Future<AnalysisResultCache.Result> f : results) {
+                assertThat(f.get(5, TimeUnit.SECONDS).etag()).isEqualTo(etag);
+            }
+            assertThat(runs).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparisonAndLists() {
+        assertThat(AnalysisResultCache.matches("\"abc\"", "\"abc\"")).isTrue();
+        assertThat(AnalysisResultCache.matches("W/\"abc\"", "\"abc\"")).isTrue();
+        assertThat(AnalysisResultCache.matches("\"x\", \"abc\"", "\"abc\"")).isTrue();
+        assertThat(AnalysisResultCache.matches("*", "\"abc\"")).isTrue();
+        assertThat(AnalysisResultCache.matches("\"abd\"", "\"abc\"")).isFalse();
+        assertThat(AnalysisResultCache.matches(null, "\"abc\"")).isFalse();
+    }
+}
@@ -0,0 +1,212 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.dto.AnalysisRequest;
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import com.careercompass.careercompass.dto.QuestionRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsAreWrittenBehindAndFoundByKeyAfterRestart() throws Exception {
+        Path path = dir.resolve("analyses.log");
+        AnalysisStore store = open(path);
+        store.recordAnalysis(AnalysisStore.SOURCE_ANALYZE, request("Java developer", "Java"), EnrichmentLevel.NONE,
+                response(100.0, "java"));
+        store.recordAnalysis(AnalysisStore.SOURCE_ANALYZE, request("Java developer", "Java\r\n"), EnrichmentLevel.NONE,
+                response(90.0, "java"));
+        store.recordAnswer(question("How do I learn Docker?"), "Build something with it.");
+        assertThat(store.flush(Duration.ofSeconds(5))).isTrue();
+        store.shutdown();
+
+        AnalysisStore reopened = open(path);
+        String key = AnalysisResultCache.key("Java developer", "Java", EnrichmentLevel.NONE);
+        List<AnalysisStore.StoredAnalysis> all = new ArrayList<>();
+        reopened.forEach(all::add);
+
+        assertThat(all).hasSize(3);
+        // the same normalized inputs share a key; the latest record wins
+        assertThat(reopened.keys()).isEqualTo(2);
+        assertThat(reopened.latest(key).score()).isEqualTo(90.0);
+        assertThat(reopened.latest(key).matchedSkills()).containsExactly("java");
+        assertThat(all.get(2).answer()).isEqualTo("Build something with it.");
+        // hashes only: the texts themselves are never written
+        assertThat(Files.readString(path, StandardCharsets.ISO_8859_1)).doesNotContain("Java developer");
+        reopened.shutdown();
+    }
+
+    @Test
+    void recoveryCutsOffATornOrCorruptTailAndKeepsAppending() throws Exception {
+        Path path = dir.resolve("analyses.log");
+        AnalysisStore store = open(path);
+        for (int i = 0; i < 3; i++) {
+            store.recordAnalysis(AnalysisStore.SOURCE_JOB, request("JD " + i, "Resume"), EnrichmentLevel.NONE,
+                    response(i, "sql"));
+            assertThat(store.flush(Duration.ofSeconds(5))).isTrue();
+        }
+        store.shutdown();
+        long intact = Files.size(path);
+
+        // a crash mid-write: a frame header promising more bytes than were written
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(12).putInt(500).putInt(42).putInt(7).flip());
+        }
+        AnalysisStore recovered = open(path);
+        assertThat(count(recovered)).isEqualTo(3);
+        assertThat(Files.size(path)).isEqualTo(intact);
+
+        recovered.recordAnalysis(AnalysisStore.SOURCE_JOB, request("JD 3", "Resume"), EnrichmentLevel.NONE,
+                response(3, "sql"));
+        assertThat(recovered.flush(Duration.ofSeconds(5))).isTrue();
+        recovered.shutdown();
+
+        // a flipped byte in the last record fails its CRC: that record is dropped
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long last = channel.size() - 2;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, last);
+            channel.write(ByteBuffer.wrap(new byte[] { (byte) (b.get(0) ^ 0x20) }), last);
+        }
+        AnalysisStore reopened = open(path);
+        assertThat(count(reopened)).isEqualTo(3);
+        assertThat(Files.size(path)).isEqualTo(intact);
+        reopened.shutdown();
+    }
+
+    @Test
+    void damageInTheMiddleOnlyCostsTheDamagedRecord() throws Exception {
+        Path path = dir.resolve("analyses.log");
+        AnalysisStore store = open(path);
+        long[] ends = new long[3];
+        for (int i = 0; i < 3; i++) {
+            store.recordAnalysis(AnalysisStore.SOURCE_JOB, request("JD " + i, "Resume"), EnrichmentLevel.NONE,
+                    response(i, "sql"));
+            assertThat(store.flush(Duration.ofSeconds(5))).isTrue();
+            ends[i] = Files.size(path);
+        }
+        store.shutdown();
+        // an intact frame that is not a stored analysis (e.g. from a newer version)
+        try (AnalysisLog raw = AnalysisLog.open(path, (payload, offset) -> { })) {
+            raw.append(List.of("[\"not a record\"]".getBytes(StandardCharsets.UTF_8)), true);
+        }
+        long size = Files.size(path);
+
+        // a flipped byte in the middle record's payload
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long inside = ends[0] + AnalysisLog.FRAME_HEADER_BYTES + 4;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, inside);
+            channel.write(ByteBuffer.wrap(new byte[] { (byte) (b.get(0) ^ 0x20) }), inside);
+        }
+        AnalysisStore reopened = open(path);
+        List<AnalysisStore.StoredAnalysis> all = new ArrayList<>();
+        reopened.forEach(all::add);
+
+        assertThat(all).extracting(AnalysisStore.StoredAnalysis::score).containsExactly(0.0, 2.0);
+        assertThat(Files.size(path)).isEqualTo(size);
+        reopened.recordAnalysis(AnalysisStore.SOURCE_JOB, request("JD 3", "Resume"), EnrichmentLevel.NONE,
+                response(3, "sql"));
+        assertThat(reopened.flush(Duration.ofSeconds(5))).isTrue();
+        assertThat(count(reopened)).isEqualTo(3);
+        reopened.shutdown();
+    }
+
+    @Test
+    void keyIndexKeepsOnlyTheMostRecentlyWrittenKeys() throws Exception {
+        AnalysisStore store = open(dir.resolve("analyses.log"), 2);
+        for (String jd : new String[] { "JD 0", "JD 1", "JD 0", "JD 2" }) {
+            store.recordAnalysis(AnalysisStore.SOURCE_JOB, request(jd, "Resume"), EnrichmentLevel.NONE,
+                    response(50, "sql"));
+        }
+        assertThat(store.flush(Duration.ofSeconds(5))).isTrue();
+
+        // JD 0 was rewritten after JD 1, so JD 1 is the one that made room
+        assertThat(store.keys()).isEqualTo(2);
+        assertThat(store.latest(AnalysisResultCache.key("JD 1", "Resume", EnrichmentLevel.NONE))).isNull();
+        assertThat(store.latest(AnalysisResultCache.key("JD 0", "Resume", EnrichmentLevel.NONE))).isNotNull();
+        assertThat(count(store)).isEqualTo(4);
+        store.shutdown();
+    }
+
+    @Test
+    void refusesForeignFilesAndASecondWriter() throws Exception {
+        Path foreign = dir.resolve("notes.txt");
+        Files.writeString(foreign, "not an analysis log");
+        assertThatThrownBy(() -> open(foreign)).hasMessageContaining("Cannot open analysis store");
+
+        Path path = dir.resolve("analyses.log");
+        AnalysisStore store = open(path);
+        assertThatThrownBy(() -> open(path)).hasRootCauseInstanceOf(IOException.class);
+        store.shutdown();
+    }
+
+    @Test
+    void disabledStoreKeepsNothing() {
+        AnalysisStore store = new AnalysisStore(new ObjectMapper(), new SimpleMeterRegistry(), false,
+                dir.resolve("analyses.log").toString(), 10, 10, true, 10);
+        store.recordAnalysis(AnalysisStore.SOURCE_ANALYZE, request("JD", "Resume"), EnrichmentLevel.NONE,
+                response(50, "java"));
+
+        assertThat(count(store)).isZero();
+        assertThat(Files.exists(dir.resolve("analyses.log"))).isFalse();
+    }
+
+    private static AnalysisStore open(Path path) {
+        return open(path, 100);
+    }
+
+    private static AnalysisStore open(Path path, int maxKeys) {
+        return new AnalysisStore(new ObjectMapper(), new SimpleMeterRegistry(), true, path.toString(), 100, 16, true,
+                maxKeys);
+    }
+
+    private static int count(AnalysisStore store) {
+        int[] n = { 0 };
+        store.forEach(r -> n[0]++);
+        return n[0];
+    }
+
+    private static AnalysisRequest request(String jd, String resume) {
+        AnalysisRequest request = new AnalysisRequest();
+        request.setJobDescription(jd);
+        request.setResumeText(resume);
+        return request;
+    }
+
+    private static QuestionRequest question(String text) {
+        QuestionRequest request = new QuestionRequest();
+        request.setQuestion(text);
+        return request;
+    }
+
+    private static AnalysisResponse response(double score, String skill) {
+        AnalysisResponse response = new AnalysisResponse();
+        response.setScore(score);
+        response.setMatchLevel("Strong match");
+        response.setJdSkills(List.of(skill));
+        response.setResumeSkills(List.of(skill));
+        response.setMatchedSkills(List.of(skill));
+        response.setMissingSkills(List.of());
+        return response;
+    }
+}
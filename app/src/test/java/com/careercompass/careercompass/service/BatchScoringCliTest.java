@@ -0,0 +1,58 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.engine.MatchEngine;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchScoringCliTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String JD = "Backend developer: Java, Spring Boot, SQL, Docker";
+
+    @Test
+    void writesOneResultPerLineInInputOrderAndKeepsGoingPastBadLines() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            String resume = i % 2 == 0 ? "Built REST APIs in Java and Spring Boot with SQL" : "React and CSS developer";
+            input.append(MAPPER.writeValueAsString(new BatchScoringCli.Pair("c" + i, JD, resume))).append('\n');
+        }
+        input.append('\n').append("{not json\n").append("{\"id\":\"half\",\"resumeText\":\"Java\"}\n");
+
+        StringWriter out = new StringWriter();
+        BatchScoringCli.Summary summary = BatchScoringCli.score(new BufferedReader(new StringReader(input.toString())),
+                out, BatchScoringCli.ruleEngine(new MatchEngine()), 4, 0, new PrintStream(PrintStream.nullOutputStream()));
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString().split("\n")) {
+            lines.add(MAPPER.readTree(line));
+        }
+        assertThat(summary.lines()).isEqualTo(42);
+        assertThat(summary.errors()).isEqualTo(2);
+        assertThat(lines).hasSize(42);
+        for (int i = 0; i < 40; i++) {
+            assertThat(lines.get(i).get("id").asText()).isEqualTo("c" + i);
+            assertThat(lines.get(i).get("line").asLong()).isEqualTo(i + 1);
+        }
+        assertThat(lines.get(0).get("score").asDouble()).isGreaterThan(lines.get(1).get("score").asDouble());
+        assertThat(lines.get(0).get("missingSkills")).hasSize(1);
+        assertThat(lines.get(0).get("missingSkills").get(0).asText()).isEqualTo("docker");
+
+        // the blank line is skipped but still counted for line numbers
+        assertThat(lines.get(40).get("line").asLong()).isEqualTo(42);
+        assertThat(lines.get(40).get("error").asText()).startsWith("Invalid JSON");
+        assertThat(lines.get(41).get("id").asText()).isEqualTo("half");
+        assertThat(lines.get(41).get("error").asText()).contains("required");
+    }
+}
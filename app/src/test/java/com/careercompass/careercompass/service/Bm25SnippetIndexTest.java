@@ -0,0 +1,59 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Bm25SnippetIndexTest {
+
+    private final CareerKnowledgeBase knowledgeBase = new CareerKnowledgeBase();
+
+    @Test
+    void findsParaphrasedQuestionsThatKeywordsMiss() {
+        String question = "how do i add numbers and measurable impact to my bullet points";
+
+        assertThat(ids(knowledgeBase.findByKeywords(question, Set.of(), "", 3))).isEmpty();
+        assertThat(ids(knowledgeBase.findByBm25(question, Set.of(), "", 3))).first().isEqualTo("resume-quantify");
+    }
+
+    @Test
+    void ranksByAdviceTextRelevance() {
+        assertThat(ids(knowledgeBase.findByBm25("how should i write commit messages", Set.of(), "", 3)))
+                .first().isEqualTo("git-commit-messages");
+        assertThat(ids(knowledgeBase.findByBm25("how do i prepare for a behavioral round", Set.of(), "", 3)))
+                .first().isEqualTo("behavioral-story-bank");
+    }
+
+    @Test
+    void missingSkillsAndRoleContributeQueryTerms() {
+        List<String> ids = ids(knowledgeBase.findByBm25("", Set.of("docker"), "backend", 3));
+
+        assertThat(ids).hasSize(3);
+        assertThat(knowledgeBase.findByBm25("", Set.of("docker"), "backend", 3).get(0).getAdviceText().toLowerCase())
+                .contains("docker");
+    }
+
+    @Test
+    void returnsNothingWhenNoQueryTermIsIndexed() {
+        assertThat(knowledgeBase.findByBm25("zzqx qqq", Set.of(), "", 3)).isEmpty();
+        assertThat(knowledgeBase.findByBm25("the and of", Set.of(), "", 3)).isEmpty();
+    }
+
+    @Test
+    void tiesKeepKnowledgeBaseOrder() {
+        List<KnowledgeSnippet> snippets = List.of(
+                new KnowledgeSnippet("a", "Alpha", "skills", List.of(), "kafka streams"),
+                new KnowledgeSnippet("b", "Beta", "skills", List.of(), "kafka streams"),
+                new KnowledgeSnippet("c", "Gamma", "skills", List.of(), "unrelated words here"));
+
+        assertThat(ids(new Bm25SnippetIndex(snippets).search("kafka", Set.of(), "", 3))).containsExactly("a", "b");
+    }
+
+    private static List<String> ids(List<KnowledgeSnippet> snippets) {
+        return snippets.stream().map(KnowledgeSnippet::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,111 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForbiddenSkillMatcherTest {
+
+    private static final List<String> SKILLS = List.of(
+            "java", "javascript", "c", "c++", "c#", "go", "golang", "node.js", ".net", "spring", "spring boot",
+            "sql", "mysql", "power bi", "ms office", "b2b", "aws", "docker", "r", "react", "react native");
+
+    private static final List<String> FILLER = List.of(
+            "good", "going", "you", "have", "strong", "experience", "with", "in", "and", "projects", "cloud",
+            "javas", "springboard", "c++.", "c#,", "(go)", "node.js!", "nodejs", "asp.net", "a", "r&d", "team", "—");
+
+    @Test
+    void makesTheSameDecisionsAsOnePatternPerSkill() {
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            List<String> skills = new ArrayList<>();
+            for (String s : SKILLS) {
+                if (random.nextInt(3) == 0) {
+                    skills.add(random.nextBoolean() ? s : s.toUpperCase());
+                }
+            }
+            ForbiddenSkillMatcher matcher = ForbiddenSkillMatcher.of(skills);
+
+            StringBuilder sentence = new StringBuilder();
+            int words = 1 + random.nextInt(8);
+            for (int w = 0; w < words; w++) {
+                List<String> pool = random.nextBoolean() ? SKILLS : FILLER;
+                sentence.append(pool.get(random.nextInt(pool.size())));
+                sentence.append(random.nextInt(5) == 0 ? "" : " ");
+            }
+            String lower = sentence.toString().toLowerCase();
+
+            assertThat(matcher.mentionsAny(lower))
+                    .as("%s in \"%s\" via %s", skills, lower, matcher.pattern())
+                    .isEqualTo(legacyMentionsAny(skills, lower));
+        }
+    }
+
+    @Test
+    void respectsWordBoundaries() {
+        ForbiddenSkillMatcher matcher = ForbiddenSkillMatcher.of(List.of("Go", "Spring Boot", "c++"));
+
+        assertThat(matcher.mentionsAny("you write good code")).isFalse();
+        assertThat(matcher.mentionsAny("you know go well")).isTrue();
+        assertThat(matcher.mentionsAny("spring boot apis")).isTrue();
+        assertThat(matcher.mentionsAny("spring apis")).isFalse();
+        // same as \bc\+\+\b: a word character has to follow
+        assertThat(matcher.mentionsAny("modern c++ code")).isFalse();
+    }
+
+    @Test
+    void emptyMatcherMatchesNothing() {
+        ForbiddenSkillMatcher matcher = ForbiddenSkillMatcher.of(List.of(" ", ""));
+
+        assertThat(matcher.isEmpty()).isTrue();
+        assertThat(matcher.mentionsAny("anything at all")).isFalse();
+        assertThat(matcher.claimsAny("your docker experience")).isFalse();
+    }
+
+    @Test
+    void sanitizeInsightsDropsOnlyClaimedMissingSkillsFromAdvice() {
+        AiService aiService = new AiService(new CareerKnowledgeBase(), new PipelineMetrics(new SimpleMeterRegistry()), "bm25");
+        AnalysisResponse response = new AnalysisResponse();
+        response.setMatchLevel("Medium Match");
+        response.setMissingSkills(List.of("Docker", "AWS"));
+        response.setSummary("Your Docker skills make you a great fit.");
+        response.setStrengths(new ArrayList<>(List.of(
+                "Solid Java and Spring Boot projects.",
+                "Hands-on Docker deployments.")));
+        response.setAreasForImprovement(new ArrayList<>(List.of(
+                "Learn Docker by containerizing one project.",
+                "Polish your Docker experience for production.")));
+        response.setRecommendations(new ArrayList<>(List.of(
+                "Leverage your Java background to learn AWS.",
+                "Leverage your hands-on AWS work in interviews.",
+                "You already know Docker, so highlight it.")));
+
+        aiService.sanitizeInsights(response);
+
+        assertThat(response.getStrengths()).containsExactly("Solid Java and Spring Boot projects.");
+        assertThat(response.getAreasForImprovement()).containsExactly("Learn Docker by containerizing one project.");
+        assertThat(response.getRecommendations()).containsExactly("Leverage your Java background to learn AWS.");
+        assertThat(response.getSummary()).startsWith("You are a partial fit");
+    }
+
+    // The per-skill loop sanitizeInsights used before the combined matcher
+    private static boolean legacyMentionsAny(List<String> skills, String lower) {
+        for (String s : skills) {
+            if (s == null || s.isBlank()) {
+                continue;
+            }
+            String fs = s.toLowerCase();
+            if (Pattern.compile("\\b" + Pattern.quote(fs) + "\\b").matcher(lower).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,89 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroqJsonTest {
+
+    private static GroqJson.ChatCompletion completion(String json) throws IOException {
+        return GroqJson.readCompletion(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void readsContentFinishReasonAndUsageFromTheEnvelope() throws IOException {
+        GroqJson.ChatCompletion c = completion("""
+                {"id":"chatcmpl-1","object":"chat.completion","created":1,"model":"m",
+                 "system_fingerprint":null,"x_groq":{"id":"req_1","nested":[1,{"a":[]}]},
+                 "choices":[
+                   {"index":0,"logprobs":null,"message":{"role":"assistant","tool_calls":[],"content":"Hello"},
+                    "finish_reason":"stop"},
+                   {"index":1,"message":{"role":"assistant","content":"ignored"},"finish_reason":"length"}],
+                 "usage":{"queue_time":0.01,"prompt_tokens":120,"completion_tokens":34,"total_tokens":154}}
+                """);
+
+        assertThat(c.content()).isEqualTo("Hello");
+        assertThat(c.finishReason()).isEqualTo("stop");
+        assertThat(c.usage()).isEqualTo(new GroqJson.Usage(120, 34, 154));
+    }
+
+    @Test
+    void missingPartsComeBackEmptyRatherThanFailing() throws IOException {
+        GroqJson.ChatCompletion noChoices = completion("{\"choices\":[],\"usage\":null}");
+        assertThat(noChoices.content()).isNull();
+        assertThat(noChoices.usage()).isEqualTo(GroqJson.Usage.NONE);
+
+        GroqJson.ChatCompletion nullContent = completion(
+                "{\"choices\":[{\"message\":{\"content\":null},\"finish_reason\":\"tool_calls\"}]}");
+        assertThat(nullContent.content()).isNull();
+        assertThat(nullContent.finishReason()).isEqualTo("tool_calls");
+    }
+
+    @Test
+    void rejectsANonObjectBody() {
+        assertThatThrownBy(() -> completion("[]")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void payloadIsReadFromTheFirstObjectIgnoringFencesAndCommentary() throws IOException {
+        String reply = """
+                Sure! Here is the analysis:
+                ```json
+                {"jdRequiredSkills":["Java"," Spring Boot ",null],"strongSkills":"Docker",
+                 "weakSkills":[],"roleFocus":"backend","generallyRelated":true,"confidence":0.9}
+                ```
+                Let me know if you need anything else {not json}.
+                """;
+
+        GroqJson.SkillProfilePayload p = GroqJson.readPayload(GroqJson.PROFILE_READER, reply);
+
+        assertThat(p.jdRequiredSkills()).containsExactly("Java", " Spring Boot ", null);
+        assertThat(p.strongSkills()).containsExactly("Docker");
+        assertThat(p.weakSkills()).isEmpty();
+        assertThat(p.roleFocus()).isEqualTo("backend");
+        assertThat(p.generallyRelated()).isEqualTo("true");
+    }
+
+    @Test
+    void insightsKeepBothFieldNameGenerations() throws IOException {
+        GroqJson.InsightsPayload p = GroqJson.readPayload(GroqJson.INSIGHTS_READER,
+                "{\"summary\":\"ok\",\"areasForImprovement\":[\"a\"],\"nextSteps\":[\"b\"]}");
+
+        assertThat(p.summary()).isEqualTo("ok");
+        assertThat(p.gaps()).isNull();
+        assertThat(p.areasForImprovement()).isEqualTo(List.of("a"));
+        assertThat(p.nextSteps()).isEqualTo(List.of("b"));
+    }
+
+    @Test
+    void replyWithoutAnObjectYieldsNull() throws IOException {
+        assertThat((Object) GroqJson.readPayload(GroqJson.PROFILE_READER, "I cannot help with that.")).isNull();
+        assertThat((Object) GroqJson.readPayload(GroqJson.PROFILE_READER, null)).isNull();
+    }
+}
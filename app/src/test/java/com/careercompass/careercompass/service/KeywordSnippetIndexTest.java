@@ -0,0 +1,80 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordSnippetIndexTest {
+
+    private final CareerKnowledgeBase knowledgeBase = new CareerKnowledgeBase();
+
+    @Test
+    void matchesFullScanRankingOnRealKnowledgeBase() {
+        List<Object[]> queries = List.of(
+                new Object[] { "how do i prepare for a backend interview?", Set.of("docker", "aws"), "backend" },
+                new Object[] { "what should i put on my resume", Set.of(), "" },
+                new Object[] { "", Set.of("react", "typescript"), "frontend" },
+                new Object[] { "i want to move into data analysis with sql and excel", Set.of("power bi"), "data" },
+                new Object[] { "career switch advice", Set.of("c", "go"), "other" },
+                new Object[] { "nothing relevant here", Set.of(), "" });
+
+        for (Object[] q : queries) {
+            String question = (String) q[0];
+            @SuppressWarnings("unchecked")
+            Set<String> skills = (Set<String>) q[1];
+            String role = (String) q[2];
+
+            List<String> expected = fullScan(knowledgeBase.getAllSnippets(), question, skills, role, 3);
+            List<String> actual = knowledgeBase.findByKeywords(question, skills, role, 3).stream()
+                    .map(KnowledgeSnippet::getId)
+                    .collect(Collectors.toList());
+
+            assertThat(actual).as("query '%s' %s %s", question, skills, role).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void tiesKeepKnowledgeBaseOrderAndDuplicateKeywordsCountTwice() {
+        List<KnowledgeSnippet> snippets = List.of(
+                new KnowledgeSnippet("a", "A", "skills", List.of("java"), "a"),
+                new KnowledgeSnippet("b", "B", "skills", List.of("Java"), "b"),
+                new KnowledgeSnippet("c", "C", "skills", List.of("java", "JAVA"), "c"),
+                new KnowledgeSnippet("d", "D", "skills", List.of("python"), "d"));
+
+        List<String> ids = new KeywordSnippetIndex(snippets).search("java help", Set.of(), "", 3).stream()
+                .map(KnowledgeSnippet::getId)
+                .collect(Collectors.toList());
+
+        assertThat(ids).containsExactly("c", "a", "b");
+    }
+
+    // Reference implementation: the original per-snippet scan
+    private static List<String> fullScan(List<KnowledgeSnippet> snippets, String q, Set<String> skills,
+            String role, int limit) {
+        return snippets.stream()
+                .map(snippet -> {
+                    int score = 0;
+                    for (String kw : snippet.getKeywords()) {
+                        String k = kw.toLowerCase();
+                        if (q.contains(k))
+                            score += 3;
+                        if (role.contains(k))
+                            score += 2;
+                        for (String s : skills) {
+                            if (s.contains(k) || k.contains(s)) {
+                                score += 4;
+                            }
+                        }
+                    }
+                    return new AbstractMap.SimpleEntry<>(snippet, score);
+                })
+                .filter(entry -> entry.getValue() > 0)
+                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
+                .limit(limit)
+                .map(e -> e.getKey().getId())
+                .collect(Collectors.toList());
+    }
+}
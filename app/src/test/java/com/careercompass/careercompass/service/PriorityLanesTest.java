@@ -0,0 +1,51 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriorityLanesTest {
+
+    @Test
+    void eachLaneHasItsOwnCapacity() {
+        PriorityLanes<String> lanes = new PriorityLanes<>(2);
+
+        assertThat(lanes.offer(JobPriority.LOW, "l1")).isTrue();
+        assertThat(lanes.offer(JobPriority.LOW, "l2")).isTrue();
+        assertThat(lanes.offer(JobPriority.LOW, "l3")).isFalse();
+        assertThat(lanes.offer(JobPriority.HIGH, "h1")).isTrue();
+        assertThat(lanes.size()).isEqualTo(3);
+    }
+
+    @Test
+    void servesLanesFourToTwoToOneWithoutStarvingLowerLanes() throws InterruptedException {
+        PriorityLanes<String> lanes = new PriorityLanes<>(100);
+        for (int i = 0; i < 20; i++) {
+            lanes.offer(JobPriority.LOW, "L");
+            lanes.offer(JobPriority.NORMAL, "N");
+            lanes.offer(JobPriority.HIGH, "H");
+        }
+
+        List<String> firstCycle = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            firstCycle.add(lanes.poll(0, TimeUnit.MILLISECONDS));
+        }
+
+        assertThat(firstCycle).containsExactly("H", "H", "N", "H", "H", "N", "L");
+    }
+
+    @Test
+    void fallsBackToNextNonEmptyLaneInPriorityOrder() throws InterruptedException {
+        PriorityLanes<String> lanes = new PriorityLanes<>(10);
+        lanes.offer(JobPriority.LOW, "l1");
+        lanes.offer(JobPriority.NORMAL, "n1");
+
+        assertThat(lanes.poll(0, TimeUnit.MILLISECONDS)).isEqualTo("n1");
+        assertThat(lanes.poll(0, TimeUnit.MILLISECONDS)).isEqualTo("l1");
+        assertThat(lanes.poll(10, TimeUnit.MILLISECONDS)).isNull();
+    }
+}
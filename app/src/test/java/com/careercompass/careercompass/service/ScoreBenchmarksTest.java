@@ -0,0 +1,112 @@
+package com.careercompass.careercompass.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static com.careercompass.careercompass.service.EnrichmentLevel.FULL;
+import static com.careercompass.careercompass.service.EnrichmentLevel.NONE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScoreBenchmarksTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void percentileAgainstTheRoleOnceItHasEnoughScoresOtherwiseAllRoles() {
+        ScoreBenchmarks benchmarks = new ScoreBenchmarks(new ObjectMapper(), 10, 4, "", "", 60);
+        assertThat(benchmarks.percentile(FULL, "Backend", 50)).isNull();
+
+        for (int score : new int[] { 20, 40, 60, 80 }) {
+            benchmarks.record(FULL, "Data Analyst", score);
+        }
+        // backend has no scores yet: compared with everyone
+        assertThat(benchmarks.percentile(FULL, "Backend", 50))
+                .isEqualTo(new ScoreBenchmarks.Percentile(ScoreBenchmarks.ALL_ROLES, 50, 4));
+
+        for (int score : new int[] { 10, 20, 30, 62 }) {
+            benchmarks.record(FULL, "backend", score);
+        }
+        // beats 3 of 4, ties the fourth: 3.5 / 4
+        assertThat(benchmarks.percentile(FULL, "BACKEND", 62.2))
+                .isEqualTo(new ScoreBenchmarks.Percentile("backend", 88, 4));
+        assertThat(benchmarks.percentile(FULL, null, 100).percentile()).isEqualTo(100);
+    }
+
+    @Test
+    void rolesBeyondTheLimitOnlyCountTowardAllRoles() {
+        ScoreBenchmarks benchmarks = new ScoreBenchmarks(new ObjectMapper(), 1, 1, "", "", 60);
+        benchmarks.record(FULL, "backend", 70);
+        benchmarks.record(FULL, "frontend", 30);
+
+        assertThat(benchmarks.percentile(FULL, "backend", 70).role()).isEqualTo("backend");
+        assertThat(benchmarks.percentile(FULL, "frontend", 30).role()).isEqualTo(ScoreBenchmarks.ALL_ROLES);
+        assertThat(benchmarks.percentile(FULL, "frontend", 30).sample()).isEqualTo(2);
+    }
+
+    @Test
+    void nodesMergeThroughSnapshotsAndRestoreTheirOwnOnRestart() throws Exception {
+        String shared = dir.toString();
+        ScoreBenchmarks podA = new ScoreBenchmarks(new ObjectMapper(), 10, 1, shared, "pod-a", 3600);
+        ScoreBenchmarks podB = new ScoreBenchmarks(new ObjectMapper(), 10, 1, shared, "pod-b", 3600);
+        for (int i = 0; i < 3; i++) {
+            podA.record(FULL, "backend", 90);
+        }
+        podB.record(FULL, "backend", 10);
+
+        podA.snapshot();
+        podB.snapshot();
+        // B now sees A's three scores above 50; A sees B's one below
+        assertThat(podB.percentile(FULL, "backend", 50)).isEqualTo(new ScoreBenchmarks.Percentile("backend", 25, 4));
+        podA.snapshot();
+        assertThat(podA.percentile(FULL, "backend", 50).sample()).isEqualTo(4);
+
+        podA.shutdown();
+        Files.writeString(dir.resolve("broken.json"), "{not json");
+        ScoreBenchmarks restarted = new ScoreBenchmarks(new ObjectMapper(), 10, 1, shared, "pod-a", 3600);
+        assertThat(restarted.percentile(FULL, "backend", 50)).isEqualTo(new ScoreBenchmarks.Percentile("backend", 25, 4));
+        restarted.shutdown();
+        podB.shutdown();
+    }
+
+    @Test
+    void scoresAreOnlyComparedWithinTheirEnrichmentLevel() {
+        ScoreBenchmarks benchmarks = new ScoreBenchmarks(new ObjectMapper(), 10, 2, "", "", 60);
+        benchmarks.record(NONE, "backend", 10);
+        benchmarks.record(NONE, "backend", 20);
+        assertThat(benchmarks.percentile(FULL, "backend", 50)).isNull();
+
+        benchmarks.record(FULL, "backend", 80);
+        benchmarks.record(FULL, "backend", 90);
+        assertThat(benchmarks.percentile(FULL, "backend", 50)).isEqualTo(new ScoreBenchmarks.Percentile("backend", 0, 2));
+        assertThat(benchmarks.percentile(NONE, "backend", 50)).isEqualTo(new ScoreBenchmarks.Percentile("backend", 100, 2));
+    }
+
+    @Test
+    void snapshotsOfNodesThatStoppedWritingAreLeftOut() throws Exception {
+        long stale = System.currentTimeMillis() - (ScoreBenchmarks.STALE_SNAPSHOTS + 1) * 60_000L;
+        long[] counts = new long[ScoreBenchmarks.BUCKETS];
+        counts[90] = 5;
+        new ObjectMapper().writeValue(dir.resolve("gone.json").toFile(), new ScoreBenchmarks.Snapshot("gone", stale,
+                Map.of(FULL, Map.of("backend", counts))));
+
+        ScoreBenchmarks node = new ScoreBenchmarks(new ObjectMapper(), 10, 1, dir.toString(), "pod-a", 60);
+        node.record(FULL, "backend", 10);
+        node.snapshot();
+        assertThat(node.percentile(FULL, "backend", 50).sample()).isEqualTo(1);
+        node.shutdown();
+    }
+
+    @Test
+    void sharingSnapshotsNeedsAnExplicitNodeId() {
+        assertThatThrownBy(() -> new ScoreBenchmarks(new ObjectMapper(), 10, 1, dir.toString(), " ", 60))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("node-id");
+    }
+}
@@ -0,0 +1,159 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillGapAnalyticsTest {
+
+    private static final long HOUR_MS = 3_600_000L;
+
+    private final AtomicLong now = new AtomicLong(100 * HOUR_MS);
+
+    @Test
+    void ranksMissingAndMatchedSkillsPerRole() {
+        SkillGapAnalytics analytics = analytics(0.5);
+        for (int i = 0; i < 5; i++) {
+            analytics.record("Backend  Engineer", List.of("docker", "kubernetes"), List.of("java"));
+        }
+        analytics.record("backend engineer", List.of("docker"), List.of("sql"));
+        analytics.record("Data Analyst", List.of("tableau"), List.of("sql"));
+        analytics.record(null, List.of("aws"), List.of());
+
+        SkillGapAnalytics.Report report = analytics.report(null, 10, 10);
+        SkillGapAnalytics.RoleGaps backend = report.roles().get(0);
+
+        assertThat(report.analyses()).isEqualTo(8);
+        assertThat(report.roles()).extracting(SkillGapAnalytics.RoleGaps::role)
+                .containsExactly("backend engineer", "data analyst", SkillGapAnalytics.UNSPECIFIED_ROLE);
+        assertThat(backend.analyses()).isEqualTo(6);
+        assertThat(backend.missing()).containsExactly(
+                new SkillGapAnalytics.SkillCount("docker", 6), new SkillGapAnalytics.SkillCount("kubernetes", 5));
+        assertThat(backend.matched()).extracting(SkillGapAnalytics.SkillCount::skill).containsExactly("java", "sql");
+        assertThat(analytics.report("DATA ANALYST", 10, 10).roles().get(0).missing())
+                .containsExactly(new SkillGapAnalytics.SkillCount("tableau", 1));
+    }
+
+    @Test
+    void olderWindowsAreDecayedAndThenDropped() {
+        SkillGapAnalytics analytics = analytics(0.5);
+        for (int i = 0; i < 8; i++) {
+            analytics.record("backend", List.of("docker"), List.of());
+        }
+
+        now.addAndGet(HOUR_MS);
+        for (int i = 0; i < 16; i++) {
+            analytics.record("backend", List.of("terraform"), List.of());
+        }
+        assertThat(analytics.report("backend", 1, 10).roles().get(0).missing()).containsExactly(
+                new SkillGapAnalytics.SkillCount("terraform", 16), new SkillGapAnalytics.SkillCount("docker", 4));
+
+        // the ring holds 4 windows: the first one has aged out and its slot was reused
+        now.addAndGet(3 * HOUR_MS);
+        analytics.record("backend", List.of(), List.of());
+        assertThat(analytics.report("backend", 1, 10).roles().get(0).missing()).extracting(SkillGapAnalytics.SkillCount::skill)
+                .containsExactly("terraform");
+    }
+
+    @Test
+    void heavyHittersSurviveALongTailInFixedMemory() {
+        SkillGapAnalytics analytics = analytics(1.0);
+        for (int i = 0; i < 20_000; i++) {
+            List<String> missing = i % 4 == 0 ? List.of("docker", "skill-" + i) : List.of("skill-" + i);
+            analytics.record("backend", missing, List.of());
+        }
+
+        List<SkillGapAnalytics.SkillCount> top = analytics.report("backend", 1, 3).roles().get(0).missing();
+        assertThat(top.get(0).skill()).isEqualTo("docker");
+        // Count-Min never undercounts, and stays close at this width
+        assertThat(top.get(0).count()).isBetween(5_000L, 5_100L);
+    }
+
+    @Test
+    void aQuietRoleKeepsItsGapsNextToBusyOnes() {
+        SkillGapAnalytics analytics = new SkillGapAnalytics(3600, 4, 1.0, 2048, 4, 3, 4, now::get);
+        for (int i = 0; i < 2_000; i++) {
+            analytics.record("backend", List.of("skill-" + i), List.of());
+            analytics.record("frontend", List.of("skill-" + i), List.of());
+        }
+        analytics.record("data analyst", List.of("tableau"), List.of());
+        analytics.record("data analyst", List.of("tableau"), List.of());
+        // past max-roles: shares the overflow summary, where a clear heavy hitter still survives
+        for (int i = 0; i < 50; i++) {
+            analytics.record("ops", List.of("terraform", "noise-" + i), List.of());
+        }
+
+        // counts may run high (Count-Min, thousands of noise keys); the candidates are what matter
+        assertThat(analytics.report("data analyst", 1, 3).roles().get(0).missing())
+                .extracting(SkillGapAnalytics.SkillCount::skill).containsExactly("tableau");
+        assertThat(analytics.report("backend", 1, 3).roles().get(0).missing()).hasSize(3);
+        assertThat(analytics.report("ops", 1, 1).roles().get(0).missing())
+                .extracting(SkillGapAnalytics.SkillCount::skill).containsExactly("terraform");
+        assertThat(analytics.report(null, 10, 1).roles()).extracting(SkillGapAnalytics.RoleGaps::role)
+                .containsExactlyInAnyOrder("backend", "frontend", "ops", "data analyst");
+    }
+
+    @Test
+    void keysSharingAStringHashCodeAreCountedApart() {
+        CountMinSketch sketch = new CountMinSketch(4, 2048);
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        sketch.add("Aa", 1_000);
+
+        assertThat(sketch.estimate("Aa")).isEqualTo(1_000);
+        assertThat(sketch.estimate("BB")).isZero();
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws Exception {
+        SkillGapAnalytics analytics = analytics(1.0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    analytics.record("backend", List.of("docker"), List.of("java"));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        SkillGapAnalytics.RoleGaps backend = analytics.report(null, 1, 1).roles().get(0);
+        assertThat(backend.analyses()).isEqualTo(40_000);
+        assertThat(backend.missing()).containsExactly(new SkillGapAnalytics.SkillCount("docker", 40_000));
+    }
+
+    @Test
+    void recordsForOneRoleFromOtherStripesDoNotWaitOnAHeldSummary() throws Exception {
+        SkillGapAnalytics analytics = new SkillGapAnalytics(3600, 4, 1.0, 2048, 32, 4, 8, now::get);
+        analytics.record(null, List.of("docker"), List.of("java"));
+        int mine = SkillGapAnalytics.stripe(Thread.currentThread().getId(), 8);
+
+        Thread other;
+        do {
+            other = new Thread(() -> analytics.record(null, List.of("docker"), List.of("java")));
+        } while (SkillGapAnalytics.stripe(other.getId(), 8) == mine);
+
+        SpaceSaving held = analytics.missingSummary(null);
+        synchronized (held) {
+            other.start();
+            other.join(5_000);
+            assertThat(other.isAlive()).isFalse();
+        }
+        assertThat(analytics.report(null, 1, 1).roles().get(0).missing())
+                .containsExactly(new SkillGapAnalytics.SkillCount("docker", 2));
+    }
+
+    private SkillGapAnalytics analytics(double decay) {
+        return new SkillGapAnalytics(3600, 4, decay, 2048, 32, 4, 4, now::get);
+    }
+}
@@ -0,0 +1,120 @@
+package com.careercompass.careercompass.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnippetStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsBuiltInSnippets() throws IOException {
+        List<KnowledgeSnippet> builtIn = CareerKnowledgeBase.builtInSnippets();
+        Path file = dir.resolve("kb.ckb");
+        SnippetStore.write(builtIn, file);
+
+        List<KnowledgeSnippet> loaded = SnippetStore.open(file).snippets();
+
+        assertThat(loaded).hasSameSizeAs(builtIn);
+        for (int i = 0; i < builtIn.size(); i++) {
+            KnowledgeSnippet expected = builtIn.get(i);
+            KnowledgeSnippet actual = loaded.get(i);
+            assertThat(actual.getId()).isEqualTo(expected.getId());
+            assertThat(actual.getTopic()).isEqualTo(expected.getTopic());
+            assertThat(actual.getCategory()).isEqualTo(expected.getCategory());
+            assertThat(actual.getKeywords()).isEqualTo(expected.getKeywords());
+            assertThat(actual.getAdviceText()).isEqualTo(expected.getAdviceText());
+        }
+    }
+
+    @Test
+    void storeBackedKnowledgeBaseRetrievesLikeBuiltIn() throws IOException {
+        Path file = dir.resolve("kb.ckb");
+        SnippetStore.write(CareerKnowledgeBase.builtInSnippets(), file);
+
+        CareerKnowledgeBase builtIn = new CareerKnowledgeBase();
+        CareerKnowledgeBase mapped = new CareerKnowledgeBase(file.toString());
+
+        String question = "how do i prepare for a backend interview and learn docker?";
+        Set<String> skills = Set.of("docker", "sql");
+        assertThat(ids(mapped.findByKeywords(question, skills, "backend", 3)))
+                .isEqualTo(ids(builtIn.findByKeywords(question, skills, "backend", 3)));
+        assertThat(ids(mapped.findByBm25(question, skills, "backend", 3)))
+                .isEqualTo(ids(builtIn.findByBm25(question, skills, "backend", 3)));
+    }
+
+    @Test
+    void onlyTheConfiguredStrategyIsIndexed() throws IOException {
+        Path file = dir.resolve("kb.ckb");
+        SnippetStore.write(CareerKnowledgeBase.builtInSnippets(), file);
+        CareerKnowledgeBase kb = new CareerKnowledgeBase(file.toString());
+        PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry());
+
+        new AiService(kb, metrics, "bm25");
+
+        assertThat(kb.isIndexed(RetrievalStrategy.BM25)).isTrue();
+        assertThat(kb.isIndexed(RetrievalStrategy.VECTOR)).isFalse();
+        assertThatThrownBy(() -> new AiService(kb, metrics, "semantic"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rag.retrieval.strategy");
+    }
+
+    @Test
+    void compilesJsonlContentWithoutRebuild() throws IOException {
+        Path jsonl = dir.resolve("kb.jsonl");
+        Files.writeString(jsonl, """
+                {"id":"kafka-basics","topic":"Kafka basics","category":"skills","keywords":["Kafka","streaming"],"adviceText":"Learn topics, partitions and consumer groups — then build one small pipeline."}
+
+                {"id":"golang-start","topic":"Starting with Go","category":"skills","keywords":["go"],"adviceText":"Write a tiny HTTP service."}
+                """);
+        Path file = dir.resolve("kb.ckb");
+        SnippetStoreCompiler.main(new String[] { "compile", file.toString(), jsonl.toString() });
+
+        CareerKnowledgeBase kb = new CareerKnowledgeBase(file.toString());
+
+        assertThat(kb.getAllSnippets()).extracting(KnowledgeSnippet::getId).containsExactly("kafka-basics", "golang-start");
+        List<KnowledgeSnippet> found = kb.findByKeywords("", Set.of("kafka"), "", 3);
+        assertThat(ids(found)).containsExactly("kafka-basics");
+        assertThat(found.get(0).getKeywords()).containsExactly("kafka", "streaming");
+        assertThat(found.get(0).getAdviceText()).contains("consumer groups — then");
+    }
+
+    @Test
+    void exportThenCompileMatchesBuiltIns() throws IOException {
+        Path jsonl = dir.resolve("export.jsonl");
+        SnippetStoreCompiler.exportJsonl(CareerKnowledgeBase.builtInSnippets(), jsonl);
+
+        List<KnowledgeSnippet> read = SnippetStoreCompiler.readJsonl(jsonl);
+
+        assertThat(ids(read)).isEqualTo(ids(CareerKnowledgeBase.builtInSnippets()));
+        assertThat(read.get(0).getAdviceText()).isEqualTo(CareerKnowledgeBase.builtInSnippets().get(0).getAdviceText());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotStores() throws IOException {
+        Path file = dir.resolve("bogus.ckb");
+        Files.writeString(file, "definitely not a snippet store");
+
+        assertThatThrownBy(() -> SnippetStore.open(file)).isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a snippet store");
+        assertThatThrownBy(() -> new CareerKnowledgeBase(file.toString())).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new CareerKnowledgeBase(dir.resolve("missing.ckb").toString()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<String> ids(List<KnowledgeSnippet> snippets) {
+        return snippets.stream().map(KnowledgeSnippet::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,69 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void entriesExpireAfterTtl() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofNanos(100), 10, now::get);
+        cache.put("a", "1");
+
+        now.set(99);
+        assertThat(cache.get("a")).isEqualTo("1");
+        now.set(100);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void fullCacheSweepsExpiredThenEvictsSoonestExpiring() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofNanos(100), 2, now::get);
+        cache.put("old", "1");
+        now.set(10);
+        cache.put("newer", "2");
+
+        now.set(20);
+        cache.put("newest", "3");
+        assertThat(cache.get("old")).isNull();
+        assertThat(cache.get("newer")).isEqualTo("2");
+        assertThat(cache.get("newest")).isEqualTo("3");
+
+        now.set(115);    // "newer" expired, "newest" not yet
+        cache.put("latest", "4");
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("newest")).isEqualTo("3");
+    }
+
+    @Test
+    void rePutKeyKeepsItsNewExpiryAndDoesNotTakeAnotherSlot() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofNanos(100), 2, now::get);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        for (int i = 0; i < 50; i++) {
+            cache.put("a", "1");    // same value and expiry: the stale slots must not evict it
+        }
+
+        now.set(50);
+        cache.put("a", "1");
+        cache.put("c", "3");        // full: "b" is now closest to expiry
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("3");
+    }
+
+    @Test
+    void rejectsAnEmptyCapacity() {
+        assertThatThrownBy(() -> new TtlCache<String, String>(Duration.ofSeconds(1), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("max-entries");
+    }
+}
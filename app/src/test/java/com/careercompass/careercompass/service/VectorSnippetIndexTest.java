@@ -0,0 +1,70 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VectorSnippetIndexTest {
+
+    private final CareerKnowledgeBase knowledgeBase = new CareerKnowledgeBase();
+
+    @Test
+    void stemsMatchOtherWordFormsThatBm25Misses() {
+        String question = "rejected by every company";
+
+        assertThat(ids(knowledgeBase.findByBm25(question, Set.of(), "", 3))).doesNotContain("handling-rejections");
+        assertThat(ids(knowledgeBase.findByVector(question, Set.of(), "", 3))).first().isEqualTo("handling-rejections");
+    }
+
+    @Test
+    void ranksByAdviceTextSimilarity() {
+        assertThat(ids(knowledgeBase.findByVector("how do i add numbers and measurable impact to my bullet points",
+                Set.of(), "", 3))).first().isEqualTo("resume-quantify");
+        assertThat(ids(knowledgeBase.findByVector("how should i write commit messages", Set.of(), "", 3)))
+                .first().isEqualTo("git-commit-messages");
+        assertThat(ids(knowledgeBase.findByVector("how do i prepare for a behavioral round", Set.of(), "", 3)))
+                .first().isEqualTo("behavioral-story-bank");
+    }
+
+    @Test
+    void missingSkillsAndRoleContributeQueryFeatures() {
+        List<KnowledgeSnippet> found = knowledgeBase.findByVector("", Set.of("docker"), "backend", 3);
+
+        assertThat(found).hasSize(3);
+        assertThat(found.get(0).getAdviceText().toLowerCase()).contains("docker");
+    }
+
+    @Test
+    void returnsNothingWhenNoQueryFeatureIsIndexed() {
+        assertThat(knowledgeBase.findByVector("zzqx qqq", Set.of(), "", 3)).isEmpty();
+        assertThat(knowledgeBase.findByVector("the and of", Set.of(), "", 3)).isEmpty();
+    }
+
+    @Test
+    void similarityIsCosine() {
+        VectorSnippetIndex index = new VectorSnippetIndex(knowledgeBase.getAllSnippets());
+
+        assertThat(index.similarity("docker deployment", "docker deployment")).isCloseTo(1f, within(1e-5f));
+        assertThat(index.similarity("interviewing", "interviewer")).isGreaterThan(0.2f);
+        assertThat(index.similarity("docker", "salary")).isLessThan(VectorSnippetIndex.MIN_SIMILARITY);
+    }
+
+    @Test
+    void tiesKeepKnowledgeBaseOrder() {
+        List<KnowledgeSnippet> snippets = List.of(
+                new KnowledgeSnippet("a", "Alpha", "skills", List.of(), "kafka streams"),
+                new KnowledgeSnippet("b", "Beta", "skills", List.of(), "kafka streams"),
+                new KnowledgeSnippet("c", "Gamma", "skills", List.of(), "unrelated words here"));
+
+        assertThat(ids(new VectorSnippetIndex(snippets).search("kafka", Set.of(), "", 3))).containsExactly("a", "b");
+    }
+
+    private static List<String> ids(List<KnowledgeSnippet> snippets) {
+        return snippets.stream().map(KnowledgeSnippet::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,107 @@
+package com.careercompass.careercompass.service;
+
+import java.util.List;
+
+/**
+ * Resume / JD inputs shared by the benchmarks.
+ *
+ * - short: a typical fresher resume and a one-paragraph JD
+ * - long: a multi-page resume and a detailed JD (~20 KB each)
+ * - pathological: inputs that stress the regex / window scans – dense skill
+ *   mentions surrounded by weak hints, no line breaks, many section headers
+ */
+final class BenchmarkCorpus {
+
+    static final String SHORT_JD = """
+            Backend Developer (Java)
+            We are looking for a developer with Java, Spring Boot, SQL and Git.
+            Experience with Docker and AWS is a plus. Good communication and teamwork required.
+            """;
+
+    static final String SHORT_RESUME = """
+            SKILLS
+            Java, Spring Boot, MySQL, Git, HTML, CSS, communication, teamwork
+            PROJECTS
+            Library Management System - built REST APIs with Java and Spring Boot backed by MySQL.
+            Portfolio site - HTML, CSS and JavaScript deployed on GitHub Pages.
+            CERTIFICATIONS
+            Introduction to Docker (course)
+            INTERESTS
+            currently learning AWS
+            """;
+
+    private static final String JD_BLOCK = """
+            About the role
+            You will design, build and operate backend services used by millions of customers.
+            Responsibilities:
+            - Build REST APIs in Java and Spring Boot, backed by PostgreSQL and MongoDB.
+            - Own features end to end: requirements gathering with stakeholders, design, testing and release.
+            - Containerise services with Docker and deploy them to AWS or Azure.
+            - Write unit testing suites with Jest for the React and TypeScript frontend when needed.
+            Requirements:
+            - 2+ years with Java or Kotlin, strong data structures and algorithms.
+            - SQL, MySQL or Oracle, Git and GitHub workflows.
+            - Problem solving, analytical thinking, communication and leadership.
+            Nice to have:
+            - Python, Django or Flask, Node.js, Power BI or Tableau dashboards, Excel reporting.
+            """;
+
+    private static final String RESUME_BLOCK = """
+            PROFESSIONAL EXPERIENCE
+            Software Engineer, Acme Corp (2022 - present)
+            - Built and maintained Spring Boot microservices in Java serving 2M requests per day.
+            - Migrated reporting from Excel macros to PostgreSQL views, cutting report time by 60%.
+            - Containerised 12 services with Docker and deployed them on AWS ECS.
+            - Led requirements gathering with business stakeholders for the billing revamp.
+            PROJECTS
+            Expense Tracker - React, TypeScript and Node.js app with MongoDB, unit testing with Jest.
+            Data Dashboard - Python and Flask API with Power BI reports for the sales team.
+            EDUCATION
+            B.Tech Computer Science - data structures, algorithms, object oriented programming, dsa.
+            CERTIFICATIONS
+            AWS Certified Cloud Practitioner; Introduction to Kotlin (course); Tableau basics.
+            INTERESTS
+            Currently learning Go and exploring Azure; interested in machine learning.
+            """;
+
+    static final String LONG_JD = JD_BLOCK.repeat(20);
+
+    static final String LONG_RESUME = RESUME_BLOCK.repeat(20);
+
+    static final String PATHOLOGICAL_JD = (
+            "java c c++ c# go golang sql mysql spring spring boot node.js node js react.js aws docker "
+                    + "excel power bi tableau sales marketing crm b2b b2c communication teamwork leadership ")
+            .repeat(200);
+
+    static final String PATHOLOGICAL_RESUME = (
+            "currently learning java basics of python intro to c++ (course) familiar with go, "
+                    + "exposure to sql - certification spring boot training courses: docker aws certified "
+                    + "interests excel (certificate) working knowledge of react beginner typescript ")
+            .repeat(200);
+
+    /** AI-style skill lists used for evidence filtering (mix of taxonomy and free-form skills). */
+    static final List<String> AI_SKILLS = List.of(
+            "java", "spring boot", "mysql", "docker", "aws", "rest api", "microservices",
+            "kotlin", "react", "typescript", "git", "c++", "go", "kafka", "jenkins");
+
+    private BenchmarkCorpus() {
+    }
+
+    static String jd(String size) {
+        return switch (size) {
+            case "short" -> SHORT_JD;
+            case "long" -> LONG_JD;
+            case "pathological" -> PATHOLOGICAL_JD;
+            default -> throw new IllegalArgumentException(size);
+        };
+    }
+
+    static String resume(String size) {
+        return switch (size) {
+            case "short" -> SHORT_RESUME;
+            case "long" -> LONG_RESUME;
+            case "pathological" -> PATHOLOGICAL_RESUME;
+            default -> throw new IllegalArgumentException(size);
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.engine.JobRequirements;
+import com.careercompass.careercompass.engine.MatchEngine;
+import com.careercompass.careercompass.engine.SkillGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the deterministic match engine over short, long and
+ * pathological resume / JD pairs. Run with the gc profiler to get
+ * allocation rates (see the benchmarks module).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchEngineBenchmark {
+
+    @Param({ "short", "long", "pathological" })
+    public String corpus;
+
+    private MatchEngine engine;
+    private MatchEngine graphEngine;
+
+    private String jd;
+    private String resume;
+    private String lowerResume;
+    private String weakProbeSkill;
+    private int weakProbeIndex;
+    private Set<String> jdSkills;
+    private Set<String> resumeSkills;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new MatchEngine();
+        graphEngine = new MatchEngine(SkillGraph.defaults());
+
+        jd = BenchmarkCorpus.jd(corpus);
+        resume = BenchmarkCorpus.resume(corpus);
+        lowerResume = resume.toLowerCase();
+
+        // probe the weak-mention / section checks at a real skill occurrence
+        weakProbeSkill = "docker";
+        weakProbeIndex = Math.max(0, lowerResume.indexOf(weakProbeSkill));
+
+        jdSkills = new HashSet<>(engine.extractSkills(jd));
+        resumeSkills = new HashSet<>(engine.extractSkills(resume));
+    }
+
+    @Benchmark
+    public List<String> extractSkillsJd() {
+        return engine.extractSkills(jd);
+    }
+
+    @Benchmark
+    public JobRequirements extractRequirementsJd() {
+        return engine.extractRequirements(jd);
+    }
+
+    @Benchmark
+    public List<String> extractSkillsResume() {
+        return engine.extractSkills(resume);
+    }
+
+    @Benchmark
+    public boolean isWeakMention() {
+        return engine.isWeakMention(lowerResume, weakProbeSkill, weakProbeIndex);
+    }
+
+    @Benchmark
+    public boolean isInLearningSection() {
+        return engine.isInLearningSection(lowerResume, weakProbeIndex);
+    }
+
+    @Benchmark
+    public boolean appearsOnlyInLearningContext() {
+        return engine.appearsOnlyInLearningContext(weakProbeSkill, resume);
+    }
+
+    @Benchmark
+    public List<String> filterSkillsByResumeEvidence() {
+        return engine.filterSkillsByResumeEvidence(BenchmarkCorpus.AI_SKILLS, resume);
+    }
+
+    @Benchmark
+    public double calculateMatchScore() {
+        return engine.calculateMatchScore(jdSkills, resumeSkills);
+    }
+
+    @Benchmark
+    public double calculateMatchScoreGraph() {
+        return graphEngine.calculateMatchScore(jdSkills, resumeSkills);
+    }
+}
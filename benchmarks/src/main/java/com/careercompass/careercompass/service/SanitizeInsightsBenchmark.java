@@ -0,0 +1,65 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.dto.AnalysisResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the insights guardrail as the number of missing skills grows.
+ * Each invocation builds a fresh response (sanitizeInsights mutates it); that
+ * copy is part of the measured cost but is identical across runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SanitizeInsightsBenchmark {
+
+    private static final List<String> SKILL_POOL = List.of(
+            "java", "python", "javascript", "typescript", "c", "c++", "c#", "go", "ruby", "kotlin",
+            "swift", "php", "spring", "spring boot", "django", "flask", "node.js", "html", "css", "react",
+            "angular", "vue", "bootstrap", "redux", "next.js", "jest", "unit testing", "sql", "mysql",
+            "postgresql", "oracle", "mongodb", "git", "github", "docker", "aws", "azure", "gcp", "excel",
+            "power bi", "tableau", "data analysis", "business analysis", "requirements gathering",
+            "stakeholder management", "ms office", "word", "powerpoint", "sales", "marketing", "crm",
+            "customer relationship", "business development", "b2b", "b2c", "oops", "data structures",
+            "algorithms", "dsa", "communication");
+
+    private static final List<String> STRENGTHS = List.of(
+            "Your hands-on Java and Spring Boot project work lines up with the core of this role.",
+            "You have shown you can ship features end to end, which is what this team values.",
+            "Your communication and teamwork examples make your resume easy to trust.",
+            "Your database work with MySQL shows you can handle real data problems.");
+
+    private static final String SUMMARY =
+            "You are a partial fit: your backend fundamentals are good, but cloud skills are still a gap.";
+
+    @Param({ "5", "20", "60" })
+    public int missingSkillCount;
+
+    private AiService aiService;
+    private List<String> missingSkills;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        aiService = new AiService(new CareerKnowledgeBase(), new PipelineMetrics(new SimpleMeterRegistry()));
+        missingSkills = new ArrayList<>(SKILL_POOL.subList(SKILL_POOL.size() - missingSkillCount, SKILL_POOL.size()));
+    }
+
+    @Benchmark
+    public AnalysisResponse sanitizeInsights() {
+        AnalysisResponse response = new AnalysisResponse();
+        response.setMatchLevel("Medium Match");
+        response.setMissingSkills(missingSkills);
+        response.setSummary(SUMMARY);
+        response.setStrengths(new ArrayList<>(STRENGTHS));
+        aiService.sanitizeInsights(response);
+        return response;
+    }
+}
@@ -0,0 +1,106 @@
+package com.careercompass.careercompass.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RAG snippet retrieval as the knowledge base grows. Larger bases are synthesised
+ * by cloning the real snippets with suffixed ids and extra per-clone keywords so
+ * both the snippet count and the keyword vocabulary grow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnippetRetrievalBenchmark {
+
+    @Param({ "70", "5000", "10000" })
+    public int snippetCount;
+
+    private List<KnowledgeSnippet> snippets;
+    private KeywordSnippetIndex keywordIndex;
+    private Bm25SnippetIndex bm25Index;
+    private VectorSnippetIndex vectorIndex;
+    private Path storeFile;
+
+    private final String question = "how do i prepare for a backend interview and learn docker?";
+    private final Set<String> missingSkills = Set.of("docker", "aws", "kubernetes", "sql");
+    private final String role = "backend";
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        snippets = syntheticSnippets(snippetCount);
+        keywordIndex = new KeywordSnippetIndex(snippets);
+        bm25Index = new Bm25SnippetIndex(snippets);
+        vectorIndex = new VectorSnippetIndex(snippets);
+        storeFile = Files.createTempFile("snippets", ".ckb");
+        SnippetStore.write(snippets, storeFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(storeFile);
+    }
+
+    @Benchmark
+    public KeywordSnippetIndex buildKeywordIndex() {
+        return new KeywordSnippetIndex(snippets);
+    }
+
+    @Benchmark
+    public List<KnowledgeSnippet> keywordIndexSearch() {
+        return keywordIndex.search(question, missingSkills, role, 3);
+    }
+
+    @Benchmark
+    public Bm25SnippetIndex buildBm25Index() {
+        return new Bm25SnippetIndex(snippets);
+    }
+
+    @Benchmark
+    public List<KnowledgeSnippet> bm25Search() {
+        return bm25Index.search(question, missingSkills, role, 3);
+    }
+
+    @Benchmark
+    public VectorSnippetIndex buildVectorIndex() {
+        return new VectorSnippetIndex(snippets);
+    }
+
+    @Benchmark
+    public List<KnowledgeSnippet> vectorSearch() {
+        return vectorIndex.search(question, missingSkills, role, 3);
+    }
+
+    /** Maps the store and decodes everything except advice text. */
+    @Benchmark
+    public SnippetStore openSnippetStore() throws IOException {
+        return SnippetStore.open(storeFile);
+    }
+
+    static List<KnowledgeSnippet> syntheticSnippets(int count) {
+        List<KnowledgeSnippet> base = new CareerKnowledgeBase().getAllSnippets();
+        List<KnowledgeSnippet> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            KnowledgeSnippet s = base.get(i % base.size());
+            if (i < base.size()) {
+                result.add(s);
+                continue;
+            }
+            List<String> keywords = new ArrayList<>(s.getKeywords());
+            keywords.add("topic" + i);
+            result.add(new KnowledgeSnippet(s.getId() + "-" + i, s.getTopic() + " " + i, s.getCategory(),
+                    keywords, s.getAdviceText()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package com.careercompass.careercompass.engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Section headers of one lowercased job description, found in a single pass
+ * over its lines, so each skill mention's section is a binary search.
+ *
+ * A line starts a section when its header part (before a colon, or the whole
+ * line if it is a short label) names one: "Nice to have:", "Key
+ * Responsibilities", "Requirements: Java, SQL". Text before the first header
+ * is {@link JdSkill.Section#GENERAL}.
+ */
+final class JdSections {
+
+    private static final int MAX_HEADER_LENGTH = 40;
+    // without a colon a header is a short label, not a sentence ("Docker is preferred.")
+    private static final int MAX_BARE_HEADER_WORDS = 4;
+
+    // checked in this order: "preferred qualifications" is PREFERRED, not REQUIRED
+    private static final List<String> PREFERRED_HEADERS = List.of(
+            "nice to have", "nice-to-have", "good to have", "preferred", "bonus", "pluses", "desirable",
+            "optional");
+    private static final List<String> RESPONSIBILITY_HEADERS = List.of(
+            "responsibilities", "what you will do", "what you'll do", "what you’ll do", "your role",
+            "the role", "duties", "day to day", "day-to-day");
+    private static final List<String> REQUIRED_HEADERS = List.of(
+            "requirements", "required", "must have", "must-have", "qualifications", "what you need",
+            "what you bring", "who you are", "you have", "skills");
+
+    private final int[] offsets;
+    private final JdSkill.Section[] sections;
+
+    private JdSections(int[] offsets, JdSkill.Section[] sections) {
+        this.offsets = offsets;
+        this.sections = sections;
+    }
+
+    static JdSections of(String lowerText) {
+        int[] offsets = new int[8];
+        JdSkill.Section[] sections = new JdSkill.Section[8];
+        int count = 0;
+
+        int lineStart = 0;
+        while (lineStart < lowerText.length()) {
+            int lineEnd = lowerText.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = lowerText.length();
+            }
+            JdSkill.Section section = headerSection(lowerText, lineStart, lineEnd);
+            if (section != null) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                    sections = Arrays.copyOf(sections, count * 2);
+                }
+                offsets[count] = lineStart;
+                sections[count] = section;
+                count++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return new JdSections(Arrays.copyOf(offsets, count), Arrays.copyOf(sections, count));
+    }
+
+    /** Section of the text at {@code index}: that of the last header at or before it. */
+    JdSkill.Section sectionAt(int index) {
+        int at = Arrays.binarySearch(offsets, index);
+        if (at < 0) {
+            at = -at - 2;
+        }
+        return at < 0 ? JdSkill.Section.GENERAL : sections[at];
+    }
+
+    // O(line length): the colon search stops at the line end, and long lines and
+    // sentences are rejected before anything is copied
+    private static JdSkill.Section headerSection(String text, int lineStart, int lineEnd) {
+        int headerEnd = lineEnd;
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (text.charAt(i) == ':') {
+                headerEnd = i;
+                break;
+            }
+        }
+        while (lineStart < headerEnd && Character.isWhitespace(text.charAt(lineStart))) {
+            lineStart++;
+        }
+        int trimmedEnd = headerEnd;
+        while (trimmedEnd > lineStart && Character.isWhitespace(text.charAt(trimmedEnd - 1))) {
+            trimmedEnd--;
+        }
+        if (trimmedEnd == lineStart || trimmedEnd - lineStart > MAX_HEADER_LENGTH) {
+            return null;
+        }
+        if (headerEnd == lineEnd
+                && (text.charAt(trimmedEnd - 1) == '.' || words(text, lineStart, trimmedEnd) > MAX_BARE_HEADER_WORDS)) {
+            return null;
+        }
+
+        String header = text.substring(lineStart, trimmedEnd);
+        if (containsAny(header, PREFERRED_HEADERS)) {
+            return JdSkill.Section.PREFERRED;
+        }
+        if (containsAny(header, RESPONSIBILITY_HEADERS)) {
+            return JdSkill.Section.RESPONSIBILITIES;
+        }
+        if (containsAny(header, REQUIRED_HEADERS)) {
+            return JdSkill.Section.REQUIRED;
+        }
+        return null;
+    }
+
+    // whitespace-separated words in [start, end), which starts and ends on a non-space
+    private static int words(String text, int start, int end) {
+        int words = 1;
+        boolean inSpace = false;
+        for (int i = start; i < end; i++) {
+            boolean space = Character.isWhitespace(text.charAt(i));
+            if (space && !inSpace) {
+                words++;
+            }
+            inSpace = space;
+        }
+        return words;
+    }
+
+    private static boolean containsAny(String header, List<String> keywords) {
+        for (String keyword : keywords) {
+            if (header.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
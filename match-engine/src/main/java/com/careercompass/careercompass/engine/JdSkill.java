@@ -0,0 +1,25 @@
+package com.careercompass.careercompass.engine;
+
+/**
+ * One skill a job description asks for, with what the extraction pass saw of
+ * it: how often it is mentioned, where it first appears and the strongest
+ * section it is listed under.
+ *
+ * @param occurrences mentions from the first non-weak one ("familiar with ..." is weak) on
+ * @param firstOffset character offset of that first non-weak mention
+ * @param weight      its share in the weighted score (see {@link MatchEngine})
+ */
+public record JdSkill(String skill, int occurrences, int firstOffset, Section section, double weight) {
+
+    /** JD sections, strongest first. */
+    public enum Section {
+        /** "Requirements", "Must have", "Qualifications", ... */
+        REQUIRED,
+        /** "Responsibilities", "What you'll do", ... */
+        RESPONSIBILITIES,
+        /** Title, intro and anything not under a recognised header. */
+        GENERAL,
+        /** "Nice to have", "Preferred", "Bonus", ... */
+        PREFERRED
+    }
+}
@@ -0,0 +1,48 @@
+package com.careercompass.careercompass.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The skills of one job description as extracted by
+ * {@link MatchEngine#extractRequirements}: the same names, in the same order,
+ * as {@link MatchEngine#extractSkills}, each with its weighting details.
+ *
+ * Immutable; extract once and score any number of resumes against it.
+ */
+public final class JobRequirements {
+
+    private final List<JdSkill> skills;
+    private final List<String> names;
+
+    public JobRequirements(List<JdSkill> skills) {
+        this.skills = List.copyOf(skills);
+        List<String> names = new ArrayList<>(skills.size());
+        for (JdSkill skill : skills) {
+            names.add(skill.skill());
+        }
+        this.names = List.copyOf(names);
+    }
+
+    /**
+     * Names only, as {@link MatchEngine#extractSkills} found them: each skill
+     * weighs 1.0 and its mention details were not recorded (no occurrences,
+     * offset -1). All an unweighted engine scores by.
+     */
+    public static JobRequirements ofNames(List<String> names) {
+        List<JdSkill> skills = new ArrayList<>(names.size());
+        for (String name : names) {
+            skills.add(new JdSkill(name, 0, -1, JdSkill.Section.GENERAL, 1.0));
+        }
+        return new JobRequirements(skills);
+    }
+
+    public List<JdSkill> skills() {
+        return skills;
+    }
+
+    /** Skill names only, as {@link MatchEngine#extractSkills} returns them. */
+    public List<String> names() {
+        return names;
+    }
+}
@@ -1,25 +1,36 @@
-package com.careercompass.careercompass.service;
-
-import com.careercompass.careercompass.dto.AiSkillProfile;
-import com.careercompass.careercompass.dto.AnalysisRequest;
-import com.careercompass.careercompass.dto.AnalysisResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-
-import java.util.*;
+package com.careercompass.careercompass.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-@Service
-public class MatchService {
-
-    private static final Logger log = LoggerFactory.getLogger(MatchService.class);
-
-    @Autowired
-    private AiService aiService;
+/**
+ * The deterministic match engine: skill extraction from raw text, weak-mention
+ * and learning-section detection, the rule-based score and its AI-profile
+ * calibration.
+ *
+ * Has no dependencies beyond the JDK and keeps no mutable state: everything
+ * it knows comes from an immutable {@link SkillTaxonomy}, so one instance can
+ * be shared by any number of threads (web requests, batch jobs, stream
+ * processors).
+ *
+ * Built with a {@link SkillGraph}, the score also gives partial credit for JD
+ * skills the resume reaches through the graph ("postgresql" toward "sql");
+ * without one, only exact skill matches count.
+ *
+ * With JD weighting on, each JD skill counts by the weight
+ * {@link #extractRequirements} gives it (section, mentions, title) instead of
+ * equally: a "nice to have" skill moves the score less than one the title
+ * names and the requirements repeat.
+ */
+public final class MatchEngine {
 
     // Constants for Scoring Logic
     private static final double BASELINE_SCORE = 2.0;
@@ -28,189 +39,101 @@ public class MatchService {
     private static final double LOW_STRONG_RATIO = 0.3;
     private static final double LOW_STRONG_SCORE_CAP = 75.0;
 
-    // Skills we try to detect in raw text (JD + resume)
-    // Includes tech + non-tech + business + sales + analyst keywords
-    private static final List<String> SKILLS = Arrays.asList(
-            // programming languages
-            "java", "python", "javascript", "typescript",
-            "c", "c programming", "c++", "c#", "go", "golang", "ruby", "kotlin", "swift", "php",
+    // JD skill weights: section x mentions x title
+    private static final double REQUIRED_WEIGHT = 1.0;
+    private static final double RESPONSIBILITIES_WEIGHT = 0.8;
+    private static final double GENERAL_WEIGHT = 0.8;
+    private static final double PREFERRED_WEIGHT = 0.4;
+    private static final double PER_EXTRA_MENTION = 0.15;
+    private static final int MAX_EXTRA_MENTIONS = 4;
+    private static final double TITLE_BOOST = 1.3;
 
-            // backend frameworks / tech
-            "spring", "spring boot", "django", "flask", "node.js", "node js",
+    // Feature flag to enable/disable new weak skill detection
+    private static final boolean USE_ENHANCED_WEAK_DETECTION = true;
 
-            // frontend
-            "html", "css", "react", "angular", "vue", "bootstrap",
-            "redux", "next.js", "jest", "unit testing",
+    private final SkillTaxonomy taxonomy;
+    // null: exact matching only
+    private final SkillGraph graph;
+    private final boolean weighted;
+    // per-thread resume bitset for graph scoring, refilled on every score; null without a graph
+    private final ThreadLocal<long[]> resumeBits;
 
-            // databases / data tech
-            "sql", "mysql", "postgresql", "oracle", "mongodb",
+    /** An engine over the built-in taxonomy, exact matching only. */
+    public MatchEngine() {
+        this(SkillTaxonomy.defaults());
+    }
 
-            // cloud / devops / tools
-            "git", "github", "docker", "aws", "azure", "gcp",
+    public MatchEngine(SkillTaxonomy taxonomy) {
+        this(taxonomy, null, false);
+    }
 
-            // data / analytics
-            "excel", "power bi", "tableau", "data analysis", "data analyst",
-            "business analyst", "business analysis", "requirements gathering",
-            "requirement gathering", "stakeholder management",
+    /** An engine that scores with partial credit through {@code graph}. */
+    public MatchEngine(SkillGraph graph) {
+        this(graph.taxonomy(), graph, false);
+    }
 
-            // office / business tools
-            "ms office", "microsoft office", "word", "powerpoint",
+    /**
+     * @param graph    partial credit through this graph, or null for exact matching
+     * @param weighted weight JD skills by {@link JdSkill#weight()} rather than equally
+     */
+    public MatchEngine(SkillTaxonomy taxonomy, SkillGraph graph, boolean weighted) {
+        if (graph != null && graph.taxonomy() != taxonomy) {
+            throw new IllegalArgumentException("Skill graph was loaded for a different taxonomy");
+        }
+        this.taxonomy = taxonomy;
+        this.graph = graph;
+        this.weighted = weighted;
+        this.resumeBits = graph == null ? null : ThreadLocal.withInitial(() -> new long[graph.words()]);
+    }
 
-            // sales / marketing / crm
-            "sales", "marketing", "crm", "customer relationship",
-            "business development", "b2b", "b2c",
+    public SkillTaxonomy taxonomy() {
+        return taxonomy;
+    }
 
-            // fundamentals / soft-ish tech
-            "oops", "object oriented programming",
-            "data structures", "algorithms", "dsa",
+    /** @return the graph used for partial credit, or null for exact matching */
+    public SkillGraph graph() {
+        return graph;
+    }
 
-            // generic soft skills (for relevance detection)
-            "communication", "teamwork", "leadership",
-            "problem solving", "analytical thinking", "presentation");
+    public boolean isWeighted() {
+        return weighted;
+    }
 
-    // Feature flag to enable/disable new weak skill detection
-    private static final boolean USE_ENHANCED_WEAK_DETECTION = true;
+    /**
+     * Extracts both skill lists, scores them and works out matched and missing
+     * skills: the whole rule-engine result for one pair.
+     */
+    public MatchResult match(String jobDescription, String resumeText) {
+        return match(requirementsForScoring(jobDescription), extractSkills(resumeText));
+    }
 
-    // Phrases that indicate a weaker skill mention (certificates / basic exposure)
-    private static final List<String> WEAK_SKILL_HINTS = Arrays.asList(
-            // Courses & Certifications
-            "certification",
-            "certified",
-            "certificate",
-            "course",
-            "training",
-
-            // Learning phrases
-            "introduction to",
-            "intro to",
-            "learning",
-            "currently learning",
-            "exploring",
-            "currently exploring",
-            "studying",
-
-            // Beginner indicators
-            "basics",
-            "basic",
-            "beginner",
-            "foundation",
-            "fundamentals",
-            "familiar with",
-            "exposure to",
-            "working knowledge",
-
-            // Interest/Future goals
-            "interested in",
-            "interest in");
-
-    // Core “programming language” skills we recognize
-    private static final Set<String> LANGUAGE_SKILLS = Set.of(
-            "java", "python", "javascript", "typescript",
-            "c", "c++", "c#", "go", "golang", "ruby", "kotlin", "swift", "php");
-
-    // Skills that usually define a role strongly (used to cap high scores if
-    // missing)
-    // Includes tech (dev, data) + business / analyst / sales signals
-    private static final Set<String> KEY_IMPORTANT_SKILLS = Set.of(
-            // dev languages
-            "java", "python", "javascript", "typescript", "c#", "c++", "go", "golang",
-
-            // back-end frameworks
-            "spring", "spring boot", "django", "flask", "node.js", "node js",
-
-            // front-end frameworks
-            "react", "angular", "vue",
-
-            // data / db
-            "sql", "mysql", "postgresql", "oracle", "mongodb",
-
-            // analytics / business tools
-            "excel", "power bi", "tableau",
-
-            // analyst / business roles
-            "data analyst", "business analyst", "business analysis",
-
-            // sales / marketing
-            "sales", "marketing", "crm", "business development");
-
-    // General “relevant background” skills so we don’t give hard 0 if there is some
-    // base
-    // These show that the candidate is at least in a related space (tech or
-    // business)
-    private static final Set<String> GENERAL_RELEVANT_SKILLS = Set.of(
-            // fundamentals
-            "oops", "object oriented programming",
-            "data structures", "algorithms", "dsa",
-
-            // generic dev tools
-            "git", "github", "html", "css", "javascript",
-
-            // general business / analyst skills
-            "excel", "ms office", "microsoft office",
-            "communication", "teamwork", "leadership",
-            "problem solving", "analytical thinking", "presentation",
-            "requirements gathering", "requirement gathering",
-            "stakeholder management", "customer relationship");
-
-    // Cache for compiled patterns to avoid recompiling in loops (Performance Fix)
-    private static final Map<String, Pattern> PATTERN_CACHE = new HashMap<>();
-
-    // Canonical Skill Map to handle synonyms (Node.js == Node JS)
-    private static final Map<String, String> CANONICAL_SKILLS = new HashMap<>();
-
-    // Static block to pre-compile patterns & load synonyms
-    static {
-        // 1. Initialize Canonical Map (Synonyms)
-        // Self-mappings (Identity)
-        CANONICAL_SKILLS.put("go", "go");
-        CANONICAL_SKILLS.put("node.js", "node.js");
-
-        // Synonyms -> Canonical
-        CANONICAL_SKILLS.put("golang", "go");
-        CANONICAL_SKILLS.put("node js", "node.js");
-        CANONICAL_SKILLS.put("microsoft office", "ms office");
-        CANONICAL_SKILLS.put("ms office", "ms office");
-        CANONICAL_SKILLS.put("react.js", "react");
-        CANONICAL_SKILLS.put("react", "react");
-        CANONICAL_SKILLS.put("requirement gathering", "requirements gathering");
-        CANONICAL_SKILLS.put("requirements gathering", "requirements gathering");
-        // Fix: Map Role -> Skill (Standardization)
-        CANONICAL_SKILLS.put("business analyst", "business analysis");
-        CANONICAL_SKILLS.put("business analysis", "business analysis");
-        CANONICAL_SKILLS.put("data analyst", "data analysis");
-        CANONICAL_SKILLS.put("data analysis", "data analysis");
-        CANONICAL_SKILLS.put("c programming", "c");
-        CANONICAL_SKILLS.put("c", "c");
-
-        // 2. Compile Patterns
-        for (String skill : SKILLS) {
-            String lowerSkill = skill.toLowerCase();
-            String regex;
-
-            // Boundary includes forward slash now [\\s\\.,;\\)\\(//]
-
-            if (lowerSkill.matches(".*[\\+\\#]$")) {
-                // Ends in symbol (C++, C#) - strict boundaries
-                regex = "(?<=^|[\\s\\.,;\\)\\(//])" + Pattern.quote(lowerSkill) + "(?=[\\s\\.,;\\)\\(//]|$|\\z)";
-            } else if (lowerSkill.equals("c")) {
-                // Special case for "C" (no ++ or # after)
-                regex = "\\bc(?![\\+\\#])\\b";
-            } else if (lowerSkill.contains(" ") || lowerSkill.contains(".")) {
-                // Multi-word / dot
-                // Ensure boundaries handle slash
-                regex = "(?<=^|[\\s\\(//])" + Pattern.quote(lowerSkill) + "(?=[\\s\\.,;\\)//]|$|\\z)";
-            } else {
-                // Standard single word
-                regex = "\\b" + Pattern.quote(lowerSkill) + "\\b";
-            }
-            PATTERN_CACHE.put(lowerSkill, Pattern.compile(regex));
-        }
+    /** As {@link #match(String, String)}, for a JD extracted once and shared by many resumes. */
+    public MatchResult match(JobRequirements jd, List<String> resumeSkills) {
+        return result(jd.names(), resumeSkills, calculateMatchScore(jd, resumeSkills));
+    }
+
+    /** As {@link #match(String, String)} for plain skill lists; JD skills count equally. */
+    public MatchResult match(List<String> jdSkills, List<String> resumeSkills) {
+        return result(jdSkills, resumeSkills, flatScore(jdSkills, resumeSkills, null));
+    }
+
+    /** Builds the result for a score computed elsewhere (e.g. timed separately). */
+    public MatchResult result(List<String> jdSkills, List<String> resumeSkills, double score) {
+        // Matched + missing (for display + AI tip/insights)
+        Set<String> matched = new HashSet<>(normalizeSkills(jdSkills));
+        matched.retainAll(normalizeSkills(resumeSkills));
+
+        List<String> missing = new ArrayList<>(normalizeSkills(jdSkills));
+        missing.removeAll(normalizeSkills(resumeSkills));
+
+        return new MatchResult(score, determineMatchLevel(score), jdSkills, resumeSkills,
+                new ArrayList<>(matched), missing);
     }
 
     // -----------------------------
     // UPDATED: helper to detect weak mentions in a local window
     // -----------------------------
-    private boolean isWeakMention(String lowerText, String skill, int skillIndex) {
+    public boolean isWeakMention(String lowerText, String skill, int skillIndex) {
 
         if (!USE_ENHANCED_WEAK_DETECTION) {
             // Old Logic (Fallback)
@@ -220,7 +143,7 @@ public class MatchService {
 
             String window = lowerText.substring(start, end);
 
-            for (String weakKey : WEAK_SKILL_HINTS) {
+            for (String weakKey : taxonomy.weakSkillHints()) {
                 String wk = weakKey.toLowerCase();
                 if (window.contains(wk + " " + skill) || window.contains(skill + " " + wk)) {
                     return true;
@@ -237,7 +160,7 @@ public class MatchService {
 
         String window = lowerText.substring(start, end);
 
-        for (String weakKey : WEAK_SKILL_HINTS) {
+        for (String weakKey : taxonomy.weakSkillHints()) {
             String wk = weakKey.toLowerCase();
 
             // Pattern 1: "currently learning python" or "python basics"
@@ -316,7 +239,7 @@ public class MatchService {
      * Checks for section headers like INTERESTS, COURSES, CERTIFICATIONS within 500
      * chars before the skill.
      */
-    private boolean isInLearningSection(String lowerText, int skillIndex) {
+    public boolean isInLearningSection(String lowerText, int skillIndex) {
         if (!USE_ENHANCED_WEAK_DETECTION)
             return false;
 
@@ -379,86 +302,187 @@ public class MatchService {
 
     // -----------------------------
     // UPDATED: Optimized & Bug-Fixed Skill Extraction
-    // - Uses PATTERN_CACHE
+    // - Uses the taxonomy's precompiled patterns
     // - Fixes C/C++ boundaries
     // - Fixes Synonyms (Canonicalization)
     // - Fixes Subsumed skills (Double Counting with Safety)
     // - Resolves Ambiguity ("Go")
     // -----------------------------
-    private List<String> extractSkills(String text) {
+    public List<String> extractSkills(String text) {
+        return extractSkills(text, null);
+    }
+
+    /** {@link #extractSkills(String)}, reporting each mention to {@code trace} (may be null). */
+    public List<String> extractSkills(String text, ScoreTrace trace) {
 
         if (text == null || text.isBlank()) {
             return new ArrayList<>();
         }
 
-        String lower = text.toLowerCase();
-        Set<String> detectedSet = new HashSet<>();
+        // ---------------------------------------------------------
+        // Deduplication: drop "shorter" skills subsumed by a detected "longer" one.
+        // ex: "Spring" in "Spring Boot" -> Remove "Spring".
+        // ex: "Java" in "Javascript" -> Keep "Java" (not a whole word).
+        // The subsumption relation is precomputed by the taxonomy, so this is a
+        // bitset intersection per detected skill.
+        // ---------------------------------------------------------
+        return taxonomy.withoutSubsumed(detect(text.toLowerCase(), null, trace));
+    }
 
-        for (String rawSkill : SKILLS) {
-            String skill = rawSkill.toLowerCase();
-            Pattern pattern = PATTERN_CACHE.get(skill);
+    /**
+     * {@link #extractSkills} for a job description, also recording per skill,
+     * in the same scan: its mentions from the first non-weak one on, that
+     * one's offset and the strongest section they appear under, and from those
+     * its weight.
+     */
+    public JobRequirements extractRequirements(String jobDescription) {
+        return extractRequirements(jobDescription, null);
+    }
 
-            if (pattern == null)
-                continue;
+    /** {@link #extractRequirements(String)}, reporting each mention to {@code trace} (may be null). */
+    public JobRequirements extractRequirements(String jobDescription, ScoreTrace trace) {
+        if (jobDescription == null || jobDescription.isBlank()) {
+            return new JobRequirements(List.of());
+        }
 
-            Matcher matcher = pattern.matcher(lower);
+        String lower = jobDescription.toLowerCase();
+        Mentions mentions = new Mentions(lower, taxonomy.detectableSkills().size());
+        List<String> names = taxonomy.withoutSubsumed(detect(lower, mentions, trace));
+
+        int titleEnd = lower.indexOf('\n');
+        List<JdSkill> skills = new ArrayList<>(names.size());
+        for (String name : names) {
+            int id = taxonomy.idOf(name);
+            int count = mentions.counts[id];
+            int first = mentions.firstOffsets[id];
+            JdSkill.Section section = mentions.sections[id];
+
+            double weight = switch (section) {
+                case REQUIRED -> REQUIRED_WEIGHT;
+                case RESPONSIBILITIES -> RESPONSIBILITIES_WEIGHT;
+                case GENERAL -> GENERAL_WEIGHT;
+                case PREFERRED -> PREFERRED_WEIGHT;
+            };
+            weight *= 1.0 + PER_EXTRA_MENTION * Math.min(count - 1, MAX_EXTRA_MENTIONS);
+            if (titleEnd > 0 && first < titleEnd) {
+                weight *= TITLE_BOOST;
+            }
+            skills.add(new JdSkill(name, count, first, section, weight));
+        }
+        return new JobRequirements(skills);
+    }
 
-            while (matcher.find()) {
-                int index = matcher.start();
+    /**
+     * What scoring a job description needs: {@link #extractRequirements} on a
+     * weighted engine, otherwise {@link JobRequirements#ofNames} over the
+     * {@link #extractSkills} scan, which stops at each skill's first match
+     * instead of recording every mention.
+     */
+    public JobRequirements requirementsForScoring(String jobDescription) {
+        return requirementsForScoring(jobDescription, null);
+    }
+
+    /**
+     * {@link #requirementsForScoring(String)}, reporting each mention to
+     * {@code trace} (may be null); with a trace the full requirements are
+     * extracted either way.
+     */
+    public JobRequirements requirementsForScoring(String jobDescription, ScoreTrace trace) {
+        if (weighted || trace != null) {
+            return extractRequirements(jobDescription, trace);
+        }
+        return JobRequirements.ofNames(extractSkills(jobDescription));
+    }
 
-                boolean isWeak = isWeakMention(lower, skill, index) || isInLearningSection(lower, index);
+    // Per-skill mention stats for extractRequirements, indexed by taxonomy id
+    private static final class Mentions {
+        final JdSections headers;
+        final int[] counts;
+        final int[] firstOffsets;
+        final JdSkill.Section[] sections;
+
+        Mentions(String lowerText, int skills) {
+            this.headers = JdSections.of(lowerText);
+            this.counts = new int[skills];
+            this.firstOffsets = new int[skills];
+            this.sections = new JdSkill.Section[skills];
+        }
 
-                if (!isWeak) {
-                    // FIX: Map to Canonical Form if exists
-                    String canonical = CANONICAL_SKILLS.getOrDefault(skill, skill);
-                    detectedSet.add(canonical);
-                    break;
+        void add(int id, int index) {
+            JdSkill.Section section = headers.sectionAt(index);
+            if (counts[id]++ == 0) {
+                firstOffsets[id] = index;
+                sections[id] = section;
+            } else {
+                firstOffsets[id] = Math.min(firstOffsets[id], index);
+                if (section.ordinal() < sections[id].ordinal()) {
+                    sections[id] = section;
                 }
             }
         }
+    }
 
-        // ---------------------------------------------------------
-        // LOGIC FIX: Deduplication with Cached Regex (Performance check)
-        // Remove "shorter" skills if they are subsumed by "longer" skills AND appear as
-        // a word.
-        // ex: "Spring" in "Spring Boot" -> Remove "Spring".
-        // ex: "Java" in "Javascript" -> Keep "Java" (not a whole word).
-        // ---------------------------------------------------------
-        List<String> finalSkills = new ArrayList<>(detectedSet);
-
-        finalSkills.removeIf(shorter -> {
-
-            // Reuse cached pattern for the shorter skill (Correct "C" regex logic
-            // included!)
-            Pattern shorterPattern = PATTERN_CACHE.get(shorter);
-            if (shorterPattern == null) {
-                // Should not happen for skills in detectedSet, unless canonical mapping changed
-                // it to something without a pattern.
-                // But canonical skills like "go" are in PATTERN_CACHE.
-                // Fallback: don't remove if we can't verify
-                return false;
-            }
+    // The extraction scan. Without mentions to record or a trace, a skill's
+    // first non-weak match is enough; with them, the matcher carries on over
+    // the rest of the text. Recorded mentions after the first skip the
+    // weak-mention checks (by far the costliest part of a match), so recording
+    // adds only the regex scan; a trace checks every match.
+    private BitSet detect(String lower, Mentions mentions, ScoreTrace trace) {
+        List<String> skills = taxonomy.skills();
+        List<String> names = taxonomy.detectableSkills();
+        BitSet detected = new BitSet();
+
+        for (int i = 0; i < skills.size(); i++) {
+            String skill = skills.get(i).toLowerCase();
+            Pattern pattern = taxonomy.pattern(skill);
 
-            for (String longer : detectedSet) {
-                if (longer.equals(shorter))
+            if (pattern == null)
+                continue;
+
+            Matcher matcher = pattern.matcher(lower);
+            // FIX: Map to Canonical Form if exists
+            int id = taxonomy.detectedId(i);
+            boolean found = false;
+
+            while (matcher.find()) {
+                int index = matcher.start();
+
+                if (found && trace == null) {
+                    mentions.add(id, index);
                     continue;
+                }
 
-                if (longer.contains(shorter)) {
-                    // Optimized: Use Cached Pattern (O(1) lookup)
-                    // This uses the correct regex logic (e.g. C vs C++)
-                    if (shorterPattern.matcher(longer).find()) {
-                        return true; // It IS a substring word (Spring in Spring Boot) -> Remove
+                boolean weakHint = isWeakMention(lower, skill, index);
+                boolean isWeak = weakHint || isInLearningSection(lower, index);
+
+                if (trace != null) {
+                    if (isWeak) {
+                        trace.weakMention(names.get(id), index, matcher.end(), !weakHint);
+                    } else {
+                        trace.skillMention(names.get(id), index, matcher.end());
+                    }
+                }
+                if (found) {
+                    if (mentions != null) {
+                        mentions.add(id, index);
+                    }
+                } else if (!isWeak) {
+                    found = true;
+                    detected.set(id);
+                    if (mentions != null) {
+                        mentions.add(id, index);
+                    } else if (trace == null) {
+                        break;
                     }
                 }
             }
-            return false;
-        });
+        }
 
-        return finalSkills;
+        return detected;
     }
 
     // Normalize a collection of skills to a lowercase, trimmed Set
-    private Set<String> normalizeSkills(Collection<String> skills) {
+    public Set<String> normalizeSkills(Collection<String> skills) {
         Set<String> result = new HashSet<>();
         if (skills == null)
             return result;
@@ -476,7 +500,7 @@ public class MatchService {
 
     // Keep only skills that are actually mentioned in the resume text (used to
     // safety-check AI profile)
-    private List<String> filterSkillsByResumeEvidence(List<String> skills, String resumeText) {
+    public List<String> filterSkillsByResumeEvidence(List<String> skills, String resumeText) {
         if (skills == null || skills.isEmpty() || resumeText == null) {
             return new ArrayList<>();
         }
@@ -497,7 +521,7 @@ public class MatchService {
 
             // 1. Try our highly-tuned cached patterns first (Handles C++, C#, Go, Node.js
             // correct boundaries)
-            Pattern cached = PATTERN_CACHE.get(s);
+            Pattern cached = taxonomy.pattern(s);
             if (cached != null) {
                 if (cached.matcher(lowerResume).find()) {
                     found = true;
@@ -527,8 +551,17 @@ public class MatchService {
     }
 
     // Core deterministic scoring based only on Java-extracted JD + resume skills
-    private double calculateMatchScore(Set<String> jdSkillsRaw, Set<String> resumeSkillsRaw) {
+    public double calculateMatchScore(Set<String> jdSkillsRaw, Set<String> resumeSkillsRaw) {
+        return calculateMatchScore(jdSkillsRaw, resumeSkillsRaw, null);
+    }
+
+    /** {@link #calculateMatchScore(Set, Set)}, reporting each rule to {@code trace} (may be null). */
+    public double calculateMatchScore(Set<String> jdSkillsRaw, Set<String> resumeSkillsRaw, ScoreTrace trace) {
+        return flatScore(jdSkillsRaw, resumeSkillsRaw, trace);
+    }
 
+    // every JD skill counts equally; normalizing dedups, so callers need not pass sets
+    private double flatScore(Collection<String> jdSkillsRaw, Collection<String> resumeSkillsRaw, ScoreTrace trace) {
         Set<String> jdSkills = normalizeSkills(jdSkillsRaw);
         Set<String> resumeSkills = normalizeSkills(resumeSkillsRaw);
 
@@ -536,38 +569,117 @@ public class MatchService {
             return 0.0;
         }
 
-        // 1. Direct overlap
-        Set<String> matched = new HashSet<>(jdSkills);
-        matched.retainAll(resumeSkills);
-
-        double matchedCount = matched.size();
+        // 1. Direct overlap (plus partial credit through the skill graph)
+        long[] resumeBits = encode(resumeSkills);
+        double matchedCount = 0.0;
+        for (String s : jdSkills) {
+            matchedCount += credit(s, resumeSkills, resumeBits);
+        }
         double totalJdSkills = jdSkills.size();
 
         double score0to10 = (matchedCount / totalJdSkills) * 10.0;
+        if (trace != null) {
+            trace.rule(ScoreTrace.Rule.COVERAGE, 0.0, score0to10 * 10.0);
+        }
+
+        return applyCaps(score0to10, matchedCount, jdSkills, jdSkills, resumeSkills, trace);
+    }
+
+    /**
+     * Scores resume skills against an extracted JD: each JD skill counts by its
+     * {@link JdSkill#weight()} on a weighted engine, equally otherwise.
+     * Preferred ("nice to have") languages do not trigger the main-language cap.
+     */
+    public double calculateMatchScore(JobRequirements jd, Collection<String> resumeSkillsRaw) {
+        return calculateMatchScore(jd, resumeSkillsRaw, null);
+    }
+
+    /** {@link #calculateMatchScore(JobRequirements, Collection)}, reporting each rule to {@code trace} (may be null). */
+    public double calculateMatchScore(JobRequirements jd, Collection<String> resumeSkillsRaw, ScoreTrace trace) {
+        if (!weighted) {
+            return flatScore(jd.names(), resumeSkillsRaw, trace);
+        }
+
+        Set<String> resumeSkills = normalizeSkills(resumeSkillsRaw);
+        if (jd.skills().isEmpty()) {
+            return 0.0;
+        }
+
+        long[] resumeBits = encode(resumeSkills);
+        Set<String> jdSkills = new HashSet<>();
+        Set<String> capSkills = new HashSet<>();
+        double matchedWeight = 0.0;
+        double totalWeight = 0.0;
+        double matchedCount = 0.0;
+        for (JdSkill skill : jd.skills()) {
+            jdSkills.add(skill.skill());
+            if (skill.section() != JdSkill.Section.PREFERRED) {
+                capSkills.add(skill.skill());
+            }
+            double credit = credit(skill.skill(), resumeSkills, resumeBits);
+            matchedCount += credit;
+            matchedWeight += credit * skill.weight();
+            totalWeight += skill.weight();
+        }
+
+        double score0to10 = (matchedWeight / totalWeight) * 10.0;
+        if (trace != null) {
+            trace.rule(ScoreTrace.Rule.COVERAGE, 0.0, score0to10 * 10.0);
+        }
+
+        return applyCaps(score0to10, matchedCount, jdSkills, capSkills, resumeSkills, trace);
+    }
+
+    // this thread's reused bitset, or null without a graph
+    private long[] encode(Set<String> resumeSkills) {
+        return graph == null ? null : graph.encode(resumeSkills, resumeBits.get());
+    }
+
+    // 1 for a direct match, the graph's partial credit otherwise (0 without a graph)
+    private double credit(String jdSkill, Set<String> resumeSkills, long[] resumeBits) {
+        if (resumeSkills.contains(jdSkill)) {
+            return 1.0;
+        }
+        if (resumeBits == null) {
+            return 0.0;
+        }
+        int id = taxonomy.idOf(jdSkill);
+        return id < 0 ? 0.0 : graph.credit(id, resumeBits);
+    }
+
+    // Steps 2-6 of the score: baseline, caps, percentage
+    private double applyCaps(double score0to10, double matchedCount, Set<String> jdSkills,
+                             Set<String> languageCapSkills, Set<String> resumeSkills, ScoreTrace trace) {
 
         // 2. Background baseline
         boolean hasRelevantBackground = false;
 
         for (String s : resumeSkills) {
-            if (LANGUAGE_SKILLS.contains(s) || GENERAL_RELEVANT_SKILLS.contains(s)) {
+            if (taxonomy.isLanguage(s) || taxonomy.isGeneralRelevant(s)) {
                 hasRelevantBackground = true;
                 break;
             }
         }
 
         if (matchedCount == 0 && hasRelevantBackground) {
+            if (trace != null) {
+                trace.rule(ScoreTrace.Rule.BASELINE, score0to10 * 10.0, BASELINE_SCORE * 10.0);
+            }
             score0to10 = BASELINE_SCORE; // baseline
         }
 
         if (matchedCount == 0 && !hasRelevantBackground) {
+            if (trace != null) {
+                trace.rule(ScoreTrace.Rule.NO_RELEVANT_BACKGROUND, score0to10 * 10.0, 0.0);
+            }
             score0to10 = 0.0;
         }
 
         // 3. Main language cap
         Set<String> jdLangs = new HashSet<>();
 
-        for (String s : jdSkills) {
-            if (LANGUAGE_SKILLS.contains(s)) {
+        for (String s : languageCapSkills) {
+            if (taxonomy.isLanguage(s)) {
                 jdLangs.add(s);
             }
         }
@@ -582,6 +694,9 @@ public class MatchService {
         }
 
         if (!jdLangs.isEmpty() && !resumeHasJdLang && score0to10 > LANGUAGE_CAP_THRESHOLD) {
+            if (trace != null) {
+                trace.rule(ScoreTrace.Rule.LANGUAGE_CAP, score0to10 * 10.0, LANGUAGE_CAP_THRESHOLD * 10.0);
+            }
             score0to10 = LANGUAGE_CAP_THRESHOLD;
         }
 
@@ -589,18 +704,24 @@ public class MatchService {
         boolean hasKeySkill = false;
 
         for (String s : jdSkills) {
-            if (KEY_IMPORTANT_SKILLS.contains(s) && resumeSkills.contains(s)) {
+            if (taxonomy.isKeyImportant(s) && resumeSkills.contains(s)) {
                 hasKeySkill = true;
                 break;
             }
         }
 
         if (!hasKeySkill && score0to10 > LANGUAGE_CAP_THRESHOLD) {
+            if (trace != null) {
+                trace.rule(ScoreTrace.Rule.KEY_SKILL_CAP, score0to10 * 10.0, LANGUAGE_CAP_THRESHOLD * 10.0);
+            }
             score0to10 = LANGUAGE_CAP_THRESHOLD;
         }
 
         // 5. Hard max cap
         if (score0to10 > 9.0) {
+            if (trace != null) {
+                trace.rule(ScoreTrace.Rule.HARD_CAP, score0to10 * 10.0, 90.0);
+            }
             score0to10 = 9.0;
         }
 
@@ -613,7 +734,7 @@ public class MatchService {
      * certifications)
      * and NOT in actual project or work experience sections.
      */
-    private boolean appearsOnlyInLearningContext(String skill, String resumeText) {
+    public boolean appearsOnlyInLearningContext(String skill, String resumeText) {
         if (resumeText == null || skill == null)
             return false;
 
@@ -690,7 +811,7 @@ public class MatchService {
     }
 
     // Map numeric score (percentage) → label
-    private String determineMatchLevel(double score) {
+    public String determineMatchLevel(double score) {
         if (score >= 75) {
             return "Strong Match";
         } else if (score >= 40) {
@@ -701,24 +822,35 @@ public class MatchService {
     }
 
     /**
-     * Light calibration on top of deterministic score using AI profile.
+     * Light calibration on top of deterministic score using an AI skill profile
+     * (its strong skills and whether it is generally related to the role).
      * - Avoid very high scores when strong JD skill coverage is low.
      * - Cap score when profile is not generally related.
      * NOTE: This does NOT change the underlying skill lists, only adjusts the score
      * value slightly.
      */
-    private double calibrateScoreWithProfile(
-            AiSkillProfile profile,
+    public double calibrateScore(
             List<String> jdSkills,
-            List<String> resumeSkills,
+            Collection<String> strongSkills,
+            boolean generallyRelated,
             double baseScore) {
-        if (profile == null || jdSkills == null || jdSkills.isEmpty()) {
+        return calibrateScore(jdSkills, strongSkills, generallyRelated, baseScore, null);
+    }
+
+    /** {@link #calibrateScore(List, Collection, boolean, double)}, reporting each cap to {@code trace} (may be null). */
+    public double calibrateScore(
+            List<String> jdSkills,
+            Collection<String> strongSkills,
+            boolean generallyRelated,
+            double baseScore,
+            ScoreTrace trace) {
+        if (jdSkills == null || jdSkills.isEmpty()) {
             return baseScore;
         }
 
         // Normalize JD + strong skills
         Set<String> jd = normalizeSkills(jdSkills);
-        Set<String> strong = normalizeSkills(profile.getStrongSkills());
+        Set<String> strong = normalizeSkills(strongSkills);
 
         // Count how many JD skills are STRONG matches
         Set<String> matchedStrong = new HashSet<>(jd);
@@ -732,13 +864,19 @@ public class MatchService {
 
         // 1) If candidate is not generally related at all,
         // cap score so it can't look like a good match.
-        if (!profile.isGenerallyRelated()) {
+        if (!generallyRelated) {
+            if (trace != null && adjusted > UNRELATED_SCORE_CAP) {
+                trace.rule(ScoreTrace.Rule.UNRELATED_CAP, adjusted, UNRELATED_SCORE_CAP);
+            }
             adjusted = Math.min(adjusted, UNRELATED_SCORE_CAP);
         }
 
         // 2) If strong coverage of JD skills is very low,
         // avoid scores that look like 90%+ "perfect"
         if (strongRatio < LOW_STRONG_RATIO && adjusted > LOW_STRONG_SCORE_CAP) {
+            if (trace != null) {
+                trace.rule(ScoreTrace.Rule.LOW_STRONG_CAP, adjusted, LOW_STRONG_SCORE_CAP);
+            }
             adjusted = LOW_STRONG_SCORE_CAP;
         }
 
@@ -750,107 +888,4 @@ public class MatchService {
 
         return Math.round(adjusted);
     }
-
-    public AnalysisResponse analyze(AnalysisRequest request) {
-
-        // FIX: Critical Null Check
-        if (request == null) {
-            throw new IllegalArgumentException("AnalysisRequest cannot be null");
-        }
-
-        String jdText = request.getJobDescription();
-        String resumeText = request.getResumeText();
-
-        log.info("=== /api/analyze called ===");
-        log.debug("JD length: {}", (jdText == null ? 0 : jdText.length()));
-        log.debug("Resume length: {}", (resumeText == null ? 0 : resumeText.length()));
-
-        // 1) PURE JAVA: deterministic skill extraction (single source of truth)
-        List<String> jdSkills = extractSkills(jdText);
-        List<String> resumeSkills = extractSkills(resumeText);
-
-        log.info("Keyword jdSkills: {}", jdSkills);
-        log.info("Keyword resumeSkills: {}", resumeSkills);
-
-        // 2) OPTIONAL AI PROFILE: used only for calibration / RAG, not as source of
-        // skills
-        AiSkillProfile aiProfile = aiService.analyzeSkillsWithAi(jdText, resumeText);
-        log.info("AI profile returned: {}", (aiProfile != null));
-
-        if (aiProfile != null) {
-            log.debug("AI jdRequiredSkills (raw): {}", aiProfile.getJdRequiredSkills());
-            log.debug("AI strongSkills (raw): {}", aiProfile.getStrongSkills());
-            log.debug("AI weakSkills (raw): {}", aiProfile.getWeakSkills());
-
-            // Safety-check AI strong/weak skills: keep only ones that actually appear in
-            // resume text
-            List<String> verifiedStrong = filterSkillsByResumeEvidence(aiProfile.getStrongSkills(), resumeText);
-            List<String> verifiedWeak = filterSkillsByResumeEvidence(aiProfile.getWeakSkills(), resumeText);
-
-            // ADDITIONAL SAFETY: Remove skills from strongSkills if they appear in learning
-            // contexts
-            List<String> finalVerifiedStrong = new ArrayList<>();
-            if (USE_ENHANCED_WEAK_DETECTION) {
-                for (String skill : verifiedStrong) {
-                    if (!appearsOnlyInLearningContext(skill, resumeText)) {
-                        finalVerifiedStrong.add(skill);
-                    } else {
-                        // Move to weak skills if it's actually a learning context
-                        log.debug("Moving '{}' from strong to weak (detected in learning context)", skill);
-                        if (verifiedWeak != null && !verifiedWeak.contains(skill)) {
-                            verifiedWeak.add(skill);
-                        }
-                    }
-                }
-                verifiedStrong = finalVerifiedStrong;
-            }
-
-            aiProfile.setStrongSkills(verifiedStrong);
-            aiProfile.setWeakSkills(verifiedWeak);
-
-            log.info("Verified AI strongSkills: {}", verifiedStrong);
-            log.info("Verified AI weakSkills: {}", verifiedWeak);
-        } else {
-            log.info("AI profile is null; using only keyword-based logic.");
-        }
-
-        // 3) Matched + missing (for display + AI tip/insights) – from deterministic
-        // Java skills
-        Set<String> jdSkillSet = new HashSet<>(jdSkills);
-        Set<String> resumeSkillSet = new HashSet<>(resumeSkills);
-
-        double finalScore = calculateMatchScore(jdSkillSet, resumeSkillSet); // 0–100
-
-        // Light calibration using AI profile (if available)
-        if (aiProfile != null) {
-            finalScore = calibrateScoreWithProfile(aiProfile, jdSkills, resumeSkills, finalScore);
-        }
-
-        // 5) Build response object
-        AnalysisResponse response = new AnalysisResponse();
-        response.setScore(finalScore);
-        response.setMatchLevel(determineMatchLevel(finalScore));
-
-        response.setJdSkills(jdSkills);
-        response.setResumeSkills(resumeSkills);
-
-        // Compute overlap for display
-        Set<String> matched = new HashSet<>(normalizeSkills(jdSkills));
-        matched.retainAll(normalizeSkills(resumeSkills));
-        response.setMatchedSkills(new ArrayList<>(matched));
-
-        List<String> missing = new ArrayList<>(normalizeSkills(jdSkills));
-        missing.removeAll(normalizeSkills(resumeSkills));
-        response.setMissingSkills(missing);
-
-        // 6) Optional AI tip (short practical advice)
-        String improvedTip = aiService.generateImprovedTip(request, response);
-        response.setTip(improvedTip);
-
-        // 7) Optional AI insights (rich content for results page)
-        aiService.enrichWithInsights(request, response);
-
-        log.info("Analysis Complete. Score: {} ({})", finalScore, response.getMatchLevel());
-        return response;
-    }
 }
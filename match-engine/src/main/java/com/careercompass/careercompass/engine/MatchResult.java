@@ -0,0 +1,20 @@
+package com.careercompass.careercompass.engine;
+
+import java.util.List;
+
+/**
+ * Rule-engine result for one resume / JD pair.
+ *
+ * @param score         0-100
+ * @param matchLevel    "Strong Match", "Medium Match" or "Weak Match"
+ * @param matchedSkills JD skills the resume has, normalized
+ * @param missingSkills JD skills the resume lacks, normalized
+ */
+public record MatchResult(
+        double score,
+        String matchLevel,
+        List<String> jdSkills,
+        List<String> resumeSkills,
+        List<String> matchedSkills,
+        List<String> missingSkills) {
+}
@@ -0,0 +1,53 @@
+package com.careercompass.careercompass.engine;
+
+/**
+ * Receives the engine's decisions while it extracts skills and scores, for
+ * "why did I get 65%" explanations: every skill mention it counted or dropped
+ * as weak, and every scoring rule that moved the score.
+ *
+ * Every engine method that takes a trace also has an overload without one,
+ * and null means no trace. Untraced calls build no strings and allocate
+ * nothing for tracing. A traced extraction checks every mention of a skill
+ * instead of stopping at the first usable one, so it is slower; keep it for
+ * explain requests.
+ *
+ * Offsets are character offsets into the text as given. Skill names are
+ * canonical. Scores are on the 0–100 scale.
+ */
+public interface ScoreTrace {
+
+    /** Score rules, in the order the engine applies them. */
+    enum Rule {
+        /** Share of the JD skills covered (weighted, and with graph credit, when enabled). */
+        COVERAGE,
+        /** No JD skill matched, but a language or general background skill earns the baseline. */
+        BASELINE,
+        /** No JD skill matched and no relevant background. */
+        NO_RELEVANT_BACKGROUND,
+        /** The JD names languages and the resume has none of them. */
+        LANGUAGE_CAP,
+        /** The resume has none of the JD's role-defining skills. */
+        KEY_SKILL_CAP,
+        /** Nothing scores above 90. */
+        HARD_CAP,
+        /** Calibration: the AI profile says the candidate is not in a related field. */
+        UNRELATED_CAP,
+        /** Calibration: few JD skills are among the AI profile's strong skills. */
+        LOW_STRONG_CAP
+    }
+
+    /**
+     * A mention that counts toward detecting {@code skill}. May name a skill
+     * that is then dropped as part of a longer one ("spring" in "spring boot").
+     */
+    void skillMention(String skill, int start, int end);
+
+    /**
+     * A mention dropped as weak: after a phrase like "familiar with", or,
+     * when {@code learningSection}, under a courses / interests style header.
+     */
+    void weakMention(String skill, int start, int end, boolean learningSection);
+
+    /** A rule that applied, with the score before and after it. */
+    void rule(Rule rule, double before, double after);
+}
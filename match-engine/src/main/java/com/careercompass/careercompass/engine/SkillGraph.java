@@ -0,0 +1,321 @@
+package com.careercompass.careercompass.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Relationships between taxonomy skills, for partial credit when a JD skill
+ * is not on the resume but something close to it is:
+ *
+ * <ul>
+ * <li>{@code implies} – directed and transitive: "spring boot" implies "spring",
+ * which implies "java".</li>
+ * <li>{@code alternative-to} – symmetric and transitive: "aws", "azure" and
+ * "gcp" are interchangeable.</li>
+ * <li>{@code related-to} – symmetric, one hop: adjacent experience.</li>
+ * </ul>
+ *
+ * The graph is read from a text file (see {@code skill-graph.txt} next to this
+ * class for the format and the built-in edges), and all closures are worked
+ * out once, at load time, into one bitset row per JD skill and relation: which
+ * resume skills earn credit toward it. Crediting a JD skill is then a few
+ * word-wise ANDs over {@link #encode encoded} resume skills; {@link #credit}
+ * allocates nothing, and {@link #encode(Collection, long[])} refills an array
+ * the caller reuses across resumes.
+ *
+ * Immutable and thread-safe once loaded; a graph belongs to the taxonomy it
+ * was loaded against.
+ */
+public final class SkillGraph {
+
+    private static final String DEFAULT_RESOURCE = "skill-graph.txt";
+
+    private static final String IMPLIES = "implies";
+    private static final String ALTERNATIVE = "alternative-to";
+    private static final String RELATED = "related-to";
+
+    private final SkillTaxonomy taxonomy;
+    private final int words;
+
+    // row j (words longs at j * words): resume skills that give credit toward
+    // JD skill j through the relation
+    private final long[] impliedBy;
+    private final long[] alternativeFor;
+    private final long[] relatedTo;
+
+    private final double impliesWeight;
+    private final double alternativeWeight;
+    private final double relatedWeight;
+
+    private SkillGraph(SkillTaxonomy taxonomy, BitSet[] implies, BitSet[] alternatives, BitSet[] related,
+                       double impliesWeight, double alternativeWeight, double relatedWeight) {
+        this.taxonomy = taxonomy;
+        this.impliesWeight = impliesWeight;
+        this.alternativeWeight = alternativeWeight;
+        this.relatedWeight = relatedWeight;
+
+        int n = taxonomy.detectableSkills().size();
+        this.words = Math.max(1, (n + 63) / 64);
+
+        closure(implies);
+        closure(alternatives);
+
+        // What each resume skill reaches: its implied skills, plus the
+        // alternatives and related skills of itself and of everything it implies
+        BitSet[] impliedReach = implies;
+        BitSet[] alternativeReach = new BitSet[n];
+        BitSet[] relatedReach = new BitSet[n];
+        for (int r = 0; r < n; r++) {
+            BitSet base = (BitSet) implies[r].clone();
+            base.set(r);
+            alternativeReach[r] = new BitSet(n);
+            relatedReach[r] = new BitSet(n);
+            for (int y = base.nextSetBit(0); y >= 0; y = base.nextSetBit(y + 1)) {
+                alternativeReach[r].or(alternatives[y]);
+                relatedReach[r].or(related[y]);
+            }
+        }
+
+        this.impliedBy = reverse(impliedReach, n);
+        this.alternativeFor = reverse(alternativeReach, n);
+        this.relatedTo = reverse(relatedReach, n);
+    }
+
+    /** The built-in graph over {@link SkillTaxonomy#defaults()}. */
+    public static SkillGraph defaults() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    // loaded on first use, so exact-only engines never read the file
+    private static final class DefaultHolder {
+        static final SkillGraph DEFAULT = loadDefault();
+
+        private static SkillGraph loadDefault() {
+            InputStream in = SkillGraph.class.getResourceAsStream(DEFAULT_RESOURCE);
+            if (in == null) {
+                throw new IllegalStateException("Missing built-in " + DEFAULT_RESOURCE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return load(SkillTaxonomy.defaults(), reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Reads a graph in the {@code skill-graph.txt} format. Skill names are
+     * mapped to their canonical form; a name the taxonomy does not know, an
+     * unknown relation or a weight outside 0..1 is an error.
+     *
+     * @throws IllegalArgumentException with the offending line number
+     */
+    public static SkillGraph load(SkillTaxonomy taxonomy, Reader source) throws IOException {
+        int n = taxonomy.detectableSkills().size();
+        BitSet[] implies = empty(n);
+        BitSet[] alternatives = empty(n);
+        BitSet[] related = empty(n);
+        double impliesWeight = 0.75;
+        double alternativeWeight = 0.5;
+        double relatedWeight = 0.25;
+
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            if (line.startsWith("weight ")) {
+                String[] parts = line.split("\\s+");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("skill graph line " + lineNo + ": expected 'weight <relation> <0..1>'");
+                }
+                double weight = parseWeight(parts[2], lineNo);
+                switch (parts[1]) {
+                    case IMPLIES -> impliesWeight = weight;
+                    case ALTERNATIVE -> alternativeWeight = weight;
+                    case RELATED -> relatedWeight = weight;
+                    default -> throw new IllegalArgumentException(
+                            "skill graph line " + lineNo + ": unknown relation '" + parts[1] + "'");
+                }
+                continue;
+            }
+
+            String relation = null;
+            int at = -1;
+            for (String candidate : new String[] { IMPLIES, ALTERNATIVE, RELATED }) {
+                at = line.indexOf(" " + candidate + " ");
+                if (at >= 0) {
+                    relation = candidate;
+                    break;
+                }
+            }
+            if (relation == null) {
+                throw new IllegalArgumentException("skill graph line " + lineNo
+                        + ": expected '<skill> implies|alternative-to|related-to <skill>[, <skill>...]'");
+            }
+
+            int from = skillId(taxonomy, line.substring(0, at), lineNo);
+            for (String target : line.substring(at + relation.length() + 2).split(",")) {
+                int to = skillId(taxonomy, target, lineNo);
+                if (to == from) {
+                    continue;
+                }
+                switch (relation) {
+                    case IMPLIES -> implies[from].set(to);
+                    case ALTERNATIVE -> {
+                        alternatives[from].set(to);
+                        alternatives[to].set(from);
+                    }
+                    default -> {
+                        related[from].set(to);
+                        related[to].set(from);
+                    }
+                }
+            }
+        }
+        return new SkillGraph(taxonomy, implies, alternatives, related,
+                impliesWeight, alternativeWeight, relatedWeight);
+    }
+
+    public SkillTaxonomy taxonomy() {
+        return taxonomy;
+    }
+
+    /** Longs in an {@link #encode encoded} skill set. */
+    public int words() {
+        return words;
+    }
+
+    /** Skills as a new bitset in taxonomy ids; names the taxonomy does not know are left out. */
+    public long[] encode(Collection<String> skills) {
+        return encode(skills, new long[words]);
+    }
+
+    /**
+     * As {@link #encode(Collection)}, into {@code bits}, which is cleared first.
+     *
+     * @param bits {@link #words()} longs
+     * @return {@code bits}
+     */
+    public long[] encode(Collection<String> skills, long[] bits) {
+        if (bits.length != words) {
+            throw new IllegalArgumentException("Expected " + words + " longs, got " + bits.length);
+        }
+        Arrays.fill(bits, 0L);
+        for (String skill : skills) {
+            int id = taxonomy.idOf(skill.trim().toLowerCase(Locale.ROOT));
+            if (id >= 0) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Credit toward one JD skill: 1 if the resume has it, otherwise the best
+     * weight of a relation through which some resume skill reaches it, or 0.
+     *
+     * @param jdSkill taxonomy id ({@link SkillTaxonomy#idOf})
+     * @param resume  from {@link #encode}
+     */
+    public double credit(int jdSkill, long[] resume) {
+        if ((resume[jdSkill >>> 6] & (1L << jdSkill)) != 0) {
+            return 1.0;
+        }
+        double credit = 0.0;
+        if (impliesWeight > credit && intersects(impliedBy, jdSkill, resume)) {
+            credit = impliesWeight;
+        }
+        if (alternativeWeight > credit && intersects(alternativeFor, jdSkill, resume)) {
+            credit = alternativeWeight;
+        }
+        if (relatedWeight > credit && intersects(relatedTo, jdSkill, resume)) {
+            credit = relatedWeight;
+        }
+        return credit;
+    }
+
+    // -------------------------
+    // HELPERS
+    // -------------------------
+
+    private boolean intersects(long[] rows, int row, long[] resume) {
+        int offset = row * words;
+        for (int w = 0; w < words; w++) {
+            if ((rows[offset + w] & resume[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Warshall: whatever k reaches, everything that reaches k reaches too
+    private static void closure(BitSet[] edges) {
+        for (int k = 0; k < edges.length; k++) {
+            for (int i = 0; i < edges.length; i++) {
+                if (i != k && edges[i].get(k)) {
+                    edges[i].or(edges[k]);
+                }
+            }
+        }
+        for (int i = 0; i < edges.length; i++) {
+            edges[i].clear(i);
+        }
+    }
+
+    // reach[r] has j  ->  row j has r, flattened to words longs per row
+    private long[] reverse(BitSet[] reach, int n) {
+        long[] rows = new long[n * words];
+        for (int r = 0; r < n; r++) {
+            for (int j = reach[r].nextSetBit(0); j >= 0; j = reach[r].nextSetBit(j + 1)) {
+                if (j != r) {
+                    rows[j * words + (r >>> 6)] |= 1L << r;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static BitSet[] empty(int n) {
+        BitSet[] sets = new BitSet[n];
+        for (int i = 0; i < n; i++) {
+            sets[i] = new BitSet(n);
+        }
+        return sets;
+    }
+
+    private static int skillId(SkillTaxonomy taxonomy, String name, int lineNo) {
+        String skill = name.strip().toLowerCase(Locale.ROOT);
+        int id = taxonomy.idOf(skill);
+        if (id < 0) {
+            throw new IllegalArgumentException("skill graph line " + lineNo + ": unknown skill '" + skill + "'");
+        }
+        return id;
+    }
+
+    private static double parseWeight(String value, int lineNo) {
+        try {
+            double weight = Double.parseDouble(value);
+            if (weight >= 0.0 && weight <= 1.0) {
+                return weight;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("skill graph line " + lineNo + ": weight must be between 0 and 1: " + value);
+    }
+}
@@ -0,0 +1,347 @@
+package com.careercompass.careercompass.engine;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The skills the engine recognises and how they relate: detection patterns,
+ * synonyms, and the groups the score caps look at (languages, key skills,
+ * general background).
+ *
+ * Everything derived from the skill list alone is worked out once, when the
+ * taxonomy is built: the detection patterns and, for deduplication, which
+ * detected skills subsume which ({@link #withoutSubsumed}).
+ *
+ * Immutable once built, so one instance can be shared by any number of
+ * {@link MatchEngine}s and threads. {@link #defaults()} is the built-in
+ * taxonomy; build your own to score against a different skill list.
+ */
+public final class SkillTaxonomy {
+
+    // Skills we try to detect in raw text (JD + resume)
+    // Includes tech + non-tech + business + sales + analyst keywords
+    static final List<String> DEFAULT_SKILLS = List.of(
+            // programming languages
+            "java", "python", "javascript", "typescript",
+            "c", "c programming", "c++", "c#", "go", "golang", "ruby", "kotlin", "swift", "php",
+
+            // backend frameworks / tech
+            "spring", "spring boot", "django", "flask", "node.js", "node js",
+
+            // frontend
+            "html", "css", "react", "angular", "vue", "bootstrap",
+            "redux", "next.js", "jest", "unit testing",
+
+            // databases / data tech
+            "sql", "mysql", "postgresql", "oracle", "mongodb",
+
+            // cloud / devops / tools
+            "git", "github", "docker", "aws", "azure", "gcp",
+
+            // data / analytics
+            "excel", "power bi", "tableau", "data analysis", "data analyst",
+            "business analyst", "business analysis", "requirements gathering",
+            "requirement gathering", "stakeholder management",
+
+            // office / business tools
+            "ms office", "microsoft office", "word", "powerpoint",
+
+            // sales / marketing / crm
+            "sales", "marketing", "crm", "customer relationship",
+            "business development", "b2b", "b2c",
+
+            // fundamentals / soft-ish tech
+            "oops", "object oriented programming",
+            "data structures", "algorithms", "dsa",
+
+            // generic soft skills (for relevance detection)
+            "communication", "teamwork", "leadership",
+            "problem solving", "analytical thinking", "presentation");
+
+    // Phrases that indicate a weaker skill mention (certificates / basic exposure)
+    static final List<String> DEFAULT_WEAK_SKILL_HINTS = List.of(
+            // Courses & Certifications
+            "certification",
+            "certified",
+            "certificate",
+            "course",
+            "training",
+
+            // Learning phrases
+            "introduction to",
+            "intro to",
+            "learning",
+            "currently learning",
+            "exploring",
+            "currently exploring",
+            "studying",
+
+            // Beginner indicators
+            "basics",
+            "basic",
+            "beginner",
+            "foundation",
+            "fundamentals",
+            "familiar with",
+            "exposure to",
+            "working knowledge",
+
+            // Interest/Future goals
+            "interested in",
+            "interest in");
+
+    // Core “programming language” skills we recognize
+    static final Set<String> DEFAULT_LANGUAGE_SKILLS = Set.of(
+            "java", "python", "javascript", "typescript",
+            "c", "c++", "c#", "go", "golang", "ruby", "kotlin", "swift", "php");
+
+    // Skills that usually define a role strongly (used to cap high scores if
+    // missing)
+    // Includes tech (dev, data) + business / analyst / sales signals
+    static final Set<String> DEFAULT_KEY_IMPORTANT_SKILLS = Set.of(
+            // dev languages
+            "java", "python", "javascript", "typescript", "c#", "c++", "go", "golang",
+
+            // back-end frameworks
+            "spring", "spring boot", "django", "flask", "node.js", "node js",
+
+            // front-end frameworks
+            "react", "angular", "vue",
+
+            // data / db
+            "sql", "mysql", "postgresql", "oracle", "mongodb",
+
+            // analytics / business tools
+            "excel", "power bi", "tableau",
+
+            // analyst / business roles
+            "data analyst", "business analyst", "business analysis",
+
+            // sales / marketing
+            "sales", "marketing", "crm", "business development");
+
+    // General “relevant background” skills so we don’t give hard 0 if there is some
+    // base
+    // These show that the candidate is at least in a related space (tech or
+    // business)
+    static final Set<String> DEFAULT_GENERAL_RELEVANT_SKILLS = Set.of(
+            // fundamentals
+            "oops", "object oriented programming",
+            "data structures", "algorithms", "dsa",
+
+            // generic dev tools
+            "git", "github", "html", "css", "javascript",
+
+            // general business / analyst skills
+            "excel", "ms office", "microsoft office",
+            "communication", "teamwork", "leadership",
+            "problem solving", "analytical thinking", "presentation",
+            "requirements gathering", "requirement gathering",
+            "stakeholder management", "customer relationship");
+
+    // Canonical Skill Map to handle synonyms (Node.js == Node JS)
+    static final Map<String, String> DEFAULT_CANONICAL_SKILLS;
+
+    static {
+        Map<String, String> canonical = new LinkedHashMap<>();
+        // Self-mappings (Identity)
+        canonical.put("go", "go");
+        canonical.put("node.js", "node.js");
+
+        // Synonyms -> Canonical
+        canonical.put("golang", "go");
+        canonical.put("node js", "node.js");
+        canonical.put("microsoft office", "ms office");
+        canonical.put("ms office", "ms office");
+        canonical.put("react.js", "react");
+        canonical.put("react", "react");
+        canonical.put("requirement gathering", "requirements gathering");
+        canonical.put("requirements gathering", "requirements gathering");
+        // Fix: Map Role -> Skill (Standardization)
+        canonical.put("business analyst", "business analysis");
+        canonical.put("business analysis", "business analysis");
+        canonical.put("data analyst", "data analysis");
+        canonical.put("data analysis", "data analysis");
+        canonical.put("c programming", "c");
+        canonical.put("c", "c");
+        DEFAULT_CANONICAL_SKILLS = Map.copyOf(canonical);
+    }
+
+    private static final SkillTaxonomy DEFAULTS = new SkillTaxonomy(DEFAULT_SKILLS, DEFAULT_CANONICAL_SKILLS,
+            DEFAULT_LANGUAGE_SKILLS, DEFAULT_KEY_IMPORTANT_SKILLS, DEFAULT_GENERAL_RELEVANT_SKILLS,
+            DEFAULT_WEAK_SKILL_HINTS);
+
+    private final List<String> skills;
+    private final Map<String, String> canonical;
+    private final Map<String, Pattern> patterns;
+    private final Set<String> languageSkills;
+    private final Set<String> keyImportantSkills;
+    private final Set<String> generalRelevantSkills;
+    private final List<String> weakSkillHints;
+
+    // Detected skills are identified by a small id: the distinct canonical
+    // names, in first-seen skill order, so a detected set is a BitSet.
+    private final List<String> detectable;
+    private final Map<String, Integer> detectableIds;
+    private final int[] detectedIdBySkill;
+    // subsumedBy[id]: ids of the detectable skills that contain this one as a
+    // whole word ("spring" -> "spring boot"; not "java" -> "javascript")
+    private final BitSet[] subsumedBy;
+
+    /**
+     * @param skills                detected in raw text, in this order; lowercase
+     * @param canonical             synonym -> canonical name (skills not listed map to themselves)
+     * @param languageSkills        programming languages (main-language cap)
+     * @param keyImportantSkills    skills that define a role (key-skill cap)
+     * @param generalRelevantSkills background that earns the baseline score
+     * @param weakSkillHints        phrases marking a mention as course / learning only
+     */
+    public SkillTaxonomy(List<String> skills,
+                         Map<String, String> canonical,
+                         Collection<String> languageSkills,
+                         Collection<String> keyImportantSkills,
+                         Collection<String> generalRelevantSkills,
+                         List<String> weakSkillHints) {
+        this.skills = List.copyOf(skills);
+        this.canonical = Map.copyOf(canonical);
+        this.languageSkills = Set.copyOf(languageSkills);
+        this.keyImportantSkills = Set.copyOf(keyImportantSkills);
+        this.generalRelevantSkills = Set.copyOf(generalRelevantSkills);
+        this.weakSkillHints = List.copyOf(weakSkillHints);
+
+        Map<String, Pattern> compiled = new HashMap<>();
+        for (String skill : this.skills) {
+            String lowerSkill = skill.toLowerCase();
+            compiled.put(lowerSkill, Pattern.compile(regexFor(lowerSkill)));
+        }
+        this.patterns = Map.copyOf(compiled);
+
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        this.detectedIdBySkill = new int[this.skills.size()];
+        for (int i = 0; i < this.skills.size(); i++) {
+            String name = canonical(this.skills.get(i).toLowerCase());
+            detectedIdBySkill[i] = ids.computeIfAbsent(name, n -> ids.size());
+        }
+        this.detectable = List.copyOf(ids.keySet());
+        this.detectableIds = Map.copyOf(ids);
+        this.subsumedBy = subsumption(detectable, patterns);
+    }
+
+    // Same test the per-request dedup used to run for every detected pair:
+    // the longer name contains the shorter one and the shorter one's own
+    // pattern (so "c" vs "c++" / "c#" boundaries hold) matches inside it.
+    private static BitSet[] subsumption(List<String> names, Map<String, Pattern> patterns) {
+        BitSet[] subsumedBy = new BitSet[names.size()];
+        for (int shorter = 0; shorter < names.size(); shorter++) {
+            subsumedBy[shorter] = new BitSet(names.size());
+            String shorterName = names.get(shorter);
+            Pattern shorterPattern = patterns.get(shorterName);
+            if (shorterPattern == null) {
+                // cannot verify word boundaries: never drop it
+                continue;
+            }
+            for (int longer = 0; longer < names.size(); longer++) {
+                String longerName = names.get(longer);
+                if (longer != shorter && longerName.contains(shorterName)
+                        && shorterPattern.matcher(longerName).find()) {
+                    subsumedBy[shorter].set(longer);
+                }
+            }
+        }
+        return subsumedBy;
+    }
+
+    /** The built-in taxonomy (tech, data, business and sales skills). */
+    public static SkillTaxonomy defaults() {
+        return DEFAULTS;
+    }
+
+    // Boundary includes forward slash now [\\s\\.,;\\)\\(//]
+    private static String regexFor(String lowerSkill) {
+        if (lowerSkill.matches(".*[\\+\\#]$")) {
+            // Ends in symbol (C++, C#) - strict boundaries
+            return "(?<=^|[\\s\\.,;\\)\\(//])" + Pattern.quote(lowerSkill) + "(?=[\\s\\.,;\\)\\(//]|$|\\z)";
+        } else if (lowerSkill.equals("c")) {
+            // Special case for "C" (no ++ or # after)
+            return "\\bc(?![\\+\\#])\\b";
+        } else if (lowerSkill.contains(" ") || lowerSkill.contains(".")) {
+            // Multi-word / dot
+            // Ensure boundaries handle slash
+            return "(?<=^|[\\s\\(//])" + Pattern.quote(lowerSkill) + "(?=[\\s\\.,;\\)//]|$|\\z)";
+        } else {
+            // Standard single word
+            return "\\b" + Pattern.quote(lowerSkill) + "\\b";
+        }
+    }
+
+    public List<String> skills() {
+        return skills;
+    }
+
+    /** @return the detection pattern for a taxonomy skill, or null if it is not one */
+    public Pattern pattern(String skill) {
+        return patterns.get(skill);
+    }
+
+    /**
+     * @param skillIndex position in {@link #skills()}
+     * @return id of that skill's canonical name, the bit to set in a detected set
+     */
+    public int detectedId(int skillIndex) {
+        return detectedIdBySkill[skillIndex];
+    }
+
+    /** Canonical names {@link MatchEngine#extractSkills} can return, indexed by id. */
+    public List<String> detectableSkills() {
+        return detectable;
+    }
+
+    /** @return id of a canonical skill name (synonyms are mapped first), or -1 if the taxonomy lacks it */
+    public int idOf(String skill) {
+        Integer id = detectableIds.get(canonical(skill));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Names of the detected skills, dropping any that a longer detected skill
+     * subsumes ("spring" when "spring boot" was found). In taxonomy order.
+     *
+     * @param detected ids from {@link #detectedId}
+     */
+    public List<String> withoutSubsumed(BitSet detected) {
+        List<String> result = new ArrayList<>(detected.cardinality());
+        for (int id = detected.nextSetBit(0); id >= 0; id = detected.nextSetBit(id + 1)) {
+            if (!subsumedBy[id].intersects(detected)) {
+                result.add(detectable.get(id));
+            }
+        }
+        return result;
+    }
+
+    public String canonical(String skill) {
+        return canonical.getOrDefault(skill, skill);
+    }
+
+    public boolean isLanguage(String skill) {
+        return languageSkills.contains(skill);
+    }
+
+    public boolean isKeyImportant(String skill) {
+        return keyImportantSkills.contains(skill);
+    }
+
+    public boolean isGeneralRelevant(String skill) {
+        return generalRelevantSkills.contains(skill);
+    }
+
+    public List<String> weakSkillHints() {
+        return weakSkillHints;
+    }
+}
@@ -0,0 +1,165 @@
+package com.careercompass.careercompass.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchEngineTest {
+
+    private static final String JD = "Backend developer: Java, Spring Boot, SQL, Docker";
+    private static final String RESUME = "Built REST APIs in Java and Spring Boot backed by SQL. Currently learning Docker.";
+
+    private final MatchEngine engine = new MatchEngine();
+
+    @Test
+    void matchesExtractedSkillsAndReportsMissingOnes() {
+        MatchResult result = engine.match(JD, RESUME);
+
+        assertThat(result.jdSkills()).contains("java", "spring boot", "sql", "docker");
+        assertThat(result.matchedSkills()).contains("java", "sql");
+        assertThat(result.missingSkills()).doesNotContain("java", "sql");
+        assertThat(result.score()).isBetween(0.0, 100.0);
+        assertThat(result.matchLevel()).isEqualTo(engine.determineMatchLevel(result.score()));
+    }
+
+    @Test
+    void dropsSkillsSubsumedByALongerDetectedSkill() {
+        assertThat(engine.extractSkills("Spring Boot services")).contains("spring boot").doesNotContain("spring");
+        assertThat(engine.extractSkills("Java and JavaScript")).contains("java", "javascript");
+        assertThat(engine.extractSkills("C, C++ and C# developer")).contains("c", "c++", "c#");
+        assertThat(engine.extractSkills("Embedded work in C++")).contains("c++").doesNotContain("c");
+    }
+
+    @Test
+    void extractsRequirementsWithMentionsSectionsAndWeights() {
+        String jd = """
+                Senior Java Developer
+                We build payment services in Java.
+                Requirements:
+                - Java 17, Spring Boot, SQL
+                Nice to have: Docker, Kubernetes
+                """;
+        JobRequirements requirements = engine.extractRequirements(jd);
+
+        assertThat(requirements.names()).isEqualTo(engine.extractSkills(jd));
+        JdSkill java = find(requirements, "java");
+        JdSkill sql = find(requirements, "sql");
+        JdSkill docker = find(requirements, "docker");
+        assertThat(java.occurrences()).isEqualTo(3);
+        assertThat(java.firstOffset()).isEqualTo(jd.toLowerCase().indexOf("java"));
+        assertThat(java.section()).isEqualTo(JdSkill.Section.REQUIRED);
+        assertThat(sql.section()).isEqualTo(JdSkill.Section.REQUIRED);
+        assertThat(docker.section()).isEqualTo(JdSkill.Section.PREFERRED);
+        assertThat(java.weight()).isGreaterThan(sql.weight());
+        assertThat(sql.weight()).isGreaterThan(docker.weight());
+    }
+
+    @Test
+    void weightedScoringRanksRequiredSkillsAboveNiceToHaves() {
+        JobRequirements jd = engine.extractRequirements("""
+                Backend Engineer
+                Requirements: Java, SQL, Spring Boot
+                Nice to have: Docker, AWS, React
+                """);
+        MatchEngine weighted = new MatchEngine(SkillTaxonomy.defaults(), null, true);
+        List<String> coreOnly = List.of("java", "sql", "spring boot");
+        List<String> extrasOnly = List.of("docker", "aws", "react");
+
+        // flat scoring cannot tell these two resumes apart on coverage
+        assertThat(weighted.calculateMatchScore(jd, coreOnly))
+                .isGreaterThan(engine.calculateMatchScore(jd, coreOnly));
+        assertThat(weighted.calculateMatchScore(jd, extrasOnly))
+                .isLessThan(weighted.calculateMatchScore(jd, coreOnly));
+        // on an unweighted engine the same call is the flat score
+        assertThat(engine.calculateMatchScore(jd, coreOnly))
+                .isEqualTo(engine.calculateMatchScore(Set.copyOf(jd.names()), Set.copyOf(coreOnly)));
+    }
+
+    @Test
+    void requirementsForScoringOnlyRecordMentionsOnAWeightedEngine() {
+        String jd = """
+                Backend Engineer
+                Requirements: Java, SQL, Java 17
+                Nice to have: Docker
+                """;
+        MatchEngine weighted = new MatchEngine(SkillTaxonomy.defaults(), null, true);
+        List<String> resume = List.of("java", "docker");
+
+        JobRequirements flat = engine.requirementsForScoring(jd);
+        assertThat(flat.names()).isEqualTo(engine.extractSkills(jd));
+        assertThat(flat.skills()).allSatisfy(s -> assertThat(s.occurrences()).isZero());
+        assertThat(engine.calculateMatchScore(flat, resume))
+                .isEqualTo(engine.calculateMatchScore(engine.extractRequirements(jd), resume));
+        assertThat(weighted.requirementsForScoring(jd)).usingRecursiveComparison()
+                .isEqualTo(weighted.extractRequirements(jd));
+    }
+
+    @Test
+    void traceReportsMentionOffsetsAndTheRulesThatFired() {
+        List<String> mentions = new ArrayList<>();
+        List<ScoreTrace.Rule> rules = new ArrayList<>();
+        ScoreTrace trace = new ScoreTrace() {
+            @Override
+            public void skillMention(String skill, int start, int end) {
+                mentions.add(skill + "=" + RESUME.substring(start, end));
+            }
+
+            @Override
+            public void weakMention(String skill, int start, int end, boolean learningSection) {
+                mentions.add("weak " + skill + "=" + RESUME.substring(start, end));
+            }
+
+            @Override
+            public void rule(ScoreTrace.Rule rule, double before, double after) {
+                rules.add(rule);
+            }
+        };
+
+        List<String> skills = engine.extractSkills(RESUME, trace);
+        double score = engine.calculateMatchScore(Set.of("java", "sales"), Set.copyOf(skills), trace);
+
+        assertThat(skills).isEqualTo(engine.extractSkills(RESUME));
+        assertThat(mentions).contains("java=Java", "spring boot=Spring Boot", "sql=SQL", "weak docker=Docker");
+        assertThat(rules).startsWith(ScoreTrace.Rule.COVERAGE);
+        assertThat(score).isEqualTo(engine.calculateMatchScore(Set.of("java", "sales"), Set.copyOf(skills)));
+    }
+
+    @Test
+    void customTaxonomyOnlyFindsItsOwnSkills() {
+        SkillTaxonomy taxonomy = new SkillTaxonomy(List.of("cobol", "jcl"), Map.of(), Set.of("cobol"),
+                Set.of("cobol"), Set.of(), List.of("learning"));
+        MatchEngine mainframe = new MatchEngine(taxonomy);
+
+        assertThat(mainframe.extractSkills("COBOL and JCL batch jobs, some Java")).containsExactlyInAnyOrder("cobol", "jcl");
+    }
+
+    @Test
+    void sharedInstanceGivesTheSameResultFromManyThreads() throws Exception {
+        MatchResult expected = engine.match(JD, RESUME);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MatchResult>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(pool.submit(() -> engine.match(JD, RESUME)));
+            }
+            for (Future<MatchResult> result : results) {
+                assertThat(result.get().score()).isEqualTo(expected.score());
+                assertThat(result.get().jdSkills()).isEqualTo(expected.jdSkills());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static JdSkill find(JobRequirements requirements, String skill) {
+        return requirements.skills().stream().filter(s -> s.skill().equals(skill)).findFirst().orElseThrow();
+    }
+}
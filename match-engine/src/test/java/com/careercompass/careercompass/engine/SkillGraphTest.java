@@ -0,0 +1,70 @@
+package com.careercompass.careercompass.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SkillGraphTest {
+
+    private final SkillTaxonomy taxonomy = SkillTaxonomy.defaults();
+    private final SkillGraph graph = SkillGraph.defaults();
+
+    @Test
+    void givesTransitiveImpliedCreditAndPrefersTheStrongestRelation() {
+        long[] resume = graph.encode(List.of("spring boot", "postgresql", "aws"));
+
+        assertThat(graph.credit(taxonomy.idOf("spring boot"), resume)).isEqualTo(1.0);
+        // spring boot -> spring -> java
+        assertThat(graph.credit(taxonomy.idOf("java"), resume)).isEqualTo(0.75);
+        assertThat(graph.credit(taxonomy.idOf("sql"), resume)).isEqualTo(0.75);
+        // postgresql ~ mysql, aws ~ azure ~ gcp
+        assertThat(graph.credit(taxonomy.idOf("mysql"), resume)).isEqualTo(0.5);
+        assertThat(graph.credit(taxonomy.idOf("gcp"), resume)).isEqualTo(0.5);
+        // sql (implied) related-to mongodb
+        assertThat(graph.credit(taxonomy.idOf("mongodb"), resume)).isEqualTo(0.25);
+        assertThat(graph.credit(taxonomy.idOf("sales"), resume)).isZero();
+        // implies is directed: java does not imply spring boot
+        assertThat(graph.credit(taxonomy.idOf("spring boot"), graph.encode(List.of("java")))).isZero();
+
+        // a reused array is cleared before it is refilled
+        long[] reused = graph.encode(List.of("java"), resume);
+        assertThat(reused).isSameAs(resume).isEqualTo(graph.encode(List.of("java")));
+    }
+
+    @Test
+    void graphScoringRaisesScoresOnlyWhereTheGraphConnectsSkills() {
+        MatchEngine exact = new MatchEngine();
+        MatchEngine partial = new MatchEngine(graph);
+        Set<String> jd = Set.of("java", "sql", "docker");
+
+        assertThat(partial.calculateMatchScore(jd, Set.of("spring boot", "postgresql")))
+                .isGreaterThan(exact.calculateMatchScore(jd, Set.of("spring boot", "postgresql")));
+        assertThat(partial.calculateMatchScore(jd, Set.of("java", "sql", "docker")))
+                .isEqualTo(exact.calculateMatchScore(jd, Set.of("java", "sql", "docker")));
+        assertThat(partial.calculateMatchScore(jd, Set.of("sales")))
+                .isEqualTo(exact.calculateMatchScore(jd, Set.of("sales")));
+    }
+
+    @Test
+    void loadsCustomEdgesAndWeightsAndRejectsUnknownSkills() throws Exception {
+        SkillGraph custom = SkillGraph.load(taxonomy, new StringReader("""
+                # canonical names and synonyms both work
+                weight implies 0.9
+                golang implies docker
+                """));
+        assertThat(custom.credit(taxonomy.idOf("docker"), custom.encode(List.of("go")))).isEqualTo(0.9);
+
+        assertThatThrownBy(() -> SkillGraph.load(taxonomy, new StringReader("java implies cobol\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1")
+                .hasMessageContaining("cobol");
+        assertThatThrownBy(() -> SkillGraph.load(taxonomy, new StringReader("\nweight implies 2\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+}
@@ -1,115 +0,0 @@
-package com.careercompass.careercompass.dto;
-
-import java.util.List;
-
-public class AnalysisResponse {
-
-    private double score;
-    private String matchLevel;
-
-    private List<String> jdSkills;
-    private List<String> resumeSkills;
-    private List<String> matchedSkills;
-    private List<String> missingSkills;
-
-    private String tip;
-
-    // NEW: richer insights for results page
-    private String summary;
-    private List<String> strengths;
-    private List<String> areasForImprovement;
-    private List<String> recommendations;
-
-    public AnalysisResponse() {
-    }
-
-    public double getScore() {
-        return score;
-    }
-
-    public void setScore(double score) {
-        this.score = score;
-    }
-
-    public String getMatchLevel() {
-        return matchLevel;
-    }
-
-    public void setMatchLevel(String matchLevel) {
-        this.matchLevel = matchLevel;
-    }
-
-    public List<String> getJdSkills() {
-        return jdSkills;
-    }
-
-    public void setJdSkills(List<String> jdSkills) {
-        this.jdSkills = jdSkills;
-    }
-
-    public List<String> getResumeSkills() {
-        return resumeSkills;
-    }
-
-    public void setResumeSkills(List<String> resumeSkills) {
-        this.resumeSkills = resumeSkills;
-    }
-
-    public List<String> getMatchedSkills() {
-        return matchedSkills;
-    }
-
-    public void setMatchedSkills(List<String> matchedSkills) {
-        this.matchedSkills = matchedSkills;
-    }
-
-    public List<String> getMissingSkills() {
-        return missingSkills;
-    }
-
-    public void setMissingSkills(List<String> missingSkills) {
-        this.missingSkills = missingSkills;
-    }
-
-    public String getTip() {
-        return tip;
-    }
-
-    public void setTip(String tip) {
-        this.tip = tip;
-    }
-
-    // ---------- NEW INSIGHT FIELDS ----------
-
-    public String getSummary() {
-        return summary;
-    }
-
-    public void setSummary(String summary) {
-        this.summary = summary;
-    }
-
-    public List<String> getStrengths() {
-        return strengths;
-    }
-
-    public void setStrengths(List<String> strengths) {
-        this.strengths = strengths;
-    }
-
-    public List<String> getAreasForImprovement() {
-        return areasForImprovement;
-    }
-
-    public void setAreasForImprovement(List<String> areasForImprovement) {
-        this.areasForImprovement = areasForImprovement;
-    }
-
-    public List<String> getRecommendations() {
-        return recommendations;
-    }
-
-    public void setRecommendations(List<String> recommendations) {
-        this.recommendations = recommendations;
-    }
-}